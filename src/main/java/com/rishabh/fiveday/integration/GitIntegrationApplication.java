@@ -2,11 +2,13 @@ package com.rishabh.fiveday.integration;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Git Integration API
  */
 @SpringBootApplication
+@EnableScheduling
 public class GitIntegrationApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,177 @@
+package com.rishabh.fiveday.integration.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adaptive concurrency limits for API endpoints.
+ * Each endpoint admits at most {@code limit} concurrent requests; requests beyond it are rejected
+ * at once instead of waiting in the container queue until they time out. The limit follows the
+ * gradient between the baseline latency, the lowest latency seen in the last one or two baseline
+ * windows, and the recent average latency: while latency stays within the tolerance of the
+ * baseline the limit grows by a fraction of its square root per sample, and when requests queue
+ * because upstream calls slow down the limit shrinks in proportion. Failed requests shrink it by a
+ * fixed ratio. Samples taken while the endpoint uses less than half its limit say nothing about
+ * capacity and leave the limit unchanged.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final long BASELINE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    public AdaptiveConcurrencyLimiter(@Value("${git.admission.initial-limit:20}") int initialLimit,
+                                      @Value("${git.admission.min-limit:4}") int minLimit,
+                                      @Value("${git.admission.max-limit:200}") int maxLimit,
+                                      @Value("${git.admission.latency-tolerance:1.5}") double tolerance) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.initialLimit = Math.max(this.minLimit, Math.min(initialLimit, this.maxLimit));
+        this.tolerance = Math.max(1.0, tolerance);
+    }
+
+    /**
+     * Admit a request to an endpoint
+     * @param endpoint the endpoint, e.g. "GET /api/git/repositories/{repositoryId}/branches"
+     * @return the permit to release when the request completes, or null if the endpoint is saturated
+     */
+    public Permit tryAcquire(String endpoint) {
+        Limit limit = limits.computeIfAbsent(endpoint, k -> new Limit(k, initialLimit));
+        return limit.tryAcquire();
+    }
+
+    /**
+     * Estimate when a rejected request may succeed
+     * @param endpoint the endpoint
+     * @return seconds to wait before retrying, at least 1
+     */
+    public long retryAfterSeconds(String endpoint) {
+        Limit limit = limits.get(endpoint);
+        double shortRttNanos = limit != null ? limit.shortRttNanos : 0;
+        return Math.max(1, (long) Math.ceil(shortRttNanos / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * Admission of one request; released exactly once
+     */
+    public final class Permit {
+
+        private final Limit limit;
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(Limit limit, int inFlightAtStart) {
+            this.limit = limit;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Release the permit and feed the request's latency into the limit
+         * @param failed whether the request failed for lack of capacity, e.g. a 5xx status
+         */
+        public void release(boolean failed) {
+            if (mark()) {
+                limit.release(System.nanoTime() - startNanos, inFlightAtStart, failed);
+            }
+        }
+
+        /**
+         * Release the permit without a latency sample, for requests whose duration does not
+         * reflect capacity (e.g. streams that stay open)
+         */
+        public void releaseWithoutSample() {
+            if (mark()) {
+                limit.release();
+            }
+        }
+
+        private synchronized boolean mark() {
+            if (released) {
+                return false;
+            }
+            released = true;
+            return true;
+        }
+    }
+
+    /**
+     * Limit of one endpoint; guarded by its own monitor
+     */
+    private final class Limit {
+
+        private final String endpoint;
+        private double limit;
+        private int inFlight;
+        private volatile double shortRttNanos;
+        private long previousMinRttNanos = Long.MAX_VALUE;
+        private long currentMinRttNanos = Long.MAX_VALUE;
+        private long windowStartNanos = System.nanoTime();
+
+        private Limit(String endpoint, int limit) {
+            this.endpoint = endpoint;
+            this.limit = limit;
+        }
+
+        private synchronized Permit tryAcquire() {
+            if (inFlight >= (int) limit) {
+                return null;
+            }
+            inFlight++;
+            return new Permit(this, inFlight);
+        }
+
+        private synchronized void release() {
+            inFlight--;
+        }
+
+        private synchronized void release(long rttNanos, int inFlightAtStart, boolean failed) {
+            inFlight--;
+            if (failed) {
+                update(limit * BACKOFF_RATIO);
+                return;
+            }
+
+            shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos + (rttNanos - shortRttNanos) / SHORT_WINDOW;
+            // A minimum over rotating windows rather than a long average, which would drift up under
+            // sustained overload and hide the queueing it should reveal
+            long now = System.nanoTime();
+            if (now - windowStartNanos > BASELINE_WINDOW_NANOS) {
+                previousMinRttNanos = currentMinRttNanos;
+                currentMinRttNanos = Long.MAX_VALUE;
+                windowStartNanos = now;
+            }
+            currentMinRttNanos = Math.min(currentMinRttNanos, rttNanos);
+            if (inFlightAtStart < limit / 2) {
+                return;
+            }
+
+            double baselineRttNanos = Math.min(previousMinRttNanos, currentMinRttNanos);
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRttNanos / shortRttNanos));
+            update(limit * (1 - SMOOTHING) + (limit * gradient + Math.sqrt(limit)) * SMOOTHING);
+        }
+
+        private void update(double newLimit) {
+            double bounded = Math.max(minLimit, Math.min(maxLimit, newLimit));
+            if ((int) bounded != (int) limit) {
+                log.debug("Concurrency limit of {} changed from {} to {}", endpoint, (int) limit, (int) bounded);
+            }
+            limit = bounded;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.rishabh.fiveday.integration.auth;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.rishabh.fiveday.integration.config.GitServiceFactory;
@@ -10,7 +13,9 @@ import com.rishabh.fiveday.integration.service.GitService;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for managing authentication with Git providers
@@ -20,6 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class AuthenticationService {
     
     private final GitServiceFactory gitServiceFactory;
+    private final TokenValidationCache validationCache;
     
     // For in-memory token storage (would use a secure vault in production)
     private final Map<String, String> authTokens = new ConcurrentHashMap<>();
@@ -30,27 +36,31 @@ public class AuthenticationService {
     @Value("${git.auth.tokens.gitlab:}")
     private String gitlabToken;
     
-    public AuthenticationService(GitServiceFactory gitServiceFactory) {
+    public AuthenticationService(GitServiceFactory gitServiceFactory, TokenValidationCache validationCache) {
         this.gitServiceFactory = gitServiceFactory;
+        this.validationCache = validationCache;
     }
     
     /**
      * Initialize authentication from environment variables or properties
-     * Called after dependencies are injected
+     * Runs once the application is ready, so token checks never delay serving the first request.
+     * Providers are verified in parallel; each service holds its token before its check completes.
      */
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
         // Try to authenticate with tokens provided by properties/env vars
         if (githubToken != null && !githubToken.isEmpty()) {
-            authenticate("github", githubToken);
+            CompletableFuture.runAsync(() -> authenticate("github", githubToken));
         }
         
         if (gitlabToken != null && !gitlabToken.isEmpty()) {
-            authenticate("gitlab", gitlabToken);
+            CompletableFuture.runAsync(() -> authenticate("gitlab", gitlabToken));
         }
     }
     
     /**
-     * Authenticate with a Git provider
+     * Authenticate with a Git provider.
+     * A token validated within the cache TTL is accepted without another upstream check.
      * @param provider the Git provider (e.g., "github", "gitlab")
      * @param token the authentication token
      * @return true if authentication was successful
@@ -63,12 +73,13 @@ public class AuthenticationService {
         String normalizedProvider = provider.toLowerCase();
         try {
             GitService service = gitServiceFactory.getService(normalizedProvider);
-            service.setAuthToken(token);
+            TokenValidation validation = validationCache.get(normalizedProvider, token)
+                    .orElseGet(() -> validationCache.put(normalizedProvider, token, service.validateToken(token)));
             
-            // Verify token by making a test request
-            if (service.isAuthenticated()) {
+            if (validation.isValid()) {
+                service.setValidatedAuthToken(token);
                 authTokens.put(normalizedProvider, token);
-                log.info("Successfully authenticated with {}", normalizedProvider);
+                log.info("Successfully authenticated with {} as {}", normalizedProvider, validation.getIdentity());
                 return true;
             } else {
                 log.warn("Failed to authenticate with {}", normalizedProvider);
@@ -80,6 +91,29 @@ public class AuthenticationService {
         }
     }
     
+    /**
+     * Re-validate tokens in use whose cached validation is past half its TTL, so authentication keeps
+     * hitting the cache and tokens revoked upstream are dropped, also by the provider service using them
+     */
+    @Scheduled(fixedDelayString = "${git.auth.validation.revalidate-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void revalidateTokens() {
+        authTokens.forEach((provider, token) -> {
+            if (!validationCache.needsRevalidation(provider, token)) {
+                return;
+            }
+            try {
+                TokenValidation validation = validationCache.put(provider, token,
+                        gitServiceFactory.getService(provider).validateToken(token));
+                if (!validation.isValid() && authTokens.remove(provider, token)) {
+                    gitServiceFactory.getService(provider).clearAuthToken(token);
+                    log.warn("Token for {} is no longer valid, authentication revoked", provider);
+                }
+            } catch (GitApiException e) {
+                log.warn("Failed to re-validate token for {}: {}", provider, e.getMessage());
+            }
+        });
+    }
+    
     /**
      * Check if authenticated with a Git provider
      * @param provider the Git provider
@@ -121,6 +155,8 @@ public class AuthenticationService {
         String normalizedProvider = provider.toLowerCase();
         String token = authTokens.remove(normalizedProvider);
         if (token != null) {
+            validationCache.invalidate(normalizedProvider, token);
+            gitServiceFactory.getService(normalizedProvider).clearAuthToken(token);
             log.info("Revoked authentication for {}", normalizedProvider);
             return true;
         }
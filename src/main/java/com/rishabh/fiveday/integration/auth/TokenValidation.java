@@ -0,0 +1,32 @@
+package com.rishabh.fiveday.integration.auth;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of checking a token with a Git provider
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenValidation {
+    private boolean valid;
+    /**
+     * Account the token acts as; upstream rate limits are counted per account
+     */
+    private String identity;
+    private List<String> scopes;
+
+    /**
+     * Result for a token the provider rejected
+     * @return an invalid validation
+     */
+    public static TokenValidation invalid() {
+        return TokenValidation.builder().valid(false).scopes(List.of()).build();
+    }
+}
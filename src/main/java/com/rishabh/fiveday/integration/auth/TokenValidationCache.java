@@ -0,0 +1,116 @@
+package com.rishabh.fiveday.integration.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of token validation results, so re-authenticating with a recently checked token is a
+ * local lookup. Entries are keyed by provider and SHA-256 of the token; raw tokens are never stored.
+ * Valid tokens are kept for the TTL, rejected tokens for a shorter TTL.
+ */
+@Component
+public class TokenValidationCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long invalidTtlNanos;
+    private final int maxEntries;
+
+    public TokenValidationCache(@Value("${git.auth.validation.ttl-seconds:900}") long ttlSeconds,
+                                @Value("${git.auth.validation.invalid-ttl-seconds:60}") long invalidTtlSeconds,
+                                @Value("${git.auth.validation.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.invalidTtlNanos = TimeUnit.SECONDS.toNanos(invalidTtlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Look up the validation of a token
+     * @param provider the Git provider
+     * @param token the token
+     * @return the cached validation if it has not expired
+     */
+    public Optional<TokenValidation> get(String provider, String token) {
+        String key = key(provider, token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.validation);
+    }
+
+    /**
+     * Check whether a token's validation is due for a refresh, i.e. is missing or past half its TTL
+     * @param provider the Git provider
+     * @param token the token
+     * @return true if the token should be validated again
+     */
+    public boolean needsRevalidation(String provider, String token) {
+        Entry entry = entries.get(key(provider, token));
+        return entry == null || System.nanoTime() - (entry.expiresAt - ttlNanos / 2) >= 0;
+    }
+
+    /**
+     * Cache the validation of a token
+     * @param provider the Git provider
+     * @param token the token
+     * @param validation the validation result
+     * @return the validation result
+     */
+    public TokenValidation put(String provider, String token, TokenValidation validation) {
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                return validation;
+            }
+        }
+        long ttl = validation.isValid() ? ttlNanos : invalidTtlNanos;
+        entries.put(key(provider, token), new Entry(validation, System.nanoTime() + ttl));
+        return validation;
+    }
+
+    /**
+     * Forget the validation of a token
+     * @param provider the Git provider
+     * @param token the token
+     */
+    public void invalidate(String provider, String token) {
+        entries.remove(key(provider, token));
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().getValue().expiresAt >= 0) {
+                it.remove();
+            }
+        }
+    }
+
+    private static String key(String provider, String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return provider + "|" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(TokenValidation validation, long expiresAt) {
+    }
+}
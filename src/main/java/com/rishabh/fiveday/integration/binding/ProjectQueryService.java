@@ -0,0 +1,176 @@
+package com.rishabh.fiveday.integration.binding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.rishabh.fiveday.integration.config.GitServiceFactory;
+import com.rishabh.fiveday.integration.dto.AggregateResultDTO;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.dto.PullRequestDTO;
+import com.rishabh.fiveday.integration.dto.RepositoryErrorDTO;
+import com.rishabh.fiveday.integration.service.GitService;
+import com.rishabh.fiveday.integration.upstream.Deadline;
+import com.rishabh.fiveday.integration.upstream.RateLimitTracker;
+import com.rishabh.fiveday.integration.upstream.TokenPool;
+import com.rishabh.fiveday.integration.upstream.UpstreamCallContext;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service for queries that fan out across all repositories bound to a project.
+ * Repositories are queried in parallel with a bounded concurrency per provider,
+ * providers whose remaining rate-limit budget is below the configured reserve are
+ * skipped, and failures are reported per repository instead of failing the whole request.
+ */
+@Service
+@Slf4j
+public class ProjectQueryService {
+
+    private final RepositoryBindingService bindingService;
+    private final GitServiceFactory gitServiceFactory;
+    private final RateLimitTracker rateLimitTracker;
+    private final TokenPool tokenPool;
+
+    @Value("${git.fanout.concurrency:8}")
+    private int concurrency;
+
+    @Value("${git.fanout.rate-limit-reserve:100}")
+    private long rateLimitReserve;
+
+    @Value("${git.fanout.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    public ProjectQueryService(RepositoryBindingService bindingService, GitServiceFactory gitServiceFactory,
+                               RateLimitTracker rateLimitTracker, TokenPool tokenPool) {
+        this.bindingService = bindingService;
+        this.gitServiceFactory = gitServiceFactory;
+        this.rateLimitTracker = rateLimitTracker;
+        this.tokenPool = tokenPool;
+    }
+
+    /**
+     * Get pull/merge requests across all repositories bound to a project, newest first
+     * @param projectId the project ID
+     * @param state filter by state (open/closed/all)
+     * @return merged pull/merge requests with per-repository errors
+     */
+    public AggregateResultDTO<PullRequestDTO> getPullRequests(String projectId, String state) {
+        return fanOut(projectId,
+                (service, binding) -> service.getPullRequests(binding.getRepositoryId(), state),
+                Comparator.comparing(PullRequestDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+
+    /**
+     * Get the latest commit on the default branch of every repository bound to a project, newest first
+     * @param projectId the project ID
+     * @return latest commits with per-repository errors
+     */
+    public AggregateResultDTO<CommitDTO> getLatestCommits(String projectId) {
+        return fanOut(projectId,
+                (service, binding) -> service.getCommits(binding.getRepositoryId(), null, 1),
+                Comparator.comparing(CommitDTO::getTimestamp, Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+
+    private <T> AggregateResultDTO<T> fanOut(String projectId,
+                                             BiFunction<GitService, RepositoryBinding, List<T>> query,
+                                             Comparator<T> order) {
+        List<RepositoryBinding> bindings = bindingService.getBindingsByProject(projectId);
+
+        Map<String, List<RepositoryBinding>> bindingsByProvider = new LinkedHashMap<>();
+        for (RepositoryBinding binding : bindings) {
+            bindingsByProvider.computeIfAbsent(binding.getProvider().toLowerCase(), k -> new ArrayList<>()).add(binding);
+        }
+
+        UpstreamCallContext callContext = UpstreamCallContext.current();
+        List<RepositoryOutcome<T>> outcomes = Flux.fromIterable(bindingsByProvider.entrySet())
+                .flatMap(entry -> Flux.fromIterable(entry.getValue())
+                        .flatMap(binding -> queryRepository(binding, query, callContext), providerConcurrency(entry.getKey())))
+                .collectList()
+                .block();
+
+        List<T> items = new ArrayList<>();
+        List<RepositoryErrorDTO> errors = new ArrayList<>();
+        if (outcomes != null) {
+            for (RepositoryOutcome<T> outcome : outcomes) {
+                if (outcome.error() != null) {
+                    errors.add(outcome.error());
+                } else {
+                    items.addAll(outcome.items());
+                }
+            }
+        }
+        items.sort(order);
+
+        return AggregateResultDTO.<T>builder()
+                .projectId(projectId)
+                .repositoryCount(bindings.size())
+                .items(items)
+                .errors(errors)
+                .complete(errors.isEmpty())
+                .build();
+    }
+
+    private <T> Mono<RepositoryOutcome<T>> queryRepository(RepositoryBinding binding,
+                                                          BiFunction<GitService, RepositoryBinding, List<T>> query,
+                                                          UpstreamCallContext callContext) {
+        String provider = binding.getProvider().toLowerCase();
+        return Mono.defer(() -> {
+                    // The timeout alone would only stop waiting; the deadline also cancels the query's
+                    // upstream calls, releasing the worker and the upstream slot
+                    Deadline deadline = Deadline.after(Duration.ofSeconds(timeoutSeconds)).earliest(callContext.deadline());
+                    UpstreamCallContext queryContext = new UpstreamCallContext(callContext.tenant(), callContext.lane(), deadline);
+                    return Mono.fromCallable(queryContext.wrap(() -> {
+                                if (remaining(provider) <= rateLimitReserve) {
+                                    return RepositoryOutcome.<T>failure(binding, "Rate limit budget exhausted for " + provider
+                                            + ", resets at " + rateLimitTracker.getResetTime(provider));
+                                }
+                                GitService service = gitServiceFactory.getService(provider);
+                                // Project queries do not depend on the caller, so they may use the shared token pool
+                                return RepositoryOutcome.success(tokenPool.sharedRead(() -> query.apply(service, binding)));
+                            }))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .timeout(deadline.remaining());
+                })
+                .onErrorResume(e -> {
+                    log.warn("Project query failed for repository {} ({}): {}",
+                            binding.getRepositoryId(), provider, e.getMessage());
+                    return Mono.just(RepositoryOutcome.failure(binding, e.getMessage()));
+                });
+    }
+
+    private int providerConcurrency(String provider) {
+        long available = remaining(provider) - rateLimitReserve;
+        return (int) Math.max(1, Math.min(concurrency, available));
+    }
+
+    private long remaining(String provider) {
+        return tokenPool.hasTokens(provider) ? tokenPool.getRemaining(provider) : rateLimitTracker.getRemaining(provider);
+    }
+
+    private record RepositoryOutcome<T>(List<T> items, RepositoryErrorDTO error) {
+
+        private static <T> RepositoryOutcome<T> success(List<T> items) {
+            return new RepositoryOutcome<>(items, null);
+        }
+
+        private static <T> RepositoryOutcome<T> failure(RepositoryBinding binding, String message) {
+            return new RepositoryOutcome<>(List.of(), RepositoryErrorDTO.builder()
+                    .bindingId(binding.getId())
+                    .repositoryId(binding.getRepositoryId())
+                    .provider(binding.getProvider())
+                    .message(message)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.rishabh.fiveday.integration.bulk;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.rishabh.fiveday.integration.config.GitServiceFactory;
+import com.rishabh.fiveday.integration.dto.BulkBranchTargetDTO;
+import com.rishabh.fiveday.integration.dto.BulkItemResultDTO;
+import com.rishabh.fiveday.integration.dto.BulkPullRequestTargetDTO;
+import com.rishabh.fiveday.integration.dto.BulkResultDTO;
+import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.service.GitService;
+import com.rishabh.fiveday.integration.upstream.RateLimitTracker;
+import com.rishabh.fiveday.integration.upstream.UpstreamCallContext;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service for bulk branch and pull/merge request write operations.
+ * Items of the same repository run one after another in request order, while different
+ * repositories run concurrently. Before each call one request of the provider's remaining
+ * rate-limit budget is reserved, atomically across concurrent items; when the budget is down to
+ * the reserve the item waits for the window to reset, or fails if the reset is too far away or
+ * unknown.
+ */
+@Service
+@Slf4j
+public class BulkOperationService {
+
+    private final GitServiceFactory gitServiceFactory;
+    private final RateLimitTracker rateLimitTracker;
+
+    @Value("${git.bulk.concurrency:8}")
+    private int concurrency;
+
+    @Value("${git.bulk.rate-limit-reserve:200}")
+    private long rateLimitReserve;
+
+    @Value("${git.bulk.max-rate-limit-wait-seconds:60}")
+    private long maxRateLimitWaitSeconds;
+
+    public BulkOperationService(GitServiceFactory gitServiceFactory, RateLimitTracker rateLimitTracker) {
+        this.gitServiceFactory = gitServiceFactory;
+        this.rateLimitTracker = rateLimitTracker;
+    }
+
+    /**
+     * Delete many branches
+     * @param targets branches to delete
+     * @return per-item results in request order
+     */
+    public BulkResultDTO deleteBranches(List<BulkBranchTargetDTO> targets) {
+        if (targets == null) {
+            throw new GitApiException("No branches given");
+        }
+        List<BulkTask> tasks = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            BulkBranchTargetDTO target = targets.get(i);
+            tasks.add(new BulkTask(i, resolveProvider(target.getProvider()), target.getRepositoryId(),
+                    target.getBranchName(),
+                    service -> service.deleteBranch(target.getRepositoryId(), target.getBranchName())));
+        }
+        return execute(tasks);
+    }
+
+    /**
+     * Change the state of many pull/merge requests (e.g. close abandoned ones)
+     * @param targets pull/merge requests and their new state
+     * @return per-item results in request order
+     */
+    public BulkResultDTO updatePullRequests(List<BulkPullRequestTargetDTO> targets) {
+        if (targets == null) {
+            throw new GitApiException("No pull requests given");
+        }
+        List<BulkTask> tasks = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            BulkPullRequestTargetDTO target = targets.get(i);
+            tasks.add(new BulkTask(i, resolveProvider(target.getProvider()), target.getRepositoryId(),
+                    target.getPullRequestId(),
+                    service -> service.updatePullRequest(target.getRepositoryId(), target.getPullRequestId(),
+                            target.getState()) != null));
+        }
+        return execute(tasks);
+    }
+
+    private BulkResultDTO execute(List<BulkTask> tasks) {
+        Map<String, List<BulkTask>> tasksByRepository = new LinkedHashMap<>();
+        for (BulkTask task : tasks) {
+            tasksByRepository.computeIfAbsent(task.provider() + "|" + task.repositoryId(), k -> new ArrayList<>())
+                    .add(task);
+        }
+
+        // Bulk operations run in the background lane so they only use capacity left by interactive calls
+        UpstreamCallContext callContext = UpstreamCallContext.current().background();
+        List<BulkItemResultDTO> results = Flux.fromIterable(tasksByRepository.values())
+                .flatMap(repositoryTasks -> Flux.fromIterable(repositoryTasks)
+                        .concatMap(task -> run(task, callContext)), concurrency)
+                .collectList()
+                .block();
+
+        if (results == null) {
+            results = new ArrayList<>();
+        }
+        results.sort(Comparator.comparingInt(BulkItemResultDTO::getIndex));
+        int succeeded = (int) results.stream().filter(BulkItemResultDTO::isSuccess).count();
+
+        return BulkResultDTO.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    private Mono<BulkItemResultDTO> run(BulkTask task, UpstreamCallContext callContext) {
+        return reserveRateLimitBudget(task.provider())
+                .then(Mono.fromCallable(callContext.wrap(() -> task.operation().test(gitServiceFactory.getService(task.provider()))))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .doFinally(signal -> rateLimitTracker.release(task.provider())))
+                .map(success -> result(task, success, success ? null : "Operation was rejected by " + task.provider()))
+                .onErrorResume(e -> {
+                    log.warn("Bulk operation failed for {} in repository {}: {}",
+                            task.target(), task.repositoryId(), e.getMessage());
+                    return Mono.just(result(task, false, e.getMessage()));
+                });
+    }
+
+    private Mono<Void> reserveRateLimitBudget(String provider) {
+        return Mono.defer(() -> {
+            if (rateLimitTracker.tryReserve(provider, rateLimitReserve)) {
+                return Mono.empty();
+            }
+            Instant reset = rateLimitTracker.getResetTime(provider);
+            Duration wait = reset != null ? Duration.between(Instant.now(), reset) : null;
+            if (wait == null || wait.getSeconds() > maxRateLimitWaitSeconds) {
+                return Mono.error(new GitApiException("Rate limit budget exhausted for " + provider
+                        + (reset != null ? " until " + reset : "")));
+            }
+            // Once the window has reset the budget is unknown until the next response, so this reserves
+            return Mono.delay(wait.isNegative() ? Duration.ZERO : wait).then(reserveRateLimitBudget(provider));
+        });
+    }
+
+    private String resolveProvider(String provider) {
+        return provider != null ? provider.toLowerCase() : gitServiceFactory.getService().getProviderName();
+    }
+
+    private static BulkItemResultDTO result(BulkTask task, boolean success, String message) {
+        return BulkItemResultDTO.builder()
+                .index(task.index())
+                .provider(task.provider())
+                .repositoryId(task.repositoryId())
+                .target(task.target())
+                .success(success)
+                .message(message)
+                .build();
+    }
+
+    private record BulkTask(int index, String provider, String repositoryId, String target,
+                            Predicate<GitService> operation) {
+    }
+}
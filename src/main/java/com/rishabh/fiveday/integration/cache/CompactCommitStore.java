@@ -0,0 +1,308 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+
+/**
+ * Memory-compact columnar store for commit metadata.
+ * Rows live in a fixed-capacity ring of primitive column arrays: repository ids and authors are
+ * dictionary-encoded, SHAs are packed as 20 binary bytes, timestamps are epoch seconds and the
+ * message and URL are packed into one compressed byte array. Parent SHAs are packed back to
+ * back in one byte array per row. {@link CommitDTO}s are only
+ * materialized when a row is read.
+ * Rows are evicted when the ring is full or when the variable-size data (compressed texts, parent
+ * SHAs and dictionary values) would exceed the byte budget. Eviction approximates LRU with a second
+ * chance: a row read since it was stored or last passed over is moved to the newest end of the ring
+ * instead of being evicted, so hot commits stay while unread ones go oldest first. Dictionary
+ * values are dropped with the last row referencing them.
+ */
+@Component
+public class CompactCommitStore {
+
+    private static final int SHA_BYTES = 20;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final int capacity;
+    private final long maxBytes;
+    private final StringDictionary repositories = new StringDictionary();
+    private final StringDictionary authors = new StringDictionary();
+    private final int[] keyCodes;
+    private final int[] repositoryCodes;
+    private final int[] authorCodes;
+    private final int[] emailCodes;
+    private final byte[] shas;
+    private final long[] timestamps;
+    private final byte[][] texts;
+    private final byte[][] parents;
+    private final RowIndex index;
+    private final BitSet referenced;
+
+    private int size;
+    private int next;
+    private long textBytes;
+
+    public CompactCommitStore(@Value("${git.cache.commits.capacity:200000}") int capacity,
+                              @Value("${git.cache.commits.max-bytes:33554432}") long maxBytes) {
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+        this.keyCodes = new int[capacity];
+        this.repositoryCodes = new int[capacity];
+        this.authorCodes = new int[capacity];
+        this.emailCodes = new int[capacity];
+        this.shas = new byte[capacity * SHA_BYTES];
+        this.timestamps = new long[capacity];
+        this.texts = new byte[capacity][];
+        this.parents = new byte[capacity][];
+        this.index = new RowIndex(capacity);
+        this.referenced = new BitSet(capacity);
+    }
+
+    /**
+     * Store a commit. Commits are immutable, so a commit that is already stored is left untouched.
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param commit the commit; ignored unless it has a full SHA-1
+     * @param evictionListener receives the commit overwritten to make room, or null if not needed
+     */
+    public void put(String provider, String repositoryId, CommitDTO commit, Consumer<CommitDTO> evictionListener) {
+        byte[] sha = packSha(commit.getSha());
+        if (sha == null) {
+            return;
+        }
+        byte[] text = TextCodec.encode(commit.getMessage(), commit.getUrl());
+        byte[] parentShas = packParents(commit.getParentShas());
+        long rowBytes = text.length + (parentShas != null ? parentShas.length : 0);
+
+        List<CommitDTO> evicted = new ArrayList<>();
+        synchronized (this) {
+            String key = provider + "|" + repositoryId;
+            int knownKeyCode = repositories.lookup(key);
+            int stored = knownKeyCode >= 0 ? index.find(hash(knownKeyCode, sha), row -> matches(row, knownKeyCode, sha)) : -1;
+            if (stored >= 0) {
+                referenced.set(stored);
+                return;
+            }
+
+            while (size == capacity || size > 0 && variableBytes() + rowBytes > maxBytes) {
+                int oldest = (next - size + capacity) % capacity;
+                if (referenced.get(oldest)) {
+                    // Every pass clears a mark, so this ends after at most one round of the ring
+                    referenced.clear(oldest);
+                    requeue(oldest);
+                    continue;
+                }
+                if (evictionListener != null) {
+                    evicted.add(materialize(oldest));
+                }
+                clear(oldest);
+            }
+
+            int row = next;
+            int keyCode = repositories.acquire(key);
+            keyCodes[row] = keyCode;
+            repositoryCodes[row] = repositories.acquire(commit.getRepositoryId());
+            authorCodes[row] = authors.acquire(commit.getAuthor());
+            emailCodes[row] = authors.acquire(commit.getAuthorEmail());
+            System.arraycopy(sha, 0, shas, row * SHA_BYTES, SHA_BYTES);
+            timestamps[row] = commit.getTimestamp() != null
+                    ? commit.getTimestamp().toEpochSecond(ZoneOffset.UTC) : NO_TIMESTAMP;
+            texts[row] = text;
+            parents[row] = parentShas;
+            textBytes += rowBytes;
+            index.insert(hash(keyCode, sha), row);
+            next = (next + 1) % capacity;
+            size++;
+        }
+
+        if (evictionListener != null) {
+            evicted.forEach(evictionListener);
+        }
+    }
+
+    /**
+     * Look up a commit
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param sha full commit SHA
+     * @return a freshly materialized commit if stored
+     */
+    public synchronized Optional<CommitDTO> get(String provider, String repositoryId, String sha) {
+        byte[] packed = packSha(sha);
+        int keyCode = repositories.lookup(provider + "|" + repositoryId);
+        if (packed == null || keyCode < 0) {
+            return Optional.empty();
+        }
+        int row = index.find(hash(keyCode, packed), r -> matches(r, keyCode, packed));
+        if (row < 0) {
+            return Optional.empty();
+        }
+        referenced.set(row);
+        return Optional.of(materialize(row));
+    }
+
+    /**
+     * Get the number of stored commits
+     * @return row count
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Estimate the memory held by the store, including preallocated columns and dictionaries
+     * @return estimated bytes
+     */
+    public synchronized long estimatedBytes() {
+        long columns = 4L * 16 + capacity * 4L * 4 + shas.length + capacity * 8L + 2 * (16L + capacity * 4L)
+                + 16L + capacity / 8;
+        long textArrays = size * 32L + textBytes;
+        return columns + textArrays + index.estimatedBytes()
+                + repositories.estimatedBytes() + authors.estimatedBytes();
+    }
+
+    /**
+     * Estimate the memory cost per stored commit
+     * @return estimated bytes per commit, or 0 if empty
+     */
+    public synchronized double bytesPerCommit() {
+        return size == 0 ? 0 : (double) estimatedBytes() / size;
+    }
+
+    private void clear(int row) {
+        index.remove(row);
+        repositories.release(keyCodes[row]);
+        repositories.release(repositoryCodes[row]);
+        authors.release(authorCodes[row]);
+        authors.release(emailCodes[row]);
+        textBytes -= texts[row].length + (parents[row] != null ? parents[row].length : 0);
+        texts[row] = null;
+        parents[row] = null;
+        size--;
+    }
+
+    /**
+     * Make the oldest row the newest; when the ring is full it already sits where the next row goes
+     */
+    private void requeue(int row) {
+        if (row != next) {
+            keyCodes[next] = keyCodes[row];
+            repositoryCodes[next] = repositoryCodes[row];
+            authorCodes[next] = authorCodes[row];
+            emailCodes[next] = emailCodes[row];
+            System.arraycopy(shas, row * SHA_BYTES, shas, next * SHA_BYTES, SHA_BYTES);
+            timestamps[next] = timestamps[row];
+            texts[next] = texts[row];
+            parents[next] = parents[row];
+            texts[row] = null;
+            parents[row] = null;
+            index.move(row, next);
+        }
+        next = (next + 1) % capacity;
+    }
+
+    private long variableBytes() {
+        return textBytes + repositories.estimatedBytes() + authors.estimatedBytes();
+    }
+
+    private CommitDTO materialize(int row) {
+        String[] text = TextCodec.decode(texts[row], 2);
+        return CommitDTO.builder()
+                .sha(unpackSha(row))
+                .message(text[0])
+                .author(authors.decode(authorCodes[row]))
+                .authorEmail(authors.decode(emailCodes[row]))
+                .timestamp(timestamps[row] != NO_TIMESTAMP
+                        ? LocalDateTime.ofEpochSecond(timestamps[row], 0, ZoneOffset.UTC) : null)
+                .url(text[1])
+                .repositoryId(repositories.decode(repositoryCodes[row]))
+                .parentShas(unpackParents(row))
+                .build();
+    }
+
+    private boolean matches(int row, int keyCode, byte[] sha) {
+        if (keyCodes[row] != keyCode) {
+            return false;
+        }
+        int offset = row * SHA_BYTES;
+        for (int i = 0; i < SHA_BYTES; i++) {
+            if (shas[offset + i] != sha[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String unpackSha(int row) {
+        return toHex(shas, row * SHA_BYTES);
+    }
+
+    private List<String> unpackParents(int row) {
+        if (parents[row] == null) {
+            return null;
+        }
+        List<String> parentShas = new ArrayList<>(parents[row].length / SHA_BYTES);
+        for (int offset = 0; offset < parents[row].length; offset += SHA_BYTES) {
+            parentShas.add(toHex(parents[row], offset));
+        }
+        return parentShas;
+    }
+
+    private static String toHex(byte[] bytes, int offset) {
+        char[] hex = new char[SHA_BYTES * 2];
+        for (int i = 0; i < SHA_BYTES; i++) {
+            int b = bytes[offset + i] & 0xFF;
+            hex[i * 2] = Character.forDigit(b >>> 4, 16);
+            hex[i * 2 + 1] = Character.forDigit(b & 0xF, 16);
+        }
+        return new String(hex);
+    }
+
+    private static byte[] packParents(List<String> parentShas) {
+        if (parentShas == null) {
+            return null;
+        }
+        byte[] packed = new byte[parentShas.size() * SHA_BYTES];
+        for (int i = 0; i < parentShas.size(); i++) {
+            byte[] sha = packSha(parentShas.get(i));
+            if (sha == null) {
+                return null;
+            }
+            System.arraycopy(sha, 0, packed, i * SHA_BYTES, SHA_BYTES);
+        }
+        return packed;
+    }
+
+    private static byte[] packSha(String sha) {
+        if (sha == null || sha.length() != SHA_BYTES * 2) {
+            return null;
+        }
+        byte[] packed = new byte[SHA_BYTES];
+        for (int i = 0; i < SHA_BYTES; i++) {
+            int high = Character.digit(sha.charAt(i * 2), 16);
+            int low = Character.digit(sha.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            packed[i] = (byte) ((high << 4) | low);
+        }
+        return packed;
+    }
+
+    private static long hash(int keyCode, byte[] sha) {
+        long h = 0;
+        for (int i = 0; i < 8; i++) {
+            h = (h << 8) | (sha[i] & 0xFF);
+        }
+        return h ^ (keyCode * 0xC2B2AE3D27D4EB4FL);
+    }
+}
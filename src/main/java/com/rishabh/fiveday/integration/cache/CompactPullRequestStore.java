@@ -0,0 +1,310 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.rishabh.fiveday.integration.dto.PullRequestDTO;
+import com.rishabh.fiveday.integration.webhook.RepositoryChangedEvent;
+
+/**
+ * Memory-compact columnar store holding the last known metadata of pull/merge requests.
+ * Uses the same layout as {@link CompactCommitStore}: dictionary-encoded repository ids,
+ * authors, branch names and states, epoch-second timestamps in primitive arrays and
+ * compressed title, description and URL. A pull request is keyed by repository and number
+ * and overwritten in place when it changes; when the ring is full the oldest row is reused.
+ * Dictionary values are dropped with the last row referencing them.
+ * Pull requests change, so rows and listings are served for a short TTL only, like cached 404s,
+ * and are invalidated by our own writes and by webhook events. A listing is kept as the numbers of
+ * the pull requests it returned and served only while none of them has been stored again since.
+ */
+@Component
+public class CompactPullRequestStore {
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final byte MERGED = 1;
+    private static final byte DRAFT = 2;
+    private static final int MAX_LISTINGS = 10000;
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final StringDictionary repositories = new StringDictionary();
+    private final StringDictionary names = new StringDictionary();
+    private final int[] keyCodes;
+    private final int[] repositoryCodes;
+    private final long[] ids;
+    private final int[] numbers;
+    private final int[] authorCodes;
+    private final int[] sourceBranchCodes;
+    private final int[] targetBranchCodes;
+    private final int[] stateCodes;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    private final byte[] flags;
+    private final byte[][] texts;
+    private final long[] storedAt;
+    private final RowIndex index;
+    private final Map<String, Listing> listings = new LinkedHashMap<>(64, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Listing> eldest) {
+            return size() > MAX_LISTINGS;
+        }
+    };
+
+    private int size;
+    private int next;
+    private long textBytes;
+
+    public CompactPullRequestStore(@Value("${git.cache.pull-requests.capacity:100000}") int capacity,
+                                   @Value("${git.cache.pull-requests.ttl-seconds:30}") long ttlSeconds) {
+        this.capacity = capacity;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.keyCodes = new int[capacity];
+        this.repositoryCodes = new int[capacity];
+        this.ids = new long[capacity];
+        this.numbers = new int[capacity];
+        this.authorCodes = new int[capacity];
+        this.sourceBranchCodes = new int[capacity];
+        this.targetBranchCodes = new int[capacity];
+        this.stateCodes = new int[capacity];
+        this.createdAt = new long[capacity];
+        this.updatedAt = new long[capacity];
+        this.flags = new byte[capacity];
+        this.texts = new byte[capacity][];
+        this.storedAt = new long[capacity];
+        this.index = new RowIndex(capacity);
+    }
+
+    /**
+     * Store or replace the metadata of a pull/merge request
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param pullRequest the pull/merge request
+     */
+    public void put(String provider, String repositoryId, PullRequestDTO pullRequest) {
+        byte[] text = TextCodec.encode(pullRequest.getTitle(), pullRequest.getDescription(), pullRequest.getUrl());
+        int number = pullRequest.getNumber();
+
+        synchronized (this) {
+            String key = provider + "|" + repositoryId;
+            int knownKeyCode = repositories.lookup(key);
+            int row = knownKeyCode >= 0
+                    ? index.find(hash(knownKeyCode, number), r -> keyCodes[r] == knownKeyCode && numbers[r] == number) : -1;
+            if (row >= 0) {
+                // Release the replaced values only after acquiring the new ones, so unchanged values keep their codes
+                int repositoryCode = repositoryCodes[row];
+                int[] nameCodes = {authorCodes[row], sourceBranchCodes[row], targetBranchCodes[row], stateCodes[row]};
+                textBytes -= texts[row].length;
+                fill(row, pullRequest, text);
+                repositories.release(repositoryCode);
+                for (int code : nameCodes) {
+                    names.release(code);
+                }
+                return;
+            }
+
+            row = next;
+            if (size == capacity) {
+                clear(row);
+            } else {
+                size++;
+            }
+            keyCodes[row] = repositories.acquire(key);
+            numbers[row] = number;
+            index.insert(hash(keyCodes[row], number), row);
+            next = (next + 1) % capacity;
+            fill(row, pullRequest, text);
+        }
+    }
+
+    /**
+     * Store the pull/merge requests returned by a listing, and the listing itself
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param query what was listed, e.g. the state filter
+     * @param pullRequests the listed pull/merge requests, in order
+     */
+    public void putListing(String provider, String repositoryId, String query, List<PullRequestDTO> pullRequests) {
+        int[] listed = new int[pullRequests.size()];
+        for (int i = 0; i < listed.length; i++) {
+            put(provider, repositoryId, pullRequests.get(i));
+            listed[i] = pullRequests.get(i).getNumber();
+        }
+        synchronized (this) {
+            listings.put(provider + "|" + repositoryId + "|" + query, new Listing(listed, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Look up a pull/merge request stored within the TTL
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param number pull/merge request number
+     * @return a freshly materialized pull/merge request if stored recently
+     */
+    public synchronized Optional<PullRequestDTO> get(String provider, String repositoryId, int number) {
+        int row = find(provider, repositoryId, number);
+        return row >= 0 && System.nanoTime() - storedAt[row] < ttlNanos ? Optional.of(materialize(row)) : Optional.empty();
+    }
+
+    /**
+     * Look up a listing stored within the TTL
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param query what was listed, e.g. the state filter
+     * @return freshly materialized pull/merge requests in listing order, if the listing is recent and
+     * none of its pull/merge requests has been stored again or evicted since
+     */
+    public synchronized Optional<List<PullRequestDTO>> getListing(String provider, String repositoryId, String query) {
+        Listing listing = listings.get(provider + "|" + repositoryId + "|" + query);
+        if (listing == null || System.nanoTime() - listing.listedAt >= ttlNanos) {
+            return Optional.empty();
+        }
+        int[] rows = new int[listing.numbers.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = find(provider, repositoryId, listing.numbers[i]);
+            if (rows[i] < 0 || storedAt[rows[i]] - listing.listedAt > 0) {
+                return Optional.empty();
+            }
+        }
+        List<PullRequestDTO> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(materialize(row));
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Stop serving a repository's pull/merge requests and listings until they are stored again
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     */
+    public synchronized void invalidateRepository(String provider, String repositoryId) {
+        String key = provider + "|" + repositoryId;
+        listings.keySet().removeIf(listingKey -> listingKey.startsWith(key + "|"));
+        int keyCode = repositories.lookup(key);
+        if (keyCode < 0) {
+            return;
+        }
+        long expired = System.nanoTime() - ttlNanos;
+        for (int row = 0; row < size; row++) {
+            if (keyCodes[row] == keyCode) {
+                storedAt[row] = expired;
+            }
+        }
+    }
+
+    /**
+     * Invalidate a repository's pull/merge requests when a webhook reports a change to it
+     * @param event the repository change event
+     */
+    @EventListener
+    public void onRepositoryChanged(RepositoryChangedEvent event) {
+        for (String repositoryId : event.getRepositoryIds()) {
+            invalidateRepository(event.getProvider(), repositoryId);
+        }
+    }
+
+    /**
+     * Get the number of stored pull/merge requests
+     * @return row count
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Estimate the memory held by the store, including preallocated columns and dictionaries
+     * @return estimated bytes
+     */
+    public synchronized long estimatedBytes() {
+        long columns = 13L * 16 + capacity * (4L * 7 + 8L * 4 + 1 + 4);
+        long textArrays = size * 16L + textBytes;
+        return columns + textArrays + index.estimatedBytes()
+                + repositories.estimatedBytes() + names.estimatedBytes();
+    }
+
+    /**
+     * Estimate the memory cost per stored pull/merge request
+     * @return estimated bytes per pull/merge request, or 0 if empty
+     */
+    public synchronized double bytesPerPullRequest() {
+        return size == 0 ? 0 : (double) estimatedBytes() / size;
+    }
+
+    private void fill(int row, PullRequestDTO pullRequest, byte[] text) {
+        repositoryCodes[row] = repositories.acquire(pullRequest.getRepositoryId());
+        ids[row] = pullRequest.getId() != null ? pullRequest.getId() : -1;
+        authorCodes[row] = names.acquire(pullRequest.getAuthor());
+        sourceBranchCodes[row] = names.acquire(pullRequest.getSourceBranch());
+        targetBranchCodes[row] = names.acquire(pullRequest.getTargetBranch());
+        stateCodes[row] = names.acquire(pullRequest.getState());
+        createdAt[row] = toEpochSecond(pullRequest.getCreatedAt());
+        updatedAt[row] = toEpochSecond(pullRequest.getUpdatedAt());
+        flags[row] = (byte) ((pullRequest.isMerged() ? MERGED : 0) | (pullRequest.isDraft() ? DRAFT : 0));
+        texts[row] = text;
+        textBytes += text.length;
+        storedAt[row] = System.nanoTime();
+    }
+
+    private void clear(int row) {
+        index.remove(row);
+        repositories.release(keyCodes[row]);
+        repositories.release(repositoryCodes[row]);
+        names.release(authorCodes[row]);
+        names.release(sourceBranchCodes[row]);
+        names.release(targetBranchCodes[row]);
+        names.release(stateCodes[row]);
+        textBytes -= texts[row].length;
+        texts[row] = null;
+    }
+
+    private int find(String provider, String repositoryId, int number) {
+        int keyCode = repositories.lookup(provider + "|" + repositoryId);
+        return keyCode < 0 ? -1 : index.find(hash(keyCode, number), r -> keyCodes[r] == keyCode && numbers[r] == number);
+    }
+
+    private PullRequestDTO materialize(int row) {
+        String[] text = TextCodec.decode(texts[row], 3);
+        return PullRequestDTO.builder()
+                .id(ids[row] >= 0 ? ids[row] : null)
+                .number(numbers[row])
+                .title(text[0])
+                .description(text[1])
+                .state(names.decode(stateCodes[row]))
+                .author(names.decode(authorCodes[row]))
+                .sourceBranch(names.decode(sourceBranchCodes[row]))
+                .targetBranch(names.decode(targetBranchCodes[row]))
+                .createdAt(toDateTime(createdAt[row]))
+                .updatedAt(toDateTime(updatedAt[row]))
+                .isMerged((flags[row] & MERGED) != 0)
+                .isDraft((flags[row] & DRAFT) != 0)
+                .url(text[2])
+                .repositoryId(repositories.decode(repositoryCodes[row]))
+                .build();
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NO_TIMESTAMP;
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return epochSecond != NO_TIMESTAMP ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
+    }
+
+    private static long hash(int keyCode, int number) {
+        return ((long) keyCode << 32) | (number & 0xFFFFFFFFL);
+    }
+
+    private record Listing(int[] numbers, long listedAt) {
+    }
+}
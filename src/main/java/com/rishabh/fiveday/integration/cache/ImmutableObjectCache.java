@@ -0,0 +1,279 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded cache for Git objects identified by SHA (commits, trees, blobs).
+ * Objects addressed by SHA never change, so entries have no TTL and are only evicted
+ * when the estimated memory weight exceeds the configured budget. Evicted entries are
+ * optionally spilled to a local disk tier and promoted back on the next lookup.
+ * Commits are held in the columnar {@link CompactCommitStore} and materialized per lookup;
+ * other cached instances are shared between callers and must not be modified.
+ */
+@Component
+@Slf4j
+public class ImmutableObjectCache {
+
+    /**
+     * Kinds of immutable Git objects
+     */
+    public enum ObjectKind {
+        COMMIT, TREE, BLOB
+    }
+
+    /**
+     * Implemented by cached values that know their own approximate memory footprint
+     */
+    public interface Weighted {
+        long estimatedBytes();
+    }
+
+    private static final Pattern FULL_SHA = Pattern.compile("^[0-9a-fA-F]{40}([0-9a-fA-F]{24})?$");
+
+    /**
+     * Fixed overhead per entry: key, map node and object headers
+     */
+    private static final long ENTRY_OVERHEAD = 160;
+
+    private final ObjectMapper objectMapper;
+    private final CompactCommitStore commitStore;
+    private final long maxBytes;
+    private final Path diskDir;
+    private final long maxDiskBytes;
+
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<String, Long> diskFiles = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+
+    public ImmutableObjectCache(ObjectMapper objectMapper, CompactCommitStore commitStore,
+                                @Value("${git.cache.immutable.max-bytes:67108864}") long maxBytes,
+                                @Value("${git.cache.immutable.disk-dir:}") String diskDir,
+                                @Value("${git.cache.immutable.max-disk-bytes:1073741824}") long maxDiskBytes) {
+        this.objectMapper = objectMapper;
+        this.commitStore = commitStore;
+        this.maxBytes = maxBytes;
+        this.maxDiskBytes = maxDiskBytes;
+        this.diskDir = diskDir == null || diskDir.isBlank() ? null : Paths.get(diskDir);
+    }
+
+    /**
+     * Check whether a commit identifier is a full object SHA and therefore cacheable
+     * @param id commit identifier, branch name or abbreviated SHA
+     * @return true if the identifier is a full SHA-1 or SHA-256
+     */
+    public static boolean isFullSha(String id) {
+        return id != null && FULL_SHA.matcher(id).matches();
+    }
+
+    /**
+     * Look up a commit
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param sha full commit SHA
+     * @return the cached commit if present
+     */
+    public Optional<CommitDTO> getCommit(String provider, String repositoryId, String sha) {
+        if (!isFullSha(sha)) {
+            return Optional.empty();
+        }
+        Optional<CommitDTO> commit = commitStore.get(provider, repositoryId, sha);
+        if (commit.isPresent()) {
+            return commit;
+        }
+
+        commit = Optional.ofNullable(readFromDisk(key(ObjectKind.COMMIT, provider, repositoryId, sha), CommitDTO.class));
+        commit.ifPresent(c -> commitStore.put(provider, repositoryId, c, null));
+        return commit;
+    }
+
+    /**
+     * Cache a commit. Commits without a full SHA are ignored.
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param commit the commit
+     */
+    public void putCommit(String provider, String repositoryId, CommitDTO commit) {
+        if (commit != null && isFullSha(commit.getSha())) {
+            commitStore.put(provider, repositoryId, commit, diskDir == null ? null
+                    : evicted -> spillToDisk(key(ObjectKind.COMMIT, provider, repositoryId, evicted.getSha()), evicted));
+        }
+    }
+
+    /**
+     * Look up an immutable object
+     * @param kind the object kind
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param sha full object SHA
+     * @param type expected value type, used when reading from the disk tier
+     * @return the cached object if present
+     */
+    public <T> Optional<T> get(ObjectKind kind, String provider, String repositoryId, String sha, Class<T> type) {
+        if (!isFullSha(sha)) {
+            return Optional.empty();
+        }
+        String key = key(kind, provider, repositoryId, sha);
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                return Optional.of(type.cast(entry.value));
+            }
+        }
+
+        T value = readFromDisk(key, type);
+        if (value != null) {
+            put(key, value);
+        }
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * Cache an immutable object
+     * @param kind the object kind
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param sha full object SHA
+     * @param value the object
+     */
+    public void put(ObjectKind kind, String provider, String repositoryId, String sha, Object value) {
+        if (value != null && isFullSha(sha)) {
+            put(key(kind, provider, repositoryId, sha), value);
+        }
+    }
+
+    /**
+     * Get the estimated memory held by the in-memory tier, excluding the commit store
+     * @return estimated bytes
+     */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * Get the number of entries in the in-memory tier
+     * @return entry count
+     */
+    public synchronized int size() {
+        return memory.size();
+    }
+
+    private void put(String key, Object value) {
+        long weight = ENTRY_OVERHEAD + key.length() * 2L + weigh(value);
+        if (weight > maxBytes) {
+            spillToDisk(key, value);
+            return;
+        }
+
+        Map<String, Object> evicted = new LinkedHashMap<>();
+        synchronized (this) {
+            Entry previous = memory.put(key, new Entry(value, weight));
+            if (previous != null) {
+                memoryBytes -= previous.weight;
+            }
+            memoryBytes += weight;
+
+            Iterator<Map.Entry<String, Entry>> it = memory.entrySet().iterator();
+            while (memoryBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                it.remove();
+                memoryBytes -= eldest.getValue().weight;
+                evicted.put(eldest.getKey(), eldest.getValue().value);
+            }
+        }
+        evicted.forEach(this::spillToDisk);
+    }
+
+    private long weigh(Object value) {
+        if (value instanceof Weighted weighted) {
+            return weighted.estimatedBytes();
+        }
+        if (value instanceof String s) {
+            return sizeOf(s);
+        }
+        if (value instanceof byte[] bytes) {
+            return 16L + bytes.length;
+        }
+        return 256;
+    }
+
+    private static long sizeOf(String s) {
+        return s == null ? 0 : 40L + s.length();
+    }
+
+    private void spillToDisk(String key, Object value) {
+        if (diskDir == null) {
+            return;
+        }
+        try {
+            Path file = diskFile(key);
+            Files.createDirectories(file.getParent());
+            byte[] bytes = objectMapper.writeValueAsBytes(value);
+            Path tmp = file.resolveSibling(file.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            synchronized (diskFiles) {
+                Long previous = diskFiles.put(key, (long) bytes.length);
+                diskBytes += bytes.length - (previous != null ? previous : 0);
+                Iterator<Map.Entry<String, Long>> it = diskFiles.entrySet().iterator();
+                while (diskBytes > maxDiskBytes && it.hasNext()) {
+                    Map.Entry<String, Long> eldest = it.next();
+                    it.remove();
+                    diskBytes -= eldest.getValue();
+                    Files.deleteIfExists(diskFile(eldest.getKey()));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to spill cached object {} to disk: {}", key, e.getMessage());
+        }
+    }
+
+    private <T> T readFromDisk(String key, Class<T> type) {
+        if (diskDir == null) {
+            return null;
+        }
+        Path file = diskFile(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), type);
+        } catch (IOException e) {
+            log.warn("Failed to read cached object {} from disk: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path diskFile(String key) {
+        String name = DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+        return diskDir.resolve(name.substring(0, 2)).resolve(name + ".json");
+    }
+
+    private static String key(ObjectKind kind, String provider, String repositoryId, String sha) {
+        return kind + "|" + provider + "|" + repositoryId + "|" + sha.toLowerCase();
+    }
+
+    private record Entry(Object value, long weight) {
+    }
+}
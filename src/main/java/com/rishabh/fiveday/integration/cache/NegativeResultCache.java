@@ -0,0 +1,162 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.rishabh.fiveday.integration.webhook.RepositoryChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived cache of lookups that the provider answered with 404.
+ * Lets repeated existence probes (e.g. "does branch feature/x exist?") be answered locally.
+ * Entries expire after a short TTL and are invalidated by our own writes and by webhook events.
+ * A lookup that is in flight while its repository is invalidated must not record its 404 afterwards,
+ * so every invalidation advances the repository's generation and a 404 is only recorded if the
+ * generation read before the lookup is still current. Generations are striped by repository so
+ * they take constant memory; a collision only drops a write.
+ */
+@Component
+@Slf4j
+public class NegativeResultCache {
+
+    /**
+     * Kinds of objects that can be cached as missing
+     */
+    public enum Kind {
+        BRANCH, COMMIT, PULL_REQUEST
+    }
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public NegativeResultCache(@Value("${git.cache.negative.ttl-seconds:30}") long ttlSeconds,
+                               @Value("${git.cache.negative.max-entries:100000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Check whether an object is known to be missing
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param kind the object kind
+     * @param name branch name, commit SHA or pull request number
+     * @return true if a recent lookup returned 404
+     */
+    public boolean isKnownMissing(String provider, String repositoryId, Kind kind, String name) {
+        String key = key(provider, repositoryId, kind, name);
+        Long expiry = expiries.get(key);
+        if (expiry == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiry >= 0) {
+            expiries.remove(key, expiry);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the invalidation generation of a repository, to be read before looking an object up
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @return the generation to pass to {@link #recordMissing}
+     */
+    public long generation(String provider, String repositoryId) {
+        return generations.get(stripe(provider, repositoryId));
+    }
+
+    /**
+     * Record that a lookup returned 404, unless the repository was invalidated since it started
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param kind the object kind
+     * @param name branch name, commit SHA or pull request number
+     * @param generation the repository's generation read before the lookup
+     */
+    public void recordMissing(String provider, String repositoryId, Kind kind, String name, long generation) {
+        int stripe = stripe(provider, repositoryId);
+        if (generations.get(stripe) != generation) {
+            return;
+        }
+        if (expiries.size() >= maxEntries) {
+            evictExpired();
+            if (expiries.size() >= maxEntries) {
+                return;
+            }
+        }
+        String key = key(provider, repositoryId, kind, name);
+        Long expiry = System.nanoTime() + ttlNanos;
+        expiries.put(key, expiry);
+        // An invalidation advances the generation before removing entries: if it ran between the
+        // check above and the put, either it removed the entry or the generation has moved on
+        if (generations.get(stripe) != generation) {
+            expiries.remove(key, expiry);
+        }
+    }
+
+    /**
+     * Forget that an object was missing, e.g. because we just created it
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @param kind the object kind
+     * @param name branch name, commit SHA or pull request number
+     */
+    public void invalidate(String provider, String repositoryId, Kind kind, String name) {
+        generations.incrementAndGet(stripe(provider, repositoryId));
+        expiries.remove(key(provider, repositoryId, kind, name));
+    }
+
+    /**
+     * Forget all missing objects of a repository
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     */
+    public void invalidateRepository(String provider, String repositoryId) {
+        generations.incrementAndGet(stripe(provider, repositoryId));
+        String prefix = provider + "|" + repositoryId + "|";
+        expiries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Invalidate a repository's entries when a webhook reports a change to it
+     * @param event the repository change event
+     */
+    @EventListener
+    public void onRepositoryChanged(RepositoryChangedEvent event) {
+        for (String repositoryId : event.getRepositoryIds()) {
+            invalidateRepository(event.getProvider(), repositoryId);
+        }
+        log.debug("Invalidated negative cache for {} repository {}", event.getProvider(), event.getRepositoryIds());
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Long>> it = expiries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().getValue() >= 0) {
+                it.remove();
+            }
+        }
+    }
+
+    private static int stripe(String provider, String repositoryId) {
+        return ((provider.hashCode() * 31 + repositoryId.hashCode()) & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private static String key(String provider, String repositoryId, Kind kind, String name) {
+        return provider + "|" + repositoryId + "|" + kind + "|" + name;
+    }
+}
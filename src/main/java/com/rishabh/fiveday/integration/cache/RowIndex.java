@@ -0,0 +1,84 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Open-addressing hash index from a 64-bit key hash to a row ordinal, stored in primitive arrays.
+ * Several rows may share a key hash; lookups confirm candidates through a predicate.
+ * Deletion uses backward shifting so no tombstones accumulate. Not thread-safe; callers synchronize.
+ */
+final class RowIndex {
+
+    private final int[] slots;
+    private final long[] rowKeys;
+    private final int mask;
+
+    RowIndex(int rowCapacity) {
+        int tableSize = Integer.highestOneBit(Math.max(2, rowCapacity) * 2 - 1) << 1;
+        this.slots = new int[tableSize];
+        this.rowKeys = new long[rowCapacity];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Find the row stored under a key hash that satisfies the predicate
+     * @param key the key hash
+     * @param matches confirms that a candidate row holds the requested key
+     * @return the row ordinal, or -1 if absent
+     */
+    int find(long key, IntPredicate matches) {
+        for (int slot = slotOf(key); slots[slot] != 0; slot = (slot + 1) & mask) {
+            int row = slots[slot] - 1;
+            if (rowKeys[row] == key && matches.test(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    void insert(long key, int row) {
+        rowKeys[row] = key;
+        int slot = slotOf(key);
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row + 1;
+    }
+
+    void remove(int row) {
+        int slot = slotOf(rowKeys[row]);
+        while (slots[slot] != row + 1) {
+            if (slots[slot] == 0) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Shift following entries of the probe sequence back into the freed slot
+        int free = slot;
+        for (int next = (free + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+            int home = slotOf(rowKeys[slots[next] - 1]);
+            boolean movable = free <= next ? (home <= free || home > next) : (home <= free && home > next);
+            if (movable) {
+                slots[free] = slots[next];
+                free = next;
+            }
+        }
+        slots[free] = 0;
+    }
+
+    void move(int from, int to) {
+        long key = rowKeys[from];
+        remove(from);
+        insert(key, to);
+    }
+
+    long estimatedBytes() {
+        return 16L + slots.length * 4L + 16L + rowKeys.length * 8L;
+    }
+
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
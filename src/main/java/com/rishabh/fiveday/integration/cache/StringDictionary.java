@@ -0,0 +1,91 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for low-cardinality strings such as authors, repository ids and branch names.
+ * Each distinct value is stored once and referenced by an int code; -1 encodes null. Codes are
+ * reference-counted: every row holding a code acquires it and releases it when the row is
+ * overwritten, and values no row references any more are dropped and their codes reused, so the
+ * dictionary only holds values of live rows. Not thread-safe; callers synchronize.
+ */
+final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private int[] references = new int[16];
+    private int[] freeCodes = new int[16];
+    private int freeCount;
+    private long bytes;
+
+    /**
+     * Get the code of a value and count one more reference to it
+     * @param value the value, or null
+     * @return the code, or -1 for null
+     */
+    int acquire(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            if (freeCount > 0) {
+                code = freeCodes[--freeCount];
+                values.set(code, value);
+            } else {
+                code = values.size();
+                values.add(value);
+                if (code == references.length) {
+                    references = Arrays.copyOf(references, code * 2);
+                }
+            }
+            codes.put(value, code);
+            bytes += 88 + value.length();
+        }
+        references[code]++;
+        return code;
+    }
+
+    /**
+     * Drop one reference to a code; the value is removed with its last reference
+     * @param code the code, or -1 for null
+     */
+    void release(int code) {
+        if (code < 0 || --references[code] > 0) {
+            return;
+        }
+        String value = values.set(code, null);
+        codes.remove(value);
+        bytes -= 88 + value.length();
+        if (freeCount == freeCodes.length) {
+            freeCodes = Arrays.copyOf(freeCodes, freeCount * 2);
+        }
+        freeCodes[freeCount++] = code;
+    }
+
+    /**
+     * Look up the code of a value without adding it
+     * @param value the value
+     * @return the code, or -1 if the value is unknown
+     */
+    int lookup(String value) {
+        Integer code = value != null ? codes.get(value) : null;
+        return code != null ? code : -1;
+    }
+
+    String decode(int code) {
+        return code < 0 ? null : values.get(code);
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    long estimatedBytes() {
+        return bytes + 16L + references.length * 4L + 16L + freeCodes.length * 4L;
+    }
+}
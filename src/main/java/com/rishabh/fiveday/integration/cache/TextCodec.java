@@ -0,0 +1,122 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Packs free-text fields (commit messages, PR titles and descriptions, URLs) into a single
+ * byte array, deflate-compressed when that makes it smaller.
+ */
+final class TextCodec {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private TextCodec() {
+    }
+
+    static byte[] encode(String... fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String field : fields) {
+            if (field == null) {
+                writeVarInt(out, 0);
+                continue;
+            }
+            byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length + 1);
+            out.write(bytes, 0, bytes.length);
+        }
+        byte[] raw = out.toByteArray();
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buffer = new byte[raw.length + 5];
+            int length = 0;
+            while (!deflater.finished() && length < raw.length) {
+                length += deflater.deflate(buffer, 1 + 4 + length, buffer.length - 5 - length);
+            }
+            if (deflater.finished() && length + 5 < raw.length + 1) {
+                buffer[0] = DEFLATED;
+                writeInt(buffer, 1, raw.length);
+                return Arrays.copyOf(buffer, length + 5);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        byte[] result = new byte[raw.length + 1];
+        result[0] = RAW;
+        System.arraycopy(raw, 0, result, 1, raw.length);
+        return result;
+    }
+
+    static String[] decode(byte[] encoded, int fieldCount) {
+        byte[] raw;
+        int offset;
+        if (encoded[0] == DEFLATED) {
+            raw = new byte[readInt(encoded, 1)];
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(encoded, 5, encoded.length - 5);
+                inflater.inflate(raw);
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupt compressed text", e);
+            } finally {
+                inflater.end();
+            }
+            offset = 0;
+        } else {
+            raw = encoded;
+            offset = 1;
+        }
+
+        String[] fields = new String[fieldCount];
+        int[] position = { offset };
+        for (int i = 0; i < fieldCount; i++) {
+            int length = readVarInt(raw, position);
+            if (length > 0) {
+                fields[i] = new String(raw, position[0], length - 1, StandardCharsets.UTF_8);
+                position[0] += length - 1;
+            }
+        }
+        return fields;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+}
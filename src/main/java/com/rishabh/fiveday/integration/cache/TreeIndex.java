@@ -0,0 +1,84 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flattened file listing of a commit's tree: path to blob SHA for every file.
+ * Built once per commit and cached as {@link ImmutableObjectCache.ObjectKind#TREE}, it lets commit
+ * writers compare new file content with the base tree by hash without downloading any content.
+ * A truncated index (the provider capped the listing) only proves that a listed path is present.
+ * @param blobs path to blob SHA
+ * @param truncated whether the listing may be missing paths
+ */
+public record TreeIndex(Map<String, String> blobs, boolean truncated) implements ImmutableObjectCache.Weighted {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public TreeIndex {
+        blobs = Map.copyOf(blobs);
+    }
+
+    /**
+     * Check whether a file has exactly the given content in this tree
+     * @param path file path
+     * @param blobSha blob SHA of the content
+     * @return true if the path holds the same blob
+     */
+    public boolean isUnchanged(String path, String blobSha) {
+        return blobSha.equals(blobs.get(path));
+    }
+
+    /**
+     * Check whether a path is known to be absent from this tree
+     * @param path file path
+     * @return true if the index is complete and does not contain the path
+     */
+    public boolean isAbsent(String path) {
+        return !truncated && !blobs.containsKey(path);
+    }
+
+    /**
+     * Get all blob SHAs referenced by this tree
+     * @return blob SHAs
+     */
+    public Set<String> blobShas() {
+        return new HashSet<>(blobs.values());
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long bytes = 64;
+        for (Map.Entry<String, String> entry : blobs.entrySet()) {
+            bytes += 120 + entry.getKey().length() + entry.getValue().length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Compute the Git blob SHA-1 of file content as a provider would store it, i.e. the UTF-8 bytes
+     * behind a "blob &lt;length&gt;\0" header
+     * @param content file content
+     * @return lower-case hex SHA-1
+     */
+    public static String blobSha(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(("blob " + bytes.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            byte[] hash = digest.digest(bytes);
+            char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
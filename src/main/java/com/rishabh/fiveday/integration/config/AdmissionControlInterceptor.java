@@ -0,0 +1,68 @@
+package com.rishabh.fiveday.integration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.rishabh.fiveday.integration.admission.AdaptiveConcurrencyLimiter;
+import com.rishabh.fiveday.integration.exception.TooManyRequestsException;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits API requests through the adaptive concurrency limit of their endpoint and rejects the
+ * rest with 429. Streaming responses leave the limit as soon as the handler returns, since an open
+ * stream does not occupy a request thread.
+ */
+@Component
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final boolean enabled;
+
+    public AdmissionControlInterceptor(AdaptiveConcurrencyLimiter limiter,
+                                       @Value("${git.admission.enabled:true}") boolean enabled) {
+        this.limiter = limiter;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String endpoint = endpoint(request);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(endpoint);
+        if (permit == null) {
+            throw new TooManyRequestsException("Too many concurrent requests for " + endpoint + ", try again later",
+                    limiter.retryAfterSeconds(endpoint));
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            permit.releaseWithoutSample();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            // 5xx means the request could not be served; 4xx and upstream errors are not capacity problems
+            permit.release(ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -12,6 +12,7 @@ import com.rishabh.fiveday.integration.exception.GitApiException;
 import com.rishabh.fiveday.integration.service.GitService;
 import com.rishabh.fiveday.integration.service.impl.GitHubServiceImpl;
 import com.rishabh.fiveday.integration.service.impl.GitLabServiceImpl;
+import com.rishabh.fiveday.integration.service.impl.LocalCloneServiceImpl;
 
 /**
  * Factory for creating GitService implementations based on provider
@@ -23,13 +24,16 @@ public class GitServiceFactory {
     private final Map<String, GitService> serviceMap = new HashMap<>();
     private final List<String> availableProviders = new ArrayList<>();
     
-    public GitServiceFactory(GitHubServiceImpl gitHubService, GitLabServiceImpl gitLabService) {
+    public GitServiceFactory(GitHubServiceImpl gitHubService, GitLabServiceImpl gitLabService,
+                             LocalCloneServiceImpl localCloneService) {
         // Register services
         serviceMap.put("github", gitHubService);
         serviceMap.put("gitlab", gitLabService);
+        serviceMap.put("local", localCloneService);
         
         availableProviders.add("github");
         availableProviders.add("gitlab");
+        availableProviders.add("local");
     }
     
     /**
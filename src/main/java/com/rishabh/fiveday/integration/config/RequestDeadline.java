@@ -0,0 +1,22 @@
+package com.rishabh.fiveday.integration.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the default deadline of an API endpoint. Clients may still ask for a shorter one.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestDeadline {
+
+    /**
+     * Default deadline of the endpoint in milliseconds; 0 for none, e.g. for streams that run
+     * as long as the client reads them
+     */
+    long millis();
+}
@@ -0,0 +1,37 @@
+package com.rishabh.fiveday.integration.config;
+
+import java.lang.management.ManagementFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports how long startup took and ends class-data-sharing training runs.
+ * With git.startup.training-run=true the application exits as soon as it is ready, which lets
+ * the "startup" Maven profile record the classes loaded during startup into an AppCDS archive.
+ * With lazy initialization, beans are still created on the first request after this point;
+ * StartupBenchmark under src/test measures startup up to the first served request.
+ */
+@Component
+@Slf4j
+public class StartupListener {
+
+    @Value("${git.startup.training-run:false}")
+    private boolean trainingRun;
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        log.info("Ready to serve requests {} ms after JVM start (application startup took {} ms)",
+                ManagementFactory.getRuntimeMXBean().getUptime(), event.getTimeTaken().toMillis());
+
+        if (trainingRun) {
+            log.info("Training run finished, exiting");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
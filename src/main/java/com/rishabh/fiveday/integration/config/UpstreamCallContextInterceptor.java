@@ -0,0 +1,75 @@
+package com.rishabh.fiveday.integration.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.rishabh.fiveday.integration.upstream.Deadline;
+import com.rishabh.fiveday.integration.upstream.UpstreamCallContext;
+import com.rishabh.fiveday.integration.upstream.UpstreamLane;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Marks upstream calls made while serving an API request as interactive calls of the request's tenant,
+ * bounded by the request's deadline. The deadline is the endpoint default, or the timeout the client
+ * sends in the deadline header if that is shorter.
+ */
+@Component
+public class UpstreamCallContextInterceptor implements AsyncHandlerInterceptor {
+
+    private final String tenantHeader;
+    private final String deadlineHeader;
+    private final long defaultDeadlineMillis;
+
+    public UpstreamCallContextInterceptor(@Value("${git.scheduler.tenant-header:X-Tenant-Id}") String tenantHeader,
+                                          @Value("${git.deadline.header:X-Request-Timeout-Ms}") String deadlineHeader,
+                                          @Value("${git.deadline.default-millis:30000}") long defaultDeadlineMillis) {
+        this.tenantHeader = tenantHeader;
+        this.deadlineHeader = deadlineHeader;
+        this.defaultDeadlineMillis = defaultDeadlineMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenant = request.getHeader(tenantHeader);
+        UpstreamCallContext.set(new UpstreamCallContext(tenant == null || tenant.isBlank() ? "default" : tenant.trim(),
+                UpstreamLane.INTERACTIVE, deadline(request, handler)));
+        return true;
+    }
+
+    private Deadline deadline(HttpServletRequest request, Object handler) {
+        long endpointMillis = defaultDeadlineMillis;
+        if (handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(RequestDeadline.class)) {
+            endpointMillis = handlerMethod.getMethodAnnotation(RequestDeadline.class).millis();
+        }
+        Deadline deadline = endpointMillis > 0 ? Deadline.after(Duration.ofMillis(endpointMillis)) : null;
+
+        String requested = request.getHeader(deadlineHeader);
+        if (requested != null) {
+            try {
+                long requestedMillis = Long.parseLong(requested.trim());
+                if (requestedMillis > 0) {
+                    deadline = Deadline.after(Duration.ofMillis(requestedMillis)).earliest(deadline);
+                }
+            } catch (NumberFormatException e) {
+                // Malformed timeouts are ignored like absent ones
+            }
+        }
+        return deadline;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        UpstreamCallContext.set(null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        UpstreamCallContext.set(null);
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
+import com.rishabh.fiveday.integration.upstream.UpstreamDeadlines;
+
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
@@ -30,13 +32,17 @@ public class WebClientConfig {
     private static final int MEMORY_LIMIT = 10 * 1024 * 1024;
 
     /**
-     * Create a WebClient builder with common configuration
+     * Create a WebClient builder with common configuration. The fixed timeouts bound calls made
+     * without a deadline; calls made for an API request are also bounded by the request's deadline.
+     * @param upstreamDeadlines enforces request deadlines on upstream calls
      * @return configured WebClient.Builder
      */
     @Bean
-    public WebClient.Builder webClientBuilder() {
+    public WebClient.Builder webClientBuilder(UpstreamDeadlines upstreamDeadlines) {
         // Configure timeout and connection options
+        // compress(true) sends Accept-Encoding: gzip and inflates responses chunk by chunk as they stream in
         HttpClient httpClient = HttpClient.create()
+                .compress(true)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT)
                 .responseTimeout(Duration.ofMillis(TIMEOUT))
                 .doOnConnected(conn -> 
@@ -48,9 +54,11 @@ public class WebClientConfig {
                 .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MEMORY_LIMIT))
                 .build();
                 
+        // Registered first, so filters added by the provider services run within the deadline
         return WebClient.builder()
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .exchangeStrategies(strategies);
+                .exchangeStrategies(strategies)
+                .filter(upstreamDeadlines.filter());
     }
     
     /**
@@ -0,0 +1,69 @@
+package com.rishabh.fiveday.integration.config;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rishabh.fiveday.integration.controller.FieldProjectionAdvice;
+
+/**
+ * Configuration for Spring MVC message conversion and request interceptors
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final UpstreamCallContextInterceptor upstreamCallContextInterceptor;
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    public WebMvcConfig(UpstreamCallContextInterceptor upstreamCallContextInterceptor,
+                        AdmissionControlInterceptor admissionControlInterceptor) {
+        this.upstreamCallContextInterceptor = upstreamCallContextInterceptor;
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Rejected requests are turned away before any upstream work is set up
+        registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/api/git/**");
+        registry.addInterceptor(upstreamCallContextInterceptor);
+    }
+
+    /**
+     * Projectable DTOs carry a Jackson filter; wherever no projection applies (caches, streams,
+     * webhooks) they are written in full
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldProjectionDefaults() {
+        return builder -> builder.filters(FieldProjectionAdvice.ALL_FIELDS);
+    }
+
+    /**
+     * Newline-delimited JSON needs exactly one line per item, so streaming responses
+     * never use the pretty-printing mapper even when indent-output is enabled.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter jsonConverter) {
+                ObjectMapper defaultMapper = jsonConverter.getObjectMapper();
+                ObjectMapper streamingMapper = defaultMapper.copy()
+                        .disable(SerializationFeature.INDENT_OUTPUT);
+                jsonConverter.registerObjectMappersForType(Object.class, mappers -> {
+                    mappers.put(MediaType.APPLICATION_JSON, defaultMapper);
+                    mappers.put(new MediaType("application", "*+json"), defaultMapper);
+                    mappers.put(MediaType.APPLICATION_NDJSON, streamingMapper);
+                    mappers.put(MediaType.TEXT_EVENT_STREAM, streamingMapper);
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.rishabh.fiveday.integration.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rishabh.fiveday.integration.bulk.BulkOperationService;
+import com.rishabh.fiveday.integration.dto.BulkBranchTargetDTO;
+import com.rishabh.fiveday.integration.dto.BulkPullRequestTargetDTO;
+import com.rishabh.fiveday.integration.dto.BulkResultDTO;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/git/bulk")
+@RequiredArgsConstructor
+public class BulkController {
+
+    private final BulkOperationService bulkOperationService;
+
+    @PostMapping("/branches/delete")
+    public ResponseEntity<BulkResultDTO> deleteBranches(@RequestBody List<BulkBranchTargetDTO> targets) {
+        return ResponseEntity.ok(bulkOperationService.deleteBranches(targets));
+    }
+
+    @PostMapping("/pulls/update")
+    public ResponseEntity<BulkResultDTO> updatePullRequests(@RequestBody List<BulkPullRequestTargetDTO> targets) {
+        return ResponseEntity.ok(bulkOperationService.updatePullRequests(targets));
+    }
+}
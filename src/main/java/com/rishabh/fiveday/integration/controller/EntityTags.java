@@ -0,0 +1,136 @@
+package com.rishabh.fiveday.integration.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.rishabh.fiveday.integration.dto.BranchDTO;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.dto.PullRequestDTO;
+import com.rishabh.fiveday.integration.dto.RepositoryDTO;
+
+/**
+ * Helper for HTTP caching of API responses.
+ * ETags are derived from the version of each returned object (branch head SHA, commit SHA,
+ * pull request update time) rather than from the serialized body. Spring MVC answers a matching
+ * If-None-Match with 304 before the body is serialized. The tags are weak: they do not identify
+ * exact bytes, and Tomcat refuses to gzip responses that carry a strong tag. JSON and each binary
+ * encoding negotiated through the Accept header, and each field projection, still get distinct tags.
+ */
+final class EntityTags {
+
+    /**
+     * Mutable data: caches may keep it but must revalidate it on every use
+     */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * Objects addressed by full SHA never change
+     */
+    static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    private EntityTags() {
+    }
+
+    /**
+     * Build a 200 response carrying an ETag and caching headers
+     * @param body the response body
+     * @param etag the entity tag of the body
+     * @param cacheControl the caching policy
+     * @return the response
+     */
+    static <T> ResponseEntity<T> ok(T body, String etag, CacheControl cacheControl) {
+        return builder(etag, cacheControl).body(body);
+    }
+
+    /**
+     * Start a 200 response carrying an ETag and caching headers
+     * @param etag the entity tag of the body
+     * @param cacheControl the caching policy
+     * @return the response builder
+     */
+    static ResponseEntity.BodyBuilder builder(String etag, CacheControl cacheControl) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+
+    /**
+     * Compute the entity tag of a list of objects
+     * @param items the objects
+     * @param version identifies the version of one object
+     * @return a weak entity tag
+     */
+    static <T> String ofAll(Collection<T> items, Function<T, String> version) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(representation().getBytes(StandardCharsets.UTF_8));
+            for (T item : items) {
+                digest.update(version.apply(item).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    /**
+     * Compute the entity tag of a single object
+     * @param item the object
+     * @param version identifies the version of the object
+     * @return a weak entity tag
+     */
+    static <T> String of(T item, Function<T, String> version) {
+        return ofAll(List.of(item), version);
+    }
+
+    /**
+     * Name the encoding and field projection the current request asks for
+     */
+    private static String representation() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "json";
+        }
+        String accept = attributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+        String fields = attributes.getRequest().getParameter("fields");
+        String encoding = "json";
+        if (accept != null && accept.contains("application/cbor")) {
+            encoding = "cbor";
+        } else if (accept != null && accept.contains("smile")) {
+            encoding = "smile";
+        }
+        return fields != null ? encoding + '\0' + fields : encoding;
+    }
+
+    static String version(BranchDTO branch) {
+        return branch.getName() + '\0' + branch.getCommitSha() + '\0' + branch.isProtected();
+    }
+
+    static String version(CommitDTO commit) {
+        return commit.getSha();
+    }
+
+    static String version(PullRequestDTO pullRequest) {
+        return pullRequest.getId() + "\0" + pullRequest.getNumber() + '\0' + pullRequest.getUpdatedAt()
+                + '\0' + pullRequest.getState() + '\0' + pullRequest.isMerged();
+    }
+
+    static String version(RepositoryDTO repository) {
+        // Providers report no version for repository metadata, so all fields take part
+        return repository.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.rishabh.fiveday.integration.controller;
+
+import java.time.Duration;
+
+import org.springframework.http.codec.ServerSentEvent;
+
+import com.rishabh.fiveday.integration.dto.ChangeEventDTO;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Helper for Server-Sent Event streams of repository changes.
+ * Each change is sent as an event named after its type. Idle streams get a comment at the
+ * heartbeat interval so proxies keep the connection open and disconnected clients are noticed
+ * on the next write, which ends their subscription.
+ */
+final class EventStreams {
+
+    private EventStreams() {
+    }
+
+    static Flux<ServerSentEvent<ChangeEventDTO>> of(Flux<ChangeEventDTO> changes, Duration heartbeat) {
+        Flux<ServerSentEvent<ChangeEventDTO>> events = changes
+                .map(change -> ServerSentEvent.builder(change).event(change.getType()).build());
+        Flux<ServerSentEvent<ChangeEventDTO>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<ChangeEventDTO>builder().comment("keep-alive").build());
+        return Flux.merge(events, heartbeats);
+    }
+}
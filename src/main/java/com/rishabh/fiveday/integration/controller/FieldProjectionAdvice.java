@@ -0,0 +1,91 @@
+package com.rishabh.fiveday.integration.controller;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Sparse fieldsets: a "fields" query parameter (comma-separated property names) limits the
+ * properties of repositories, branches, commits and pull requests in a response.
+ * DTOs opt in with {@code @JsonFilter("fields")}; wrappers such as job, bulk or aggregate results
+ * keep all their own properties and only the items inside them are projected. Properties that
+ * were not requested are neither read from the DTO nor written.
+ */
+@ControllerAdvice
+public class FieldProjectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    /**
+     * Jackson filter id of projectable DTOs
+     */
+    public static final String FILTER_ID = "fields";
+
+    /**
+     * Filters used when no projection is requested: every property is written
+     */
+    public static final FilterProvider ALL_FIELDS = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+            .setFailOnUnknownId(false);
+
+    private static final String PARAMETER = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        // Always set filters: the CBOR and Smile mappers have no default filter provider
+        bodyContainer.setFilters(filters(requestedFields(request)));
+    }
+
+    /**
+     * Project the items of a streamed response, which bypasses response body advice
+     * @param items the items
+     * @param fields the requested fields, or null for all
+     * @return the items, wrapped with their filters if a projection was requested
+     */
+    static Flux<Object> project(Flux<?> items, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return items.cast(Object.class);
+        }
+        FilterProvider filters = filters(fields);
+        return items.map(item -> {
+            MappingJacksonValue value = new MappingJacksonValue(item);
+            value.setFilters(filters);
+            return value;
+        });
+    }
+
+    private static FilterProvider filters(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL_FIELDS;
+        }
+        Set<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        return new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(names))
+                .setFailOnUnknownId(false);
+    }
+
+    private static String requestedFields(ServerHttpRequest request) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            return servletRequest.getServletRequest().getParameter(PARAMETER);
+        }
+        return null;
+    }
+}
@@ -1,27 +1,51 @@
 package com.rishabh.fiveday.integration.controller;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.rishabh.fiveday.integration.cache.ImmutableObjectCache;
 import com.rishabh.fiveday.integration.config.GitServiceFactory;
+import com.rishabh.fiveday.integration.config.RequestDeadline;
 import com.rishabh.fiveday.integration.dto.BranchDTO;
+import com.rishabh.fiveday.integration.dto.ChangeEventDTO;
 import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.dto.DeltaDTO;
 import com.rishabh.fiveday.integration.dto.PullRequestDTO;
 import com.rishabh.fiveday.integration.dto.RepositoryDTO;
+import com.rishabh.fiveday.integration.service.CursorPage;
 import com.rishabh.fiveday.integration.service.GitService;
+import com.rishabh.fiveday.integration.service.PageCursor;
+import com.rishabh.fiveday.integration.service.RawRequest;
+import com.rishabh.fiveday.integration.service.RawResource;
+import com.rishabh.fiveday.integration.service.RawResponse;
+import com.rishabh.fiveday.integration.sync.ChangeFeedService;
+import com.rishabh.fiveday.integration.sync.DeltaSyncService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/api/git")
@@ -30,37 +54,238 @@ public class GitController {
 	
 //    private final GitService gitService;
     private final GitServiceFactory gitServiceFactory;
+    private final DeltaSyncService deltaSyncService;
+    private final ChangeFeedService changeFeedService;
+    
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 30;
     
     @GetMapping("/repositories")
-    public ResponseEntity<List<RepositoryDTO>> getRepositories() {
-        return ResponseEntity.ok(getGitService().getRepositories());
+    public ResponseEntity<List<RepositoryDTO>> getRepositories(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "page_size", required = false) Integer pageSize) {
+        if (cursor != null || pageSize != null) {
+            return page(getGitService().getRepositoryPage(pageCursor(cursor, pageSize)), EntityTags::version);
+        }
+        List<RepositoryDTO> repositories = getGitService().getRepositories();
+        return EntityTags.ok(repositories, EntityTags.ofAll(repositories, EntityTags::version), EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    @RequestDeadline(millis = 0)
+    public Flux<Object> streamRepositories(@RequestParam(required = false) String fields) {
+        return FieldProjectionAdvice.project(getGitService().streamRepositories(), fields);
     }
     
     @GetMapping("/repositories/{repositoryId}")
     public ResponseEntity<RepositoryDTO> getRepository(@PathVariable String repositoryId) {
         return getGitService().getRepository(repositoryId)
-                .map(ResponseEntity::ok)
+                .map(repository -> EntityTags.ok(repository, EntityTags.of(repository, EntityTags::version), EntityTags.REVALIDATE))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/repositories/{repositoryId}/branches")
-    public ResponseEntity<List<BranchDTO>> getBranches(@PathVariable String repositoryId) {
-        return ResponseEntity.ok(getGitService().getBranches(repositoryId));
+    public ResponseEntity<List<BranchDTO>> getBranches(
+            @PathVariable String repositoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "page_size", required = false) Integer pageSize) {
+        if (cursor != null || pageSize != null) {
+            return page(getGitService().getBranchPage(repositoryId, pageCursor(cursor, pageSize)), EntityTags::version);
+        }
+        List<BranchDTO> branches = getGitService().getBranches(repositoryId);
+        return EntityTags.ok(branches, EntityTags.ofAll(branches, EntityTags::version), EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/branches", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    @RequestDeadline(millis = 0)
+    public Flux<Object> streamBranches(
+            @PathVariable String repositoryId,
+            @RequestParam(required = false) String fields) {
+        return FieldProjectionAdvice.project(getGitService().streamBranches(repositoryId), fields);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/branches", params = "since")
+    public ResponseEntity<DeltaDTO<BranchDTO>> getBranchChanges(
+            @PathVariable String repositoryId,
+            @RequestParam(required = false) Instant since) {
+        return ResponseEntity.ok(deltaSyncService.getBranchChanges(repositoryId, since));
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChangeEventDTO>> streamChanges(
+            @PathVariable String repositoryId,
+            @RequestParam(required = false) String provider) {
+        String feedProvider = provider != null ? provider : getGitService().getProviderName();
+        return EventStreams.of(changeFeedService.subscribe(feedProvider, repositoryId), changeFeedService.getHeartbeatInterval());
+    }
+    
+    @GetMapping("/repositories/{repositoryId}/branches/{branchName}")
+    public ResponseEntity<BranchDTO> getBranch(
+            @PathVariable String repositoryId,
+            @PathVariable String branchName) {
+        return getGitService().getBranch(repositoryId, branchName)
+                .map(branch -> EntityTags.ok(branch, EntityTags.of(branch, EntityTags::version), EntityTags.REVALIDATE))
+                .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/repositories/{repositoryId}/commits")
     public ResponseEntity<List<CommitDTO>> getCommits(
             @PathVariable String repositoryId,
             @RequestParam(required = false) String branch,
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(getGitService().getCommits(repositoryId, branch, limit));
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "page_size", required = false) Integer pageSize) {
+        if (cursor != null || pageSize != null) {
+            return page(getGitService().getCommitPage(repositoryId, branch, pageCursor(cursor, pageSize)), EntityTags::version);
+        }
+        List<CommitDTO> commits = getGitService().getCommits(repositoryId, branch, limit);
+        return EntityTags.ok(commits, EntityTags.ofAll(commits, EntityTags::version), EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/commits", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    @RequestDeadline(millis = 0)
+    public Flux<Object> streamCommits(
+            @PathVariable String repositoryId,
+            @RequestParam(required = false) String branch,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields) {
+        return FieldProjectionAdvice.project(getGitService().streamCommits(repositoryId, branch, limit), fields);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/commits", params = "since")
+    public ResponseEntity<DeltaDTO<CommitDTO>> getCommitChanges(
+            @PathVariable String repositoryId,
+            @RequestParam(required = false) String branch,
+            @RequestParam Instant since) {
+        return ResponseEntity.ok(deltaSyncService.getCommitChanges(repositoryId, branch, since));
+    }
+    
+    @GetMapping("/repositories/{repositoryId}/commits/{commitId}")
+    public ResponseEntity<CommitDTO> getCommit(
+            @PathVariable String repositoryId,
+            @PathVariable String commitId) {
+        // Only a commit addressed by full SHA is immutable; a branch name or short SHA may resolve differently later
+        CacheControl cacheControl = ImmutableObjectCache.isFullSha(commitId) ? EntityTags.IMMUTABLE : EntityTags.REVALIDATE;
+        return getGitService().getCommit(repositoryId, commitId)
+                .map(commit -> EntityTags.ok(commit, EntityTags.of(commit, EntityTags::version), cacheControl))
+                .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/repositories/{repositoryId}/pulls")
     public ResponseEntity<List<PullRequestDTO>> getPullRequests(
             @PathVariable String repositoryId,
-            @RequestParam(defaultValue = "open") String state) {
-        return ResponseEntity.ok(getGitService().getPullRequests(repositoryId, state));
+            @RequestParam(defaultValue = "open") String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "page_size", required = false) Integer pageSize) {
+        if (cursor != null || pageSize != null) {
+            return page(getGitService().getPullRequestPage(repositoryId, state, pageCursor(cursor, pageSize)), EntityTags::version);
+        }
+        List<PullRequestDTO> pullRequests = getGitService().getPullRequests(repositoryId, state);
+        return EntityTags.ok(pullRequests, EntityTags.ofAll(pullRequests, EntityTags::version), EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/pulls", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    @RequestDeadline(millis = 0)
+    public Flux<Object> streamPullRequests(
+            @PathVariable String repositoryId,
+            @RequestParam(defaultValue = "open") String state,
+            @RequestParam(required = false) String fields) {
+        return FieldProjectionAdvice.project(getGitService().streamPullRequests(repositoryId, state), fields);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/pulls", params = "since")
+    public ResponseEntity<DeltaDTO<PullRequestDTO>> getPullRequestChanges(
+            @PathVariable String repositoryId,
+            @RequestParam Instant since) {
+        return ResponseEntity.ok(deltaSyncService.getPullRequestChanges(repositoryId, since));
+    }
+    
+    @GetMapping("/repositories/{repositoryId}/pulls/{pullRequestId}")
+    public ResponseEntity<PullRequestDTO> getPullRequest(
+            @PathVariable String repositoryId,
+            @PathVariable String pullRequestId) {
+        return getGitService().getPullRequest(repositoryId, pullRequestId)
+                .map(pullRequest -> EntityTags.ok(pullRequest, EntityTags.of(pullRequest, EntityTags::version), EntityTags.REVALIDATE))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Provider-native JSON (raw=true): the upstream body is relayed without being decoded or mapped
+    
+    @GetMapping(value = "/repositories", params = "raw=true")
+    public ResponseEntity<StreamingResponseBody> getRawRepositories(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(name = "per_page", defaultValue = "30") int perPage,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return passthrough(new RawRequest(RawResource.REPOSITORIES, null, null, null, null, page, perPage, ifNoneMatch),
+                EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}", params = "raw=true")
+    public ResponseEntity<StreamingResponseBody> getRawRepository(
+            @PathVariable String repositoryId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return passthrough(new RawRequest(RawResource.REPOSITORY, repositoryId, null, null, null, 1, 1, ifNoneMatch),
+                EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/branches", params = "raw=true")
+    public ResponseEntity<StreamingResponseBody> getRawBranches(
+            @PathVariable String repositoryId,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(name = "per_page", defaultValue = "30") int perPage,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return passthrough(new RawRequest(RawResource.BRANCHES, repositoryId, null, null, null, page, perPage, ifNoneMatch),
+                EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/branches/{branchName}", params = "raw=true")
+    public ResponseEntity<StreamingResponseBody> getRawBranch(
+            @PathVariable String repositoryId,
+            @PathVariable String branchName,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return passthrough(new RawRequest(RawResource.BRANCH, repositoryId, branchName, null, null, 1, 1, ifNoneMatch),
+                EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/commits", params = "raw=true")
+    public ResponseEntity<StreamingResponseBody> getRawCommits(
+            @PathVariable String repositoryId,
+            @RequestParam(required = false) String branch,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return passthrough(new RawRequest(RawResource.COMMITS, repositoryId, null, branch, null, page, limit, ifNoneMatch),
+                EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/commits/{commitId}", params = "raw=true")
+    public ResponseEntity<StreamingResponseBody> getRawCommit(
+            @PathVariable String repositoryId,
+            @PathVariable String commitId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CacheControl cacheControl = ImmutableObjectCache.isFullSha(commitId) ? EntityTags.IMMUTABLE : EntityTags.REVALIDATE;
+        return passthrough(new RawRequest(RawResource.COMMIT, repositoryId, commitId, null, null, 1, 1, ifNoneMatch),
+                cacheControl);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/pulls", params = "raw=true")
+    public ResponseEntity<StreamingResponseBody> getRawPullRequests(
+            @PathVariable String repositoryId,
+            @RequestParam(defaultValue = "open") String state,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(name = "per_page", defaultValue = "30") int perPage,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return passthrough(new RawRequest(RawResource.PULL_REQUESTS, repositoryId, null, null, state, page, perPage, ifNoneMatch),
+                EntityTags.REVALIDATE);
+    }
+    
+    @GetMapping(value = "/repositories/{repositoryId}/pulls/{pullRequestId}", params = "raw=true")
+    public ResponseEntity<StreamingResponseBody> getRawPullRequest(
+            @PathVariable String repositoryId,
+            @PathVariable String pullRequestId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return passthrough(new RawRequest(RawResource.PULL_REQUEST, repositoryId, pullRequestId, null, null, 1, 1, ifNoneMatch),
+                EntityTags.REVALIDATE);
     }
     
     @PostMapping("/repositories/{repositoryId}/branches")
@@ -80,6 +305,7 @@ public class GitController {
     }
     
     @PostMapping("/repositories/{repositoryId}/commits")
+    @RequestDeadline(millis = 60000)
     public ResponseEntity<CommitDTO> createCommit(
             @PathVariable String repositoryId,
             @RequestParam String branch,
@@ -114,6 +340,57 @@ public class GitController {
         return merged ? ResponseEntity.ok().build() : ResponseEntity.badRequest().build();
     }
     
+    private static PageCursor pageCursor(String cursor, Integer pageSize) {
+        return PageCursor.of(cursor, pageSize != null ? pageSize : DEFAULT_PAGE_SIZE);
+    }
+    
+    /**
+     * Serve one page of a listing; the opaque cursor of the following page is sent in the
+     * X-Next-Cursor header and as a Link to this API
+     */
+    private <T> ResponseEntity<List<T>> page(CursorPage<T> page, Function<T, String> version) {
+        List<String> versions = new ArrayList<>(page.items().size() + 1);
+        for (T item : page.items()) {
+            versions.add(version.apply(item));
+        }
+        versions.add(String.valueOf(page.nextCursor()));
+        ResponseEntity.BodyBuilder builder = EntityTags.builder(EntityTags.ofAll(versions, Function.identity()), EntityTags.REVALIDATE);
+        if (page.nextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .replaceQueryParam("page_size")
+                    .toUriString();
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor())
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return builder.body(page.items());
+    }
+    
+    /**
+     * Relay an upstream response: status, entity tag and a Link to the next page of this API are
+     * kept, and the body buffers are copied to the client as they arrive
+     */
+    private ResponseEntity<StreamingResponseBody> passthrough(RawRequest request, CacheControl cacheControl) {
+        RawResponse response = getGitService().getRaw(request);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.status()).cacheControl(cacheControl);
+        if (response.etag() != null) {
+            builder.eTag(response.etag());
+        }
+        if (response.nextPage() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page", response.nextPage())
+                    .toUriString();
+            builder.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        if (response.status().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> DataBufferUtils.write(response.body(), outputStream)
+                        .doOnNext(DataBufferUtils::release)
+                        .blockLast());
+    }
+    
 	private GitService getGitService() {
 		return gitServiceFactory.getService();
 	}
@@ -0,0 +1,42 @@
+package com.rishabh.fiveday.integration.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rishabh.fiveday.integration.dto.BranchComparisonDTO;
+import com.rishabh.fiveday.integration.dto.StaleBranchDTO;
+import com.rishabh.fiveday.integration.graph.CommitGraphService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/git/repositories/{repositoryId}/graph")
+@RequiredArgsConstructor
+public class GraphController {
+
+    private final CommitGraphService commitGraphService;
+
+    @GetMapping("/compare")
+    public ResponseEntity<BranchComparisonDTO> compare(
+            @PathVariable String repositoryId,
+            @RequestParam String base,
+            @RequestParam String head,
+            @RequestParam(required = false) String provider) {
+        return ResponseEntity.ok(commitGraphService.compare(provider, repositoryId, base, head));
+    }
+
+    @GetMapping("/stale-branches")
+    public ResponseEntity<List<StaleBranchDTO>> getStaleBranches(
+            @PathVariable String repositoryId,
+            @RequestParam(required = false) String base,
+            @RequestParam(defaultValue = "90") int days,
+            @RequestParam(required = false) String provider) {
+        return ResponseEntity.ok(commitGraphService.getStaleBranches(provider, repositoryId, base, days));
+    }
+}
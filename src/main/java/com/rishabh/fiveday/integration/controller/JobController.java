@@ -0,0 +1,105 @@
+package com.rishabh.fiveday.integration.controller;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rishabh.fiveday.integration.bulk.BulkOperationService;
+import com.rishabh.fiveday.integration.config.GitServiceFactory;
+import com.rishabh.fiveday.integration.dto.BulkBranchTargetDTO;
+import com.rishabh.fiveday.integration.dto.BulkPullRequestTargetDTO;
+import com.rishabh.fiveday.integration.dto.JobDTO;
+import com.rishabh.fiveday.integration.job.JobService;
+import com.rishabh.fiveday.integration.service.GitService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobService jobService;
+    private final GitServiceFactory gitServiceFactory;
+    private final BulkOperationService bulkOperationService;
+
+    @PostMapping("/repositories/{repositoryId}/commits")
+    public ResponseEntity<JobDTO> createCommit(
+            @PathVariable String repositoryId,
+            @RequestParam String branch,
+            @RequestParam String message,
+            @RequestParam(required = false) String provider,
+            @RequestBody Map<String, String> files) {
+        GitService service = getGitService(provider);
+        return accepted(jobService.submit("create-commit", service.getProviderName(), repositoryId,
+                () -> service.createCommit(repositoryId, branch, message, files)));
+    }
+
+    @PostMapping("/repositories/{repositoryId}/branches")
+    public ResponseEntity<JobDTO> createBranch(
+            @PathVariable String repositoryId,
+            @RequestParam String branchName,
+            @RequestParam String sourceBranch,
+            @RequestParam(required = false) String provider) {
+        GitService service = getGitService(provider);
+        return accepted(jobService.submit("create-branch", service.getProviderName(), repositoryId,
+                () -> service.createBranch(repositoryId, branchName, sourceBranch)));
+    }
+
+    @PostMapping("/repositories/{repositoryId}/pulls/{pullRequestId}/merge")
+    public ResponseEntity<JobDTO> mergePullRequest(
+            @PathVariable String repositoryId,
+            @PathVariable String pullRequestId,
+            @RequestParam(required = false) String provider) {
+        GitService service = getGitService(provider);
+        return accepted(jobService.submit("merge-pull-request", service.getProviderName(), repositoryId,
+                () -> service.mergePullRequest(repositoryId, pullRequestId)));
+    }
+
+    @PostMapping("/bulk/branches/delete")
+    public ResponseEntity<JobDTO> deleteBranches(@RequestBody List<BulkBranchTargetDTO> targets) {
+        return accepted(jobService.submit("bulk-delete-branches", null, null,
+                () -> bulkOperationService.deleteBranches(targets)));
+    }
+
+    @PostMapping("/bulk/pulls/update")
+    public ResponseEntity<JobDTO> updatePullRequests(@RequestBody List<BulkPullRequestTargetDTO> targets) {
+        return accepted(jobService.submit("bulk-update-pull-requests", null, null,
+                () -> bulkOperationService.updatePullRequests(targets)));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<JobDTO> getJob(@PathVariable String jobId) {
+        return jobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{jobId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<JobDTO>> streamJob(@PathVariable String jobId) {
+        return jobService.streamJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<JobDTO> accepted(JobDTO job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    private GitService getGitService(String provider) {
+        return provider != null ? gitServiceFactory.getService(provider) : gitServiceFactory.getService();
+    }
+}
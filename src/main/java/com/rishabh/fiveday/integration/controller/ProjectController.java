@@ -0,0 +1,46 @@
+package com.rishabh.fiveday.integration.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rishabh.fiveday.integration.binding.ProjectQueryService;
+import com.rishabh.fiveday.integration.dto.AggregateResultDTO;
+import com.rishabh.fiveday.integration.dto.ChangeEventDTO;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.dto.PullRequestDTO;
+import com.rishabh.fiveday.integration.sync.ChangeFeedService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/projects")
+@RequiredArgsConstructor
+public class ProjectController {
+
+    private final ProjectQueryService projectQueryService;
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping("/{projectId}/pulls")
+    public ResponseEntity<AggregateResultDTO<PullRequestDTO>> getPullRequests(
+            @PathVariable String projectId,
+            @RequestParam(defaultValue = "open") String state) {
+        return ResponseEntity.ok(projectQueryService.getPullRequests(projectId, state));
+    }
+
+    @GetMapping("/{projectId}/commits/latest")
+    public ResponseEntity<AggregateResultDTO<CommitDTO>> getLatestCommits(@PathVariable String projectId) {
+        return ResponseEntity.ok(projectQueryService.getLatestCommits(projectId));
+    }
+
+    @GetMapping(value = "/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChangeEventDTO>> streamChanges(@PathVariable String projectId) {
+        return EventStreams.of(changeFeedService.subscribeProject(projectId), changeFeedService.getHeartbeatInterval());
+    }
+}
@@ -0,0 +1,34 @@
+package com.rishabh.fiveday.integration.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rishabh.fiveday.integration.dto.TokenUsageDTO;
+import com.rishabh.fiveday.integration.dto.UpstreamLaneStatsDTO;
+import com.rishabh.fiveday.integration.upstream.TokenPool;
+import com.rishabh.fiveday.integration.upstream.UpstreamScheduler;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/upstream")
+@RequiredArgsConstructor
+public class UpstreamController {
+
+    private final TokenPool tokenPool;
+    private final UpstreamScheduler upstreamScheduler;
+
+    @GetMapping("/tokens")
+    public ResponseEntity<List<TokenUsageDTO>> getTokenUsage() {
+        return ResponseEntity.ok(tokenPool.getUsage());
+    }
+
+    @GetMapping("/scheduler")
+    public ResponseEntity<List<UpstreamLaneStatsDTO>> getSchedulerStats() {
+        return ResponseEntity.ok(upstreamScheduler.getStats());
+    }
+}
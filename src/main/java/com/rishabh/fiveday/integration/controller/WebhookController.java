@@ -0,0 +1,38 @@
+package com.rishabh.fiveday.integration.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rishabh.fiveday.integration.webhook.WebhookService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+public class WebhookController {
+
+    private final WebhookService webhookService;
+
+    @PostMapping("/github")
+    public ResponseEntity<Void> handleGitHub(
+            @RequestHeader("X-GitHub-Event") String eventType,
+            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+            @RequestBody byte[] payload) {
+        webhookService.handleGitHub(eventType, signature, payload);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/gitlab")
+    public ResponseEntity<Void> handleGitLab(
+            @RequestHeader("X-Gitlab-Event") String eventType,
+            @RequestHeader(value = "X-Gitlab-Token", required = false) String token,
+            @RequestBody byte[] payload) {
+        webhookService.handleGitLab(eventType, token, payload);
+        return ResponseEntity.accepted().build();
+    }
+}
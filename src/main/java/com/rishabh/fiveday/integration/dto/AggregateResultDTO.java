@@ -0,0 +1,25 @@
+package com.rishabh.fiveday.integration.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for results merged across all repositories bound to a project.
+ * Repositories that could not be queried are listed in {@code errors}
+ * while the results of all other repositories are still returned.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregateResultDTO<T> {
+    private String projectId;
+    private int repositoryCount;
+    private List<T> items;
+    private List<RepositoryErrorDTO> errors;
+    private boolean complete;
+}
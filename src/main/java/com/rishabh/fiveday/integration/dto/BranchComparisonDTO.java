@@ -0,0 +1,28 @@
+package com.rishabh.fiveday.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the ancestry relation between two branches or commits.
+ * {@code complete} is false when the answer may change once more history is fetched;
+ * {@code mergedIntoBase} is only true when the answer is complete.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchComparisonDTO {
+    private String repositoryId;
+    private String base;
+    private String head;
+    private String baseSha;
+    private String headSha;
+    private String mergeBaseSha;
+    private int ahead;
+    private int behind;
+    private boolean mergedIntoBase;
+    private boolean complete;
+}
@@ -0,0 +1,19 @@
+package com.rishabh.fiveday.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO identifying a branch targeted by a bulk operation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBranchTargetDTO {
+    private String provider;
+    private String repositoryId;
+    private String branchName;
+}
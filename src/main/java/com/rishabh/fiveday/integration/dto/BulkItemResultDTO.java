@@ -0,0 +1,22 @@
+package com.rishabh.fiveday.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of a single item within a bulk operation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDTO {
+    private int index;
+    private String provider;
+    private String repositoryId;
+    private String target;
+    private boolean success;
+    private String message;
+}
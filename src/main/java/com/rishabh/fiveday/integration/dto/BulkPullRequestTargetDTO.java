@@ -0,0 +1,20 @@
+package com.rishabh.fiveday.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO identifying a pull/merge request targeted by a bulk operation and its requested state
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPullRequestTargetDTO {
+    private String provider;
+    private String repositoryId;
+    private String pullRequestId;
+    private String state;
+}
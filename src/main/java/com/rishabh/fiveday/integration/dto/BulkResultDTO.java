@@ -0,0 +1,22 @@
+package com.rishabh.fiveday.integration.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the per-item results of a bulk operation, in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDTO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResultDTO> results;
+}
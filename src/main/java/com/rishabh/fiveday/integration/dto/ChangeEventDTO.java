@@ -0,0 +1,26 @@
+package com.rishabh.fiveday.integration.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a change detected by the change feed.
+ * {@code data} holds the changed branch, commit or pull request; for a deleted branch it holds
+ * the branch name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDTO {
+    private String type;
+    private String provider;
+    private String repositoryId;
+    private String branch;
+    private Object data;
+    private LocalDateTime detectedAt;
+}
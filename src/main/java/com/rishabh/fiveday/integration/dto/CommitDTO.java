@@ -1,17 +1,21 @@
 package com.rishabh.fiveday.integration.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * DTO for Git commits
  */
 @Data
 @Builder
+@JsonFilter("fields")
 @NoArgsConstructor
 @AllArgsConstructor
 public class CommitDTO {
@@ -22,4 +26,5 @@ public class CommitDTO {
     private LocalDateTime timestamp;
     private String url;
     private String repositoryId;
+    private List<String> parentShas;
 }
\ No newline at end of file
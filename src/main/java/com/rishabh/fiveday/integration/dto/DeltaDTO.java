@@ -0,0 +1,27 @@
+package com.rishabh.fiveday.integration.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the changes of a repository since a client-supplied watermark.
+ * {@code deleted} holds tombstones, the identifiers of objects deleted since the watermark.
+ * If the watermark is too old for a delta, {@code reset} is set and {@code changed} holds every
+ * current object, which replaces the client's copy. The returned {@code watermark} is passed as
+ * {@code since} of the next request; objects changed exactly at a watermark may be returned twice.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeltaDTO<T> {
+    private String repositoryId;
+    private List<T> changed;
+    private List<String> deleted;
+    private String watermark;
+    private boolean reset;
+}
@@ -0,0 +1,28 @@
+package com.rishabh.fiveday.integration.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the state of an asynchronous job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDTO {
+    private String id;
+    private String type;
+    private String provider;
+    private String repositoryId;
+    private String status;
+    private Object result;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
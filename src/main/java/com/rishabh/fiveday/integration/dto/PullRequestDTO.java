@@ -1,5 +1,7 @@
 package com.rishabh.fiveday.integration.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +14,7 @@ import java.time.LocalDateTime;
  */
 @Data
 @Builder
+@JsonFilter("fields")
 @NoArgsConstructor
 @AllArgsConstructor
 public class PullRequestDTO {
@@ -1,5 +1,7 @@
 package com.rishabh.fiveday.integration.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +12,7 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @Builder
+@JsonFilter("fields")
 @NoArgsConstructor
 @AllArgsConstructor
 public class RepositoryDTO {
@@ -0,0 +1,20 @@
+package com.rishabh.fiveday.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing why a single repository failed within a multi-repository request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositoryErrorDTO {
+    private String bindingId;
+    private String repositoryId;
+    private String provider;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.rishabh.fiveday.integration.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a branch whose tip has not moved for a while.
+ * {@code mergedIntoBase} is only true when the walk saw the complete relevant history.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaleBranchDTO {
+    private String name;
+    private String commitSha;
+    private LocalDateTime lastCommitAt;
+    private boolean mergedIntoBase;
+    private boolean complete;
+    private String repositoryId;
+}
@@ -0,0 +1,30 @@
+package com.rishabh.fiveday.integration.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the usage of one pooled upstream token
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenUsageDTO {
+    private String provider;
+    /**
+     * Short SHA-256 fingerprint of the token; the token itself is never reported
+     */
+    private String fingerprint;
+    private boolean quarantined;
+    private Instant quarantinedUntil;
+    private Long remaining;
+    private Long limit;
+    private Instant resetAt;
+    private long requests;
+    private long failures;
+}
@@ -0,0 +1,27 @@
+package com.rishabh.fiveday.integration.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the state of one provider's priority lane in the upstream call scheduler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpstreamLaneStatsDTO {
+    private String provider;
+    private String lane;
+    private int inFlight;
+    private int queued;
+    private Map<String, Integer> queuedByTenant;
+    private long dispatched;
+    private double averageWaitMillis;
+    private double p99WaitMillis;
+    private double maxWaitMillis;
+}
@@ -0,0 +1,12 @@
+package com.rishabh.fiveday.integration.exception;
+
+/**
+ * Exception for upstream calls refused or cut short because the request's deadline has passed.
+ * The caller has typically given up already, so it carries no stack trace.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,15 +1,17 @@
 package com.rishabh.fiveday.integration.exception;
 
 /**
- * Custom exception for Git API related errors
+ * Custom exception for Git API related errors.
+ * Its message is what the client sees and a wrapped cause keeps its own trace, so it carries no
+ * stack trace of its own.
  */
 public class GitApiException extends RuntimeException {
     
     public GitApiException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public GitApiException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,16 @@
 package com.rishabh.fiveday.integration.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.rishabh.fiveday.integration.dto.ErrorResponseDTO;
+
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Global exception handler for the API
@@ -22,14 +24,45 @@ public class GlobalExceptionHandler {
      * @return error response
      */
     @ExceptionHandler(GitApiException.class)
-    public ResponseEntity<Map<String, Object>> handleGitApiException(GitApiException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now().toString());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
-        body.put("message", ex.getMessage());
-        
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ErrorResponseDTO> handleGitApiException(GitApiException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException deadlineExceeded) {
+                return handleDeadlineExceededException(deadlineExceeded);
+            }
+        }
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
+    }
+    
+    /**
+     * Handle DeadlineExceededException
+     * @param ex the exception
+     * @return error response
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDeadlineExceededException(DeadlineExceededException ex) {
+        return error(HttpStatus.GATEWAY_TIMEOUT, "Gateway Timeout", ex.getMessage());
+    }
+    
+    /**
+     * Handle TooManyRequestsException
+     * @param ex the exception
+     * @return error response telling the client when to retry
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTooManyRequestsException(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", ex.getMessage()));
+    }
+    
+    /**
+     * Handle WebhookAuthenticationException
+     * @param ex the exception
+     * @return error response
+     */
+    @ExceptionHandler(WebhookAuthenticationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleWebhookAuthenticationException(WebhookAuthenticationException ex) {
+        return error(HttpStatus.UNAUTHORIZED, "Unauthorized", ex.getMessage());
     }
     
     /**
@@ -38,14 +71,8 @@ public class GlobalExceptionHandler {
      * @return error response
      */
     @ExceptionHandler(WebClientResponseException.class)
-    public ResponseEntity<Map<String, Object>> handleWebClientResponseException(WebClientResponseException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now().toString());
-        body.put("status", ex.getStatusCode().value());
-        body.put("error", ex.getStatusText());
-        body.put("message", "Error from Git provider API: " + ex.getMessage());
-        
-        return new ResponseEntity<>(body, ex.getStatusCode());
+    public ResponseEntity<ErrorResponseDTO> handleWebClientResponseException(WebClientResponseException ex) {
+        return error(ex.getStatusCode(), ex.getStatusText(), "Error from Git provider API: " + ex.getMessage());
     }
     
     /**
@@ -54,13 +81,20 @@ public class GlobalExceptionHandler {
      * @return error response
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGeneralException(Exception ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now().toString());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", "Internal Server Error");
-        body.put("message", ex.getMessage());
-        
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<ErrorResponseDTO> handleGeneralException(Exception ex) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage());
+    }
+    
+    private static ResponseEntity<ErrorResponseDTO> error(HttpStatusCode status, String error, String message) {
+        return new ResponseEntity<>(body(status, error, message), status);
+    }
+    
+    private static ErrorResponseDTO body(HttpStatusCode status, String error, String message) {
+        return ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.rishabh.fiveday.integration.exception;
+
+/**
+ * Exception for requests rejected because the API is saturated.
+ * Thrown on the load-shedding path, so it carries no stack trace.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
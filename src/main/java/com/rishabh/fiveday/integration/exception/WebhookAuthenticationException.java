@@ -0,0 +1,12 @@
+package com.rishabh.fiveday.integration.exception;
+
+/**
+ * Exception for webhook deliveries that cannot be authenticated.
+ * Thrown for unsigned or forged deliveries and when no secret is configured to check them against.
+ */
+public class WebhookAuthenticationException extends RuntimeException {
+
+    public WebhookAuthenticationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,525 @@
+package com.rishabh.fiveday.integration.graph;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory commit graph of one repository, built incrementally from fetched history.
+ * Commits are numbered by ordinal; SHAs, timestamps, parent links and generation numbers live
+ * in primitive arrays indexed by that ordinal. A commit referenced as a parent but not fetched
+ * yet is a boundary commit: walks that reach one report that their answer may be incomplete.
+ * Generation numbers (1 + the highest parent generation) let walks stop early, because a commit
+ * can only be an ancestor of commits with a higher generation. Not thread-safe; callers synchronize.
+ */
+final class CommitGraph {
+
+    static final int NONE = -1;
+
+    private static final int SHA_BYTES = 20;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final int NOT_LOADED = -1;
+
+    private static final int HEAD = 1;
+    private static final int BASE = 2;
+    private static final int STALE = 4;
+    private static final int VISITED = 8;
+    private static final int QUEUED = 16;
+    private static final int FLAG_BITS = 5;
+
+    private int size;
+    private byte[] shas;
+    private long[] timestamps;
+    private int[] parentOffsets;
+    private int[] parentCounts;
+    private int[] generations;
+    private int[] parentPool;
+    private int poolSize;
+    private int[] slots;
+    private int mask;
+    private boolean generationsStale;
+
+    /**
+     * Per-walk flags, valid only while the stored epoch matches the current one
+     */
+    private int[] marks;
+    private int epoch;
+    private final IntMaxHeap queue = new IntMaxHeap();
+    /**
+     * Number of queued commits not marked {@link #STALE}, maintained by {@link #compare}
+     */
+    private int nonStale;
+
+    CommitGraph() {
+        int capacity = 1024;
+        this.shas = new byte[capacity * SHA_BYTES];
+        this.timestamps = new long[capacity];
+        this.parentOffsets = new int[capacity];
+        this.parentCounts = new int[capacity];
+        this.generations = new int[capacity];
+        this.marks = new int[capacity];
+        this.parentPool = new int[capacity * 2];
+        this.slots = new int[capacity * 2];
+        this.mask = slots.length - 1;
+    }
+
+    /**
+     * Add a commit and its parent links. Adding a commit that is already loaded is a no-op.
+     * @param sha full SHA-1 of the commit
+     * @param epochSecond commit timestamp in epoch seconds, or null if unknown
+     * @param parentShas parent SHAs, empty for a root commit
+     * @return the commit ordinal, or {@link #NONE} if a SHA is not a full SHA-1
+     */
+    int add(String sha, Long epochSecond, List<String> parentShas) {
+        byte[] packed = pack(sha);
+        if (packed == null) {
+            return NONE;
+        }
+        int[] parents = new int[parentShas.size()];
+        for (int i = 0; i < parents.length; i++) {
+            byte[] parent = pack(parentShas.get(i));
+            if (parent == null) {
+                return NONE;
+            }
+            parents[i] = ensure(parent);
+        }
+
+        int existing = find(packed);
+        if (existing != NONE && parentOffsets[existing] != NOT_LOADED) {
+            return existing;
+        }
+        int commit = existing != NONE ? existing : ensure(packed);
+
+        if (poolSize + parents.length > parentPool.length) {
+            parentPool = Arrays.copyOf(parentPool, Math.max(parentPool.length * 2, poolSize + parents.length));
+        }
+        System.arraycopy(parents, 0, parentPool, poolSize, parents.length);
+        parentOffsets[commit] = poolSize;
+        parentCounts[commit] = parents.length;
+        poolSize += parents.length;
+        timestamps[commit] = epochSecond != null ? epochSecond : NO_TIMESTAMP;
+
+        if (existing != NONE) {
+            // Backfilling history below existing commits shifts the generations above it
+            generationsStale = true;
+        } else if (!generationsStale) {
+            generations[commit] = generationFromParents(commit);
+        }
+        return commit;
+    }
+
+    /**
+     * Look up the ordinal of a commit
+     * @param sha full commit SHA
+     * @return the ordinal, or {@link #NONE} if the commit is unknown
+     */
+    int ordinal(String sha) {
+        byte[] packed = pack(sha);
+        return packed != null ? find(packed) : NONE;
+    }
+
+    /**
+     * Check whether a commit and its parent links have been fetched
+     * @param sha full commit SHA
+     * @return true if the commit is loaded
+     */
+    boolean isLoaded(String sha) {
+        int commit = ordinal(sha);
+        return commit != NONE && parentOffsets[commit] != NOT_LOADED;
+    }
+
+    boolean isLoaded(int commit) {
+        return parentOffsets[commit] != NOT_LOADED;
+    }
+
+    /**
+     * Get the timestamp of a loaded commit
+     * @param commit commit ordinal
+     * @return epoch seconds, or null if unknown
+     */
+    Long timestamp(int commit) {
+        return isLoaded(commit) && timestamps[commit] != NO_TIMESTAMP ? timestamps[commit] : null;
+    }
+
+    String sha(int commit) {
+        char[] hex = new char[SHA_BYTES * 2];
+        int offset = commit * SHA_BYTES;
+        for (int i = 0; i < SHA_BYTES; i++) {
+            int b = shas[offset + i] & 0xFF;
+            hex[i * 2] = Character.forDigit(b >>> 4, 16);
+            hex[i * 2 + 1] = Character.forDigit(b & 0xF, 16);
+        }
+        return new String(hex);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Estimate the memory held by the graph
+     * @return estimated bytes
+     */
+    long estimatedBytes() {
+        return shas.length + timestamps.length * 8L
+                + (parentOffsets.length + parentCounts.length + generations.length + marks.length) * 4L
+                + parentPool.length * 4L + slots.length * 4L;
+    }
+
+    /**
+     * Check whether one commit is reachable from another
+     * @param ancestor candidate ancestor ordinal
+     * @param descendant candidate descendant ordinal
+     * @return the answer and whether the walk saw the complete relevant history
+     */
+    Ancestry isAncestor(int ancestor, int descendant) {
+        if (ancestor == descendant) {
+            return new Ancestry(true, true);
+        }
+        updateGenerations();
+        int floor = generations[ancestor];
+        boolean complete = true;
+
+        startWalk();
+        queue.push(descendant, generations[descendant]);
+        mark(descendant, VISITED);
+        while (!queue.isEmpty()) {
+            int commit = queue.pop();
+            if (!isLoaded(commit)) {
+                complete = false;
+                continue;
+            }
+            for (int i = 0, offset = parentOffsets[commit]; i < parentCounts[commit]; i++) {
+                int parent = parentPool[offset + i];
+                if (parent == ancestor) {
+                    return new Ancestry(true, true);
+                }
+                if (!isLoaded(parent)) {
+                    complete = false;
+                    continue;
+                }
+                // Only commits with a higher generation can have the ancestor below them
+                if (generations[parent] > floor && (flags(parent) & VISITED) == 0) {
+                    mark(parent, VISITED);
+                    queue.push(parent, generations[parent]);
+                }
+            }
+        }
+        return new Ancestry(false, complete);
+    }
+
+    /**
+     * Compare two commits: find their best merge base and count the commits reachable from only one of them.
+     * Walks both histories in descending generation order and stops as soon as every commit left
+     * to visit is a common ancestor. Each commit is queued at most once, and the number of queued
+     * commits that are not common ancestors is counted as they are queued, painted and popped.
+     * @param head head ordinal
+     * @param base base ordinal
+     * @return merge base, ahead/behind counts and whether the walk saw the complete relevant history
+     */
+    Comparison compare(int head, int base) {
+        updateGenerations();
+        int mergeBase = NONE;
+        int ahead = 0;
+        int behind = 0;
+        boolean complete = true;
+
+        startWalk();
+        mark(head, HEAD);
+        mark(base, BASE);
+        enqueue(head);
+        enqueue(base);
+
+        while (nonStale > 0) {
+            int commit = dequeue();
+            int flags = flags(commit);
+            if ((flags & VISITED) != 0) {
+                continue;
+            }
+            mark(commit, VISITED);
+
+            int sides = flags & (HEAD | BASE);
+            if (sides == (HEAD | BASE)) {
+                if (mergeBase == NONE) {
+                    mergeBase = commit;
+                }
+                paint(commit, STALE);
+            } else if (sides == HEAD) {
+                ahead++;
+            } else {
+                behind++;
+            }
+
+            if (!isLoaded(commit)) {
+                complete = false;
+                continue;
+            }
+            int propagate = flags(commit) & (HEAD | BASE | STALE);
+            for (int i = 0, offset = parentOffsets[commit]; i < parentCounts[commit]; i++) {
+                int parent = parentPool[offset + i];
+                if ((flags(parent) & propagate) != propagate) {
+                    paint(parent, propagate);
+                    enqueue(parent);
+                }
+            }
+        }
+        queue.clear();
+        return new Comparison(mergeBase, ahead, behind, complete);
+    }
+
+    private void enqueue(int commit) {
+        int flags = flags(commit);
+        if ((flags & QUEUED) == 0) {
+            mark(commit, QUEUED);
+            queue.push(commit, generations[commit]);
+            if ((flags & STALE) == 0) {
+                nonStale++;
+            }
+        }
+    }
+
+    private int dequeue() {
+        int commit = queue.pop();
+        unmark(commit, QUEUED);
+        if ((flags(commit) & STALE) == 0) {
+            nonStale--;
+        }
+        return commit;
+    }
+
+    private void paint(int commit, int flags) {
+        if ((flags & STALE) != 0 && (flags(commit) & (QUEUED | STALE)) == QUEUED) {
+            nonStale--;
+        }
+        mark(commit, flags);
+    }
+
+    private void updateGenerations() {
+        if (!generationsStale) {
+            return;
+        }
+        Arrays.fill(generations, 0, size, 0);
+        int[] stack = new int[64];
+        for (int start = 0; start < size; start++) {
+            if (generations[start] != 0) {
+                continue;
+            }
+            int depth = 0;
+            stack[depth++] = start;
+            while (depth > 0) {
+                int commit = stack[depth - 1];
+                if (generations[commit] != 0) {
+                    depth--;
+                    continue;
+                }
+                boolean ready = true;
+                if (isLoaded(commit)) {
+                    for (int i = 0, offset = parentOffsets[commit]; i < parentCounts[commit]; i++) {
+                        int parent = parentPool[offset + i];
+                        if (generations[parent] == 0) {
+                            if (depth == stack.length) {
+                                stack = Arrays.copyOf(stack, stack.length * 2);
+                            }
+                            stack[depth++] = parent;
+                            ready = false;
+                        }
+                    }
+                }
+                if (ready) {
+                    generations[commit] = generationFromParents(commit);
+                    depth--;
+                }
+            }
+        }
+        generationsStale = false;
+    }
+
+    private int generationFromParents(int commit) {
+        int generation = 0;
+        if (isLoaded(commit)) {
+            for (int i = 0, offset = parentOffsets[commit]; i < parentCounts[commit]; i++) {
+                generation = Math.max(generation, generations[parentPool[offset + i]]);
+            }
+        }
+        return generation + 1;
+    }
+
+    private void startWalk() {
+        queue.clear();
+        nonStale = 0;
+        epoch++;
+        if (epoch >= 1 << (Integer.SIZE - FLAG_BITS - 1)) {
+            Arrays.fill(marks, 0);
+            epoch = 1;
+        }
+    }
+
+    private int flags(int commit) {
+        int value = marks[commit];
+        return value >>> FLAG_BITS == epoch ? value & ((1 << FLAG_BITS) - 1) : 0;
+    }
+
+    private void mark(int commit, int flags) {
+        marks[commit] = (epoch << FLAG_BITS) | flags(commit) | flags;
+    }
+
+    private void unmark(int commit, int flags) {
+        marks[commit] = (epoch << FLAG_BITS) | (flags(commit) & ~flags);
+    }
+
+    private int ensure(byte[] sha) {
+        int existing = find(sha);
+        if (existing != NONE) {
+            return existing;
+        }
+        if (size == timestamps.length) {
+            grow();
+        }
+        int commit = size++;
+        System.arraycopy(sha, 0, shas, commit * SHA_BYTES, SHA_BYTES);
+        timestamps[commit] = NO_TIMESTAMP;
+        parentOffsets[commit] = NOT_LOADED;
+        generations[commit] = 1;
+        insertSlot(commit);
+        return commit;
+    }
+
+    private int find(byte[] sha) {
+        for (int slot = slotOf(sha, 0); slots[slot] != 0; slot = (slot + 1) & mask) {
+            int commit = slots[slot] - 1;
+            if (Arrays.equals(shas, commit * SHA_BYTES, (commit + 1) * SHA_BYTES, sha, 0, SHA_BYTES)) {
+                return commit;
+            }
+        }
+        return NONE;
+    }
+
+    private void insertSlot(int commit) {
+        int slot = slotOf(shas, commit * SHA_BYTES);
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = commit + 1;
+    }
+
+    private int slotOf(byte[] bytes, int offset) {
+        long h = 0;
+        for (int i = 0; i < 8; i++) {
+            h = (h << 8) | (bytes[offset + i] & 0xFF);
+        }
+        h ^= (bytes[offset + SHA_BYTES - 1] & 0xFFL) | (bytes[offset + SHA_BYTES - 2] & 0xFFL) << 8;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private void grow() {
+        int capacity = timestamps.length * 2;
+        shas = Arrays.copyOf(shas, capacity * SHA_BYTES);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        parentOffsets = Arrays.copyOf(parentOffsets, capacity);
+        parentCounts = Arrays.copyOf(parentCounts, capacity);
+        generations = Arrays.copyOf(generations, capacity);
+        marks = Arrays.copyOf(marks, capacity);
+
+        slots = new int[capacity * 2];
+        mask = slots.length - 1;
+        for (int commit = 0; commit < size; commit++) {
+            insertSlot(commit);
+        }
+    }
+
+    private static byte[] pack(String sha) {
+        if (sha == null || sha.length() != SHA_BYTES * 2) {
+            return null;
+        }
+        byte[] packed = new byte[SHA_BYTES];
+        for (int i = 0; i < SHA_BYTES; i++) {
+            int high = Character.digit(sha.charAt(i * 2), 16);
+            int low = Character.digit(sha.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            packed[i] = (byte) ((high << 4) | low);
+        }
+        return packed;
+    }
+
+    /**
+     * Result of an ancestry check
+     */
+    record Ancestry(boolean ancestor, boolean complete) {
+    }
+
+    /**
+     * Result of comparing two commits
+     */
+    record Comparison(int mergeBase, int ahead, int behind, boolean complete) {
+    }
+
+    /**
+     * Binary max-heap of ordinals keyed by generation
+     */
+    private static final class IntMaxHeap {
+
+        private int[] items = new int[64];
+        private int[] keys = new int[64];
+        private int size;
+
+        void push(int item, int key) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] >= key) {
+                    break;
+                }
+                items[i] = items[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            items[i] = item;
+            keys[i] = key;
+        }
+
+        int pop() {
+            int top = items[0];
+            int item = items[--size];
+            int key = keys[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] > keys[child]) {
+                    child++;
+                }
+                if (keys[child] <= key) {
+                    break;
+                }
+                items[i] = items[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            items[i] = item;
+            keys[i] = key;
+            return top;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.rishabh.fiveday.integration.graph;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.rishabh.fiveday.integration.config.GitServiceFactory;
+import com.rishabh.fiveday.integration.dto.BranchComparisonDTO;
+import com.rishabh.fiveday.integration.dto.BranchDTO;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.dto.RepositoryDTO;
+import com.rishabh.fiveday.integration.dto.StaleBranchDTO;
+import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.service.GitService;
+import com.rishabh.fiveday.integration.upstream.TokenPool;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service answering ancestry questions (is a branch merged, merge base, ahead/behind, stale branches)
+ * from a local {@link CommitGraph} per repository instead of repeated provider calls.
+ * Branch tips are always resolved upstream; history is only fetched below tips that are not in the
+ * graph yet and stops once it overlaps with already loaded commits.
+ * Graphs are kept for a bounded number of repositories and within a total memory budget; the least
+ * recently used graph is dropped first and rebuilt from the provider when it is needed again.
+ */
+@Service
+@Slf4j
+public class CommitGraphService {
+
+    private final GitServiceFactory gitServiceFactory;
+    private final TokenPool tokenPool;
+    private final Map<String, CommitGraph> graphs;
+    private final long maxBytes;
+
+    @Value("${git.graph.max-commits-per-load:5000}")
+    private int maxCommitsPerLoad;
+
+    @Value("${git.graph.known-overlap:100}")
+    private int knownOverlap;
+
+    public CommitGraphService(GitServiceFactory gitServiceFactory, TokenPool tokenPool,
+                              @Value("${git.graph.max-repositories:100}") int maxRepositories,
+                              @Value("${git.graph.max-bytes:536870912}") long maxBytes) {
+        this.gitServiceFactory = gitServiceFactory;
+        this.tokenPool = tokenPool;
+        this.maxBytes = maxBytes;
+        // Access-ordered, so the least recently used graph is evicted first; guarded by its own monitor
+        this.graphs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CommitGraph> eldest) {
+                return size() > maxRepositories;
+            }
+        };
+    }
+
+    /**
+     * Compare two branches or commits
+     * @param provider the Git provider, or null for the default provider
+     * @param repositoryId repository identifier
+     * @param base base branch name or commit SHA
+     * @param head head branch name or commit SHA
+     * @return merge base, ahead/behind counts and whether head is fully merged into base
+     */
+    public BranchComparisonDTO compare(String provider, String repositoryId, String base, String head) {
+        GitService service = resolveService(provider);
+        CommitGraph graph = graphFor(service, repositoryId);
+        String baseSha = load(service, graph, repositoryId, base);
+        String headSha = load(service, graph, repositoryId, head);
+
+        synchronized (graph) {
+            CommitGraph.Comparison comparison = graph.compare(graph.ordinal(headSha), graph.ordinal(baseSha));
+            return BranchComparisonDTO.builder()
+                    .repositoryId(repositoryId)
+                    .base(base)
+                    .head(head)
+                    .baseSha(baseSha)
+                    .headSha(headSha)
+                    .mergeBaseSha(comparison.mergeBase() != CommitGraph.NONE ? graph.sha(comparison.mergeBase()) : null)
+                    .ahead(comparison.ahead())
+                    .behind(comparison.behind())
+                    // Commits beyond the loaded history may still be ahead, so only a complete walk proves a merge
+                    .mergedIntoBase(comparison.ahead() == 0 && comparison.complete())
+                    .complete(comparison.complete())
+                    .build();
+        }
+    }
+
+    /**
+     * Find branches whose tip commit is older than the given age, oldest first
+     * @param provider the Git provider, or null for the default provider
+     * @param repositoryId repository identifier
+     * @param base branch to check merges against, or null for the repository's default branch
+     * @param days minimum age of the tip commit in days
+     * @return stale branches
+     */
+    public List<StaleBranchDTO> getStaleBranches(String provider, String repositoryId, String base, int days) {
+        GitService service = resolveService(provider);
+        CommitGraph graph = graphFor(service, repositoryId);
+        if (base == null || base.isEmpty()) {
+            base = service.getRepository(repositoryId)
+                    .map(RepositoryDTO::getDefaultBranch)
+                    .orElseThrow(() -> new GitApiException("Repository not found: " + repositoryId));
+        }
+        String baseSha = load(service, graph, repositoryId, base);
+        long cutoff = Instant.now().getEpochSecond() - TimeUnit.DAYS.toSeconds(days);
+
+        List<StaleBranchDTO> staleBranches = new ArrayList<>();
+        for (BranchDTO branch : service.getBranches(repositoryId)) {
+            if (branch.getName().equals(base) || branch.getCommitSha() == null) {
+                continue;
+            }
+            Long timestamp = tipTimestamp(service, graph, repositoryId, branch.getCommitSha());
+            if (timestamp == null || timestamp >= cutoff) {
+                continue;
+            }
+            synchronized (graph) {
+                int tip = graph.ordinal(branch.getCommitSha());
+                CommitGraph.Ancestry merged = tip != CommitGraph.NONE
+                        ? graph.isAncestor(tip, graph.ordinal(baseSha))
+                        : new CommitGraph.Ancestry(false, false);
+                staleBranches.add(StaleBranchDTO.builder()
+                        .name(branch.getName())
+                        .commitSha(branch.getCommitSha())
+                        .lastCommitAt(LocalDateTime.ofEpochSecond(timestamp, 0, ZoneOffset.UTC))
+                        .mergedIntoBase(merged.ancestor() && merged.complete())
+                        .complete(merged.complete())
+                        .repositoryId(repositoryId)
+                        .build());
+            }
+        }
+        staleBranches.sort(Comparator.comparing(StaleBranchDTO::getLastCommitAt));
+        return staleBranches;
+    }
+
+    private GitService resolveService(String provider) {
+        return provider != null ? gitServiceFactory.getService(provider) : gitServiceFactory.getService();
+    }
+
+    private CommitGraph graphFor(GitService service, String repositoryId) {
+        synchronized (graphs) {
+            return graphs.computeIfAbsent(service.getProviderName() + "|" + repositoryId, k -> new CommitGraph());
+        }
+    }
+
+    /**
+     * Drop the least recently used graphs other than the one just loaded until all fit the memory budget
+     */
+    private void trim(CommitGraph loaded) {
+        synchronized (graphs) {
+            long total = 0;
+            for (CommitGraph graph : graphs.values()) {
+                synchronized (graph) {
+                    total += graph.estimatedBytes();
+                }
+            }
+            Iterator<Map.Entry<String, CommitGraph>> eldest = graphs.entrySet().iterator();
+            while (total > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, CommitGraph> entry = eldest.next();
+                if (entry.getValue() == loaded) {
+                    continue;
+                }
+                synchronized (entry.getValue()) {
+                    total -= entry.getValue().estimatedBytes();
+                }
+                eldest.remove();
+                log.debug("Dropped commit graph of {} to stay within {} bytes", entry.getKey(), maxBytes);
+            }
+        }
+    }
+
+    /**
+     * Resolve a ref to its tip commit and make sure the history below it is in the graph
+     */
+    private String load(GitService service, CommitGraph graph, String repositoryId, String ref) {
+        String tipSha = service.getBranch(repositoryId, ref)
+                .map(BranchDTO::getCommitSha)
+                .or(() -> service.getCommit(repositoryId, ref).map(CommitDTO::getSha))
+                .orElseThrow(() -> new GitApiException("Unknown branch or commit: " + ref));
+
+        synchronized (graph) {
+            if (graph.isLoaded(tipSha)) {
+                return tipSha;
+            }
+        }
+
+        // The graph is shared by all callers, so its history is loaded through the shared token pool
+        int[] knownRun = {0};
+        List<CommitDTO> commits = tokenPool.sharedRead(() -> service.streamCommits(repositoryId, tipSha, maxCommitsPerLoad)
+                .takeUntil(commit -> {
+                    synchronized (graph) {
+                        knownRun[0] = graph.isLoaded(commit.getSha()) ? knownRun[0] + 1 : 0;
+                    }
+                    return knownRun[0] >= knownOverlap;
+                })
+                .collectList()
+                .block());
+
+        synchronized (graph) {
+            if (commits != null) {
+                commits.forEach(commit -> add(graph, commit));
+            }
+            if (!graph.isLoaded(tipSha)) {
+                throw new GitApiException("Could not load history of " + ref + " in repository " + repositoryId);
+            }
+            log.debug("Commit graph of repository {} holds {} commits (~{} bytes)",
+                    repositoryId, graph.size(), graph.estimatedBytes());
+        }
+        trim(graph);
+        return tipSha;
+    }
+
+    private Long tipTimestamp(GitService service, CommitGraph graph, String repositoryId, String sha) {
+        synchronized (graph) {
+            int commit = graph.ordinal(sha);
+            if (commit != CommitGraph.NONE && graph.isLoaded(commit)) {
+                return graph.timestamp(commit);
+            }
+        }
+        Optional<CommitDTO> tip = service.getCommit(repositoryId, sha);
+        synchronized (graph) {
+            tip.ifPresent(commit -> add(graph, commit));
+        }
+        return tip.map(CommitDTO::getTimestamp).map(t -> t.toEpochSecond(ZoneOffset.UTC)).orElse(null);
+    }
+
+    private static void add(CommitGraph graph, CommitDTO commit) {
+        if (commit.getParentShas() != null) {
+            graph.add(commit.getSha(),
+                    commit.getTimestamp() != null ? commit.getTimestamp().toEpochSecond(ZoneOffset.UTC) : null,
+                    commit.getParentShas());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.rishabh.fiveday.integration.job;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.rishabh.fiveday.integration.dto.JobDTO;
+import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.upstream.UpstreamCallContext;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Service running long write operations as asynchronous jobs.
+ * Jobs run on a fixed-size worker pool; jobs for the same repository run one after another in
+ * submission order so concurrent writes do not race on the same refs. Finished jobs are kept
+ * for polling until their TTL expires. Submissions beyond the pending-job limit are rejected.
+ */
+@Service
+@Slf4j
+public class JobService {
+
+    private final ExecutorService executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ArrayDeque<Runnable>> lanes = new HashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final int maxPendingJobs;
+    private final long ttlSeconds;
+
+    public JobService(@Value("${git.jobs.workers:4}") int workers,
+                      @Value("${git.jobs.max-pending:1000}") int maxPendingJobs,
+                      @Value("${git.jobs.ttl-seconds:3600}") long ttlSeconds) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "git-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxPendingJobs = maxPendingJobs;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * Submit a job
+     * @param type job type, e.g. "create-commit"
+     * @param provider the Git provider
+     * @param repositoryId repository the job writes to, or null if it is not bound to one repository
+     * @param work the operation; its return value becomes the job result
+     * @return the queued job
+     */
+    public JobDTO submit(String type, String provider, String repositoryId, Callable<?> work) {
+        if (pending.incrementAndGet() > maxPendingJobs) {
+            pending.decrementAndGet();
+            throw new GitApiException("Too many pending jobs, try again later");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), type, provider, repositoryId);
+        jobs.put(job.id, job);
+        // Upstream calls of a job are background calls of the submitting tenant
+        Callable<?> scheduledWork = UpstreamCallContext.current().background().wrap(work);
+        Runnable task = () -> run(job, scheduledWork);
+        if (repositoryId == null) {
+            executor.execute(task);
+        } else {
+            enqueue(provider + "|" + repositoryId, task);
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Get the current state of a job
+     * @param jobId the job ID
+     * @return the job if known
+     */
+    public Optional<JobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDTO);
+    }
+
+    /**
+     * Stream the state changes of a job; completes once the job has finished
+     * @param jobId the job ID
+     * @return the stream of job states if the job is known
+     */
+    public Optional<Flux<JobDTO>> streamJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> job.updates.asFlux());
+    }
+
+    /**
+     * Drop finished jobs whose TTL has expired
+     */
+    @Scheduled(fixedDelayString = "${git.jobs.cleanup-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(ttlSeconds);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void enqueue(String lane, Runnable task) {
+        synchronized (lanes) {
+            ArrayDeque<Runnable> queue = lanes.get(lane);
+            if (queue != null) {
+                queue.add(task);
+                return;
+            }
+            lanes.put(lane, new ArrayDeque<>());
+        }
+        executor.execute(() -> runLane(lane, task));
+    }
+
+    private void runLane(String lane, Runnable task) {
+        try {
+            task.run();
+        } finally {
+            Runnable next;
+            synchronized (lanes) {
+                next = lanes.get(lane).poll();
+                if (next == null) {
+                    lanes.remove(lane);
+                }
+            }
+            if (next != null) {
+                executor.execute(() -> runLane(lane, next));
+            }
+        }
+    }
+
+    private void run(Job job, Callable<?> work) {
+        try {
+            job.start();
+            job.succeed(work.call());
+        } catch (Exception e) {
+            log.warn("Job {} ({}) failed: {}", job.id, job.type, e.getMessage());
+            job.fail(e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Mutable job state; transitions are synchronized so subscribers see them in order
+     */
+    private static final class Job {
+
+        private final String id;
+        private final String type;
+        private final String provider;
+        private final String repositoryId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final Sinks.Many<JobDTO> updates = Sinks.many().replay().latest();
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile Object result;
+        private volatile String error;
+
+        private Job(String id, String type, String provider, String repositoryId) {
+            this.id = id;
+            this.type = type;
+            this.provider = provider;
+            this.repositoryId = repositoryId;
+            updates.tryEmitNext(toDTO());
+        }
+
+        private synchronized void start() {
+            status = JobStatus.RUNNING;
+            startedAt = LocalDateTime.now();
+            updates.tryEmitNext(toDTO());
+        }
+
+        private synchronized void succeed(Object result) {
+            this.result = result;
+            finish(JobStatus.SUCCEEDED);
+        }
+
+        private synchronized void fail(String error) {
+            this.error = error;
+            finish(JobStatus.FAILED);
+        }
+
+        private void finish(JobStatus finalStatus) {
+            status = finalStatus;
+            finishedAt = LocalDateTime.now();
+            updates.tryEmitNext(toDTO());
+            updates.tryEmitComplete();
+        }
+
+        private JobDTO toDTO() {
+            return JobDTO.builder()
+                    .id(id)
+                    .type(type)
+                    .provider(provider)
+                    .repositoryId(repositoryId)
+                    .status(status.name())
+                    .result(result)
+                    .error(error)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
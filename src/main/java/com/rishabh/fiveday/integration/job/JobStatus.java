@@ -0,0 +1,12 @@
+package com.rishabh.fiveday.integration.job;
+
+/**
+ * Lifecycle states of an asynchronous job
+ */
+public enum JobStatus {
+    QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
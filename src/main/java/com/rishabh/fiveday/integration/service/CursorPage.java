@@ -0,0 +1,11 @@
+package com.rishabh.fiveday.integration.service;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated listing
+ * @param items the items of this page
+ * @param nextCursor cursor of the following page, or null on the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -1,14 +1,18 @@
 package com.rishabh.fiveday.integration.service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import com.rishabh.fiveday.integration.auth.TokenValidation;
 import com.rishabh.fiveday.integration.dto.BranchDTO;
 import com.rishabh.fiveday.integration.dto.CommitDTO;
 import com.rishabh.fiveday.integration.dto.PullRequestDTO;
 import com.rishabh.fiveday.integration.dto.RepositoryDTO;
 
+import reactor.core.publisher.Flux;
+
 /**
  * Common interface for Git provider services (GitHub, GitLab)
  * This follows the Strategy pattern - allows different git provider implementations
@@ -22,6 +26,23 @@ public interface GitService {
      */
     List<RepositoryDTO> getRepositories();
     
+    /**
+     * Stream the authenticated user's repositories page by page.
+     * Items are emitted as soon as their upstream page is decoded and further
+     * pages are only requested as downstream demand allows.
+     * @return stream of repositories
+     */
+    default Flux<RepositoryDTO> streamRepositories() {
+        return Flux.defer(() -> Flux.fromIterable(getRepositories()));
+    }
+    
+    /**
+     * Get one page of the authenticated user's repositories, oldest first so new repositories do not shift pages
+     * @param cursor the requested position
+     * @return the repositories of the page and the cursor of the next one
+     */
+    CursorPage<RepositoryDTO> getRepositoryPage(PageCursor cursor);
+    
     /**
      * Get a specific repository
      * @param repositoryId repository identifier (differs by provider)
@@ -49,6 +70,23 @@ public interface GitService {
      */
     List<BranchDTO> getBranches(String repositoryId);
     
+    /**
+     * Stream branches for a repository page by page
+     * @param repositoryId repository identifier
+     * @return stream of branches
+     */
+    default Flux<BranchDTO> streamBranches(String repositoryId) {
+        return Flux.defer(() -> Flux.fromIterable(getBranches(repositoryId)));
+    }
+    
+    /**
+     * Get one page of the branches of a repository
+     * @param repositoryId repository identifier
+     * @param cursor the requested position
+     * @return the branches of the page and the cursor of the next one
+     */
+    CursorPage<BranchDTO> getBranchPage(String repositoryId, PageCursor cursor);
+    
     /**
      * Get a specific branch
      * @param repositoryId repository identifier
@@ -83,6 +121,37 @@ public interface GitService {
      */
     List<CommitDTO> getCommits(String repositoryId, String branch, int limit);
     
+    /**
+     * Stream commits for a repository branch page by page
+     * @param repositoryId repository identifier
+     * @param branch optional branch name (default branch if not specified)
+     * @param limit maximum number of commits to emit
+     * @return stream of commits
+     */
+    default Flux<CommitDTO> streamCommits(String repositoryId, String branch, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(getCommits(repositoryId, branch, limit)));
+    }
+    
+    /**
+     * Get one page of the commits of a branch. Later pages list the history below the head commit of
+     * the first page, so commits pushed in the meantime do not shift them.
+     * @param repositoryId repository identifier
+     * @param branch optional branch name (default branch if not specified)
+     * @param cursor the requested position
+     * @return the commits of the page and the cursor of the next one
+     */
+    CursorPage<CommitDTO> getCommitPage(String repositoryId, String branch, PageCursor cursor);
+    
+    /**
+     * Get the commits of a branch committed after a point in time, using the provider's since filter.
+     * Commits are selected by committer date, so a commit pushed later with an older date is not returned.
+     * @param repositoryId repository identifier
+     * @param branch optional branch name (default branch if not specified)
+     * @param since only commits committed at or after this instant
+     * @return matching commits, newest first
+     */
+    List<CommitDTO> getCommitsSince(String repositoryId, String branch, Instant since);
+    
     /**
      * Get a specific commit
      * @param repositoryId repository identifier
@@ -109,6 +178,34 @@ public interface GitService {
      */
     List<PullRequestDTO> getPullRequests(String repositoryId, String state);
     
+    /**
+     * Stream pull/merge requests for a repository page by page
+     * @param repositoryId repository identifier
+     * @param state filter by state (open/closed/all)
+     * @return stream of pull/merge requests
+     */
+    default Flux<PullRequestDTO> streamPullRequests(String repositoryId, String state) {
+        return Flux.defer(() -> Flux.fromIterable(getPullRequests(repositoryId, state)));
+    }
+    
+    /**
+     * Get one page of the pull/merge requests of a repository, oldest first so new ones do not shift pages
+     * @param repositoryId repository identifier
+     * @param state filter by state (open/closed/all)
+     * @param cursor the requested position
+     * @return the pull/merge requests of the page and the cursor of the next one
+     */
+    CursorPage<PullRequestDTO> getPullRequestPage(String repositoryId, String state, PageCursor cursor);
+    
+    /**
+     * Get pull/merge requests of any state updated after a point in time.
+     * Upstream pages are read most recently updated first and only until the point in time is passed.
+     * @param repositoryId repository identifier
+     * @param since only pull/merge requests updated at or after this instant
+     * @return matching pull/merge requests, most recently updated first
+     */
+    List<PullRequestDTO> getPullRequestsUpdatedSince(String repositoryId, Instant since);
+    
     /**
      * Get a specific pull/merge request
      * @param repositoryId repository identifier
@@ -117,6 +214,14 @@ public interface GitService {
      */
     Optional<PullRequestDTO> getPullRequest(String repositoryId, String pullRequestId);
     
+    /**
+     * Read an endpoint's provider-native JSON without decoding it.
+     * Returns once the upstream headers have arrived; the body streams afterwards.
+     * @param request the endpoint and its parameters
+     * @return the upstream response
+     */
+    RawResponse getRaw(RawRequest request);
+    
     /**
      * Create a pull/merge request
      * @param repositoryId repository identifier
@@ -157,4 +262,23 @@ public interface GitService {
      * @param token the authentication token
      */
     void setAuthToken(String token);
+
+    /**
+     * Check a token with the provider without changing the token this service uses
+     * @param token the authentication token
+     * @return the validation result; invalid if the provider rejected the token
+     */
+    TokenValidation validateToken(String token);
+
+    /**
+     * Use a token that has already been validated, without checking it upstream again
+     * @param token the authentication token
+     */
+    void setValidatedAuthToken(String token);
+
+    /**
+     * Stop using a token that is no longer valid; no effect if this service has since been given another
+     * @param token the authentication token
+     */
+    void clearAuthToken(String token);
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.rishabh.fiveday.integration.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.rishabh.fiveday.integration.exception.GitApiException;
+
+/**
+ * Position in a paginated listing, handed to clients as an opaque cursor.
+ * The anchor pins a listing whose start could otherwise move between requests, e.g. the head
+ * commit SHA of a commit listing or the last branch name of a keyset-paginated branch listing.
+ * @param page 1-based page number
+ * @param pageSize items per page
+ * @param anchor identifies where the listing is pinned, or null
+ */
+public record PageCursor(int page, int pageSize, String anchor) {
+
+    /**
+     * Largest page size; also the largest page the providers return
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Cursor of the first page
+     * @param pageSize requested items per page
+     * @return the cursor
+     */
+    public static PageCursor first(int pageSize) {
+        return new PageCursor(1, Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE)), null);
+    }
+
+    /**
+     * Resolve the position of a request
+     * @param cursor cursor from a previous page, or null for the first page
+     * @param pageSize requested items per page; a cursor keeps the page size it was created with
+     * @return the position
+     * @throws GitApiException if the cursor is malformed
+     */
+    public static PageCursor of(String cursor, int pageSize) {
+        if (cursor == null || cursor.isEmpty()) {
+            return first(pageSize);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            PageCursor decoded = new PageCursor(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    parts[2].isEmpty() ? null : parts[2]);
+            if (decoded.page < 1 || decoded.pageSize < 1 || decoded.pageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("Out of range");
+            }
+            return decoded;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new GitApiException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Cursor of the following page
+     * @param anchor the anchor of the listing
+     * @return the cursor
+     */
+    public PageCursor next(String anchor) {
+        return new PageCursor(page + 1, pageSize, anchor);
+    }
+
+    /**
+     * Encode this position as an opaque cursor
+     * @return URL-safe cursor string
+     */
+    public String encode() {
+        String value = page + ":" + pageSize + ":" + (anchor != null ? anchor : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,25 @@
+package com.rishabh.fiveday.integration.service;
+
+/**
+ * Read of provider-native JSON
+ * @param resource the read endpoint
+ * @param repositoryId repository identifier; null for the repository list
+ * @param id branch name, commit id or pull/merge request id of a single-object read; otherwise null
+ * @param branch branch filter of the commit list, or null for the default branch
+ * @param state state filter of the pull/merge request list (open/closed/all)
+ * @param page 1-based page of a list
+ * @param perPage page size of a list
+ * @param ifNoneMatch entity tag the client already holds, forwarded upstream; may be null
+ */
+public record RawRequest(RawResource resource, String repositoryId, String id, String branch, String state,
+                         int page, int perPage, String ifNoneMatch) {
+
+    /**
+     * Copy this request for another repository identifier, e.g. the upstream id of a prefixed id
+     * @param repositoryId the repository identifier
+     * @return the request for that repository
+     */
+    public RawRequest withRepositoryId(String repositoryId) {
+        return new RawRequest(resource, repositoryId, id, branch, state, page, perPage, ifNoneMatch);
+    }
+}
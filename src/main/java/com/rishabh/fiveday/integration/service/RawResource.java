@@ -0,0 +1,29 @@
+package com.rishabh.fiveday.integration.service;
+
+/**
+ * Read endpoints that can be served as provider-native JSON
+ */
+public enum RawResource {
+    REPOSITORIES(true),
+    REPOSITORY(false),
+    BRANCHES(true),
+    BRANCH(false),
+    COMMITS(true),
+    COMMIT(false),
+    PULL_REQUESTS(true),
+    PULL_REQUEST(false);
+
+    private final boolean paginated;
+
+    RawResource(boolean paginated) {
+        this.paginated = paginated;
+    }
+
+    /**
+     * Check whether the endpoint returns a paginated list
+     * @return true for list endpoints
+     */
+    public boolean isPaginated() {
+        return paginated;
+    }
+}
@@ -0,0 +1,17 @@
+package com.rishabh.fiveday.integration.service;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Provider-native JSON response whose body has not been read yet.
+ * The body must be subscribed to exactly once, and every buffer it emits must be released.
+ * @param status upstream status, 200 or 304
+ * @param etag upstream entity tag, or null
+ * @param nextPage next page of a list, or null on the last page
+ * @param body upstream body buffers as they arrive
+ */
+public record RawResponse(HttpStatusCode status, String etag, Integer nextPage, Flux<DataBuffer> body) {
+}
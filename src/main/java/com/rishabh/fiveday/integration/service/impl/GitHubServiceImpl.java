@@ -1,27 +1,55 @@
 package com.rishabh.fiveday.integration.service.impl;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.rishabh.fiveday.integration.auth.TokenValidation;
+import com.rishabh.fiveday.integration.cache.CompactPullRequestStore;
+import com.rishabh.fiveday.integration.cache.ImmutableObjectCache;
+import com.rishabh.fiveday.integration.cache.NegativeResultCache;
+import com.rishabh.fiveday.integration.cache.TreeIndex;
 import com.rishabh.fiveday.integration.dto.BranchDTO;
 import com.rishabh.fiveday.integration.dto.CommitDTO;
 import com.rishabh.fiveday.integration.dto.PullRequestDTO;
 import com.rishabh.fiveday.integration.dto.RepositoryDTO;
+import com.rishabh.fiveday.integration.exception.DeadlineExceededException;
 import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.service.CursorPage;
 import com.rishabh.fiveday.integration.service.GitService;
+import com.rishabh.fiveday.integration.service.PageCursor;
+import com.rishabh.fiveday.integration.service.RawRequest;
+import com.rishabh.fiveday.integration.service.RawResource;
+import com.rishabh.fiveday.integration.service.RawResponse;
+import com.rishabh.fiveday.integration.upstream.RateLimitTracker;
+import com.rishabh.fiveday.integration.upstream.TokenPool;
+import com.rishabh.fiveday.integration.upstream.UpstreamCallContext;
+import com.rishabh.fiveday.integration.upstream.UpstreamScheduler;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * GitHub implementation of the GitService interface
@@ -30,13 +58,34 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GitHubServiceImpl implements GitService {
 
+    private static final RateLimitedLog errorLog = new RateLimitedLog(log, Duration.ofSeconds(10));
+
     private final WebClient webClient;
+    private final ImmutableObjectCache objectCache;
+    private final CompactPullRequestStore pullRequestStore;
+    private final NegativeResultCache negativeCache;
+    private final GroupCommitCoalescer groupCommitCoalescer;
     private String token;
     private boolean authenticated = false;
 
-    public GitHubServiceImpl(@Value("${github.api.url:https://api.github.com}") String baseUrl) {
-        this.webClient = WebClient.builder()
+    @Value("${git.commit.max-attempts:5}")
+    private int maxCommitAttempts;
+
+    public GitHubServiceImpl(@Value("${github.api.url:https://api.github.com}") String baseUrl,
+                             WebClient.Builder webClientBuilder, UpstreamScheduler upstreamScheduler,
+                             RateLimitTracker rateLimitTracker, TokenPool tokenPool,
+                             ImmutableObjectCache objectCache, CompactPullRequestStore pullRequestStore,
+                             NegativeResultCache negativeCache, GroupCommitCoalescer groupCommitCoalescer) {
+        this.objectCache = objectCache;
+        this.pullRequestStore = pullRequestStore;
+        this.negativeCache = negativeCache;
+        this.groupCommitCoalescer = groupCommitCoalescer;
+        this.webClient = webClientBuilder.clone()
                 .baseUrl(baseUrl)
+                .filter(TokenPool.captureFilter())
+                .filter(upstreamScheduler.filterFor("github"))
+                .filter(tokenPool.filterFor("github"))
+                .filter(rateLimitTracker.filterFor("github"))
                 .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github.v3+json")
                 .defaultHeader(HttpHeaders.USER_AGENT, "Git-Integration-API")
                 .build();
@@ -50,9 +99,20 @@ public class GitHubServiceImpl implements GitService {
     @Override
     public boolean authenticate(String token) {
         this.token = token;
+        try {
+            this.authenticated = validateToken(token).isValid();
+        } catch (Exception e) {
+            errorLog.error("GitHub authentication failed: {}", e.getMessage());
+            this.authenticated = false;
+        }
+        return authenticated;
+    }
+
+    @Override
+    public TokenValidation validateToken(String token) {
         try {
             // Test authentication by getting user info
-            webClient.get()
+            ResponseEntity<Map> response = webClient.get()
                     .uri("/user")
                     .headers(headers -> {
                         if (token != null && !token.isEmpty()) {
@@ -60,14 +120,22 @@ public class GitHubServiceImpl implements GitService {
                         }
                     })
                     .retrieve()
-                    .bodyToMono(Map.class)
+                    .toEntity(Map.class)
                     .block();
-            this.authenticated = true;
-            return true;
+            
+            // Classic tokens list their scopes in a header; fine-grained tokens have none
+            String scopes = response.getHeaders().getFirst("X-OAuth-Scopes");
+            return TokenValidation.builder()
+                    .valid(true)
+                    .identity(response.getBody() != null ? (String) response.getBody().get("login") : null)
+                    .scopes(scopes == null || scopes.isBlank() ? List.of()
+                            : Arrays.stream(scopes.split(",")).map(String::trim).toList())
+                    .build();
+        } catch (WebClientResponseException.Unauthorized e) {
+            errorLog.error("GitHub authentication failed: {}", e.getMessage());
+            return TokenValidation.invalid();
         } catch (Exception e) {
-            log.error("GitHub authentication failed: {}", e.getMessage());
-            this.authenticated = false;
-            return false;
+            throw new GitApiException("Failed to validate GitHub token", e);
         }
     }
 
@@ -82,6 +150,20 @@ public class GitHubServiceImpl implements GitService {
         authenticate(token);
     }
 
+    @Override
+    public synchronized void setValidatedAuthToken(String token) {
+        this.token = token;
+        this.authenticated = true;
+    }
+
+    @Override
+    public synchronized void clearAuthToken(String token) {
+        if (token != null && token.equals(this.token)) {
+            this.token = null;
+            this.authenticated = false;
+        }
+    }
+
     @Override
     public List<RepositoryDTO> getRepositories() {
         try {
@@ -100,7 +182,30 @@ public class GitHubServiceImpl implements GitService {
             }
             return repositories;
         } catch (Exception e) {
-            log.error("Failed to get GitHub repositories: {}", e.getMessage());
+            errorLog.error("Failed to get GitHub repositories: {}", e.getMessage());
+            throw new GitApiException("Failed to get GitHub repositories", e);
+        }
+    }
+
+    @Override
+    public Flux<RepositoryDTO> streamRepositories() {
+        Map<String, Object> uriVariables = new HashMap<>();
+        return streamPages("/user/repos", uriVariables, Pagination.MAX_PAGE_SIZE)
+                .map(this::mapToRepositoryDTO)
+                .onErrorMap(e -> !(e instanceof GitApiException), e -> {
+                    errorLog.error("Failed to stream GitHub repositories: {}", e.getMessage());
+                    return new GitApiException("Failed to get GitHub repositories", e);
+                });
+    }
+
+
+    @Override
+    public CursorPage<RepositoryDTO> getRepositoryPage(PageCursor cursor) {
+        try {
+            return Pagination.page(fetchCursorPage("/user/repos?sort=created&direction=asc", new HashMap<>(), cursor),
+                    cursor, Pagination::hasGitHubNextPage, this::mapToRepositoryDTO, repositories -> null);
+        } catch (Exception e) {
+            errorLog.error("Failed to get GitHub repository page: {}", e.getMessage());
             throw new GitApiException("Failed to get GitHub repositories", e);
         }
     }
@@ -124,7 +229,7 @@ public class GitHubServiceImpl implements GitService {
             }
             return Optional.empty();
         } catch (Exception e) {
-            log.error("Failed to get GitHub repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to get GitHub repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to get GitHub repository: " + repositoryId, e);
         }
     }
@@ -137,7 +242,7 @@ public class GitHubServiceImpl implements GitService {
             String repo = parts[1];
             return getBranches(owner, repo);
         } catch (Exception e) {
-            log.error("Failed to get branches for repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to get branches for repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to get branches for repository: " + repositoryId, e);
         }
     }
@@ -160,11 +265,43 @@ public class GitHubServiceImpl implements GitService {
             }
             return branches;
         } catch (Exception e) {
-            log.error("Failed to get branches for repository {}/{}: {}", owner, repo, e.getMessage());
+            errorLog.error("Failed to get branches for repository {}/{}: {}", owner, repo, e.getMessage());
             throw new GitApiException("Failed to get branches for repository: " + owner + "/" + repo, e);
         }
     }
 
+    @Override
+    public Flux<BranchDTO> streamBranches(String repositoryId) {
+        return Flux.defer(() -> {
+            String[] parts = parseRepositoryId(repositoryId);
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("owner", parts[0]);
+            uriVariables.put("repo", parts[1]);
+            return streamPages("/repos/{owner}/{repo}/branches", uriVariables, Pagination.MAX_PAGE_SIZE)
+                    .map(branch -> mapToBranchDTO(branch, parts[0] + "/" + parts[1]));
+        }).onErrorMap(e -> !(e instanceof GitApiException), e -> {
+            errorLog.error("Failed to stream branches for repository {}: {}", repositoryId, e.getMessage());
+            return new GitApiException("Failed to get branches for repository: " + repositoryId, e);
+        });
+    }
+
+
+    @Override
+    public CursorPage<BranchDTO> getBranchPage(String repositoryId, PageCursor cursor) {
+        try {
+            String[] parts = parseRepositoryId(repositoryId);
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("owner", parts[0]);
+            uriVariables.put("repo", parts[1]);
+            return Pagination.page(fetchCursorPage("/repos/{owner}/{repo}/branches", uriVariables, cursor),
+                    cursor, Pagination::hasGitHubNextPage, branch -> mapToBranchDTO(branch, parts[0] + "/" + parts[1]),
+                    branches -> null);
+        } catch (Exception e) {
+            errorLog.error("Failed to get branch page for repository {}: {}", repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get branches for repository: " + repositoryId, e);
+        }
+    }
+
     @Override
     public Optional<BranchDTO> getBranch(String repositoryId, String branchName) {
         try {
@@ -172,19 +309,29 @@ public class GitHubServiceImpl implements GitService {
             String owner = parts[0];
             String repo = parts[1];
 
-            Map<String, Object> branchData = webClient.get()
+            if (negativeCache.isKnownMissing(getProviderName(), owner + "/" + repo, NegativeResultCache.Kind.BRANCH, branchName)) {
+                return Optional.empty();
+            }
+            long generation = negativeCache.generation(getProviderName(), owner + "/" + repo);
+
+            ResponseEntity<Map> response = webClient.get()
                     .uri("/repos/{owner}/{repo}/branches/{branch}", owner, repo, branchName)
                     .headers(this::setAuthHeader)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.NOT_FOUND))
                     .block();
 
-            if (branchData != null) {
-                return Optional.of(mapToBranchDTO(branchData, repositoryId));
+            if (Responses.is(response, HttpStatus.NOT_FOUND)) {
+                negativeCache.recordMissing(getProviderName(), owner + "/" + repo, NegativeResultCache.Kind.BRANCH, branchName, generation);
+                return Optional.empty();
+            }
+            if (response.getBody() != null) {
+                return Optional.of(mapToBranchDTO(response.getBody(), repositoryId));
             }
             return Optional.empty();
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to get branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
+            errorLog.error("Failed to get branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
             return Optional.empty();
         }
     }
@@ -207,23 +354,29 @@ public class GitHubServiceImpl implements GitService {
             requestBody.put("ref", "refs/heads/" + branchName);
             requestBody.put("sha", sourceBranch.get().getCommitSha());
 
-            Map<String, Object> responseData = webClient.post()
+            ResponseEntity<Map> response = webClient.post()
                     .uri("/repos/{owner}/{repo}/git/refs", owner, repo)
                     .headers(this::setAuthHeader)
                     .contentType(MediaType.APPLICATION_JSON)
                     .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.UNPROCESSABLE_ENTITY))
                     .block();
 
-            if (responseData != null) {
+            if (Responses.is(response, HttpStatus.UNPROCESSABLE_ENTITY)) {
+                throw new GitApiException("Branch already exists: " + branchName);
+            }
+            if (response.getBody() != null) {
+                negativeCache.invalidate(getProviderName(), owner + "/" + repo, NegativeResultCache.Kind.BRANCH, branchName);
+
                 // Now get the branch details
                 return getBranch(repositoryId, branchName).orElseThrow(
                         () -> new GitApiException("Failed to retrieve created branch: " + branchName));
             }
             throw new GitApiException("Failed to create branch: " + branchName);
+        } catch (GitApiException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to create branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
+            errorLog.error("Failed to create branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
             throw new GitApiException("Failed to create branch: " + branchName, e);
         }
     }
@@ -235,16 +388,18 @@ public class GitHubServiceImpl implements GitService {
             String owner = parts[0];
             String repo = parts[1];
 
-            webClient.delete()
+            // GitHub answers 422 rather than 404 for a ref that does not exist
+            ResponseEntity<Void> response = webClient.delete()
                     .uri("/repos/{owner}/{repo}/git/refs/heads/{branch}", owner, repo, branchName)
                     .headers(this::setAuthHeader)
-                    .retrieve()
-                    .bodyToMono(Void.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Void.class, HttpStatus.NOT_FOUND, HttpStatus.UNPROCESSABLE_ENTITY))
                     .block();
 
-            return true;
+            return response.getStatusCode().is2xxSuccessful();
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to delete branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
+            errorLog.error("Failed to delete branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
             return false;
         }
     }
@@ -257,7 +412,7 @@ public class GitHubServiceImpl implements GitService {
             String repo = parts[1];
             return getCommits(owner, repo, branchName, limit);
         } catch (Exception e) {
-            log.error("Failed to get commits for repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to get commits for repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to get commits for repository: " + repositoryId, e);
         }
     }
@@ -288,16 +443,97 @@ public class GitHubServiceImpl implements GitService {
             List<CommitDTO> commits = new ArrayList<>();
             if (commitList != null) {
                 for (Map<String, Object> commit : commitList) {
-                    commits.add(mapToCommitDTO(commit, repositoryId));
+                    CommitDTO commitDTO = mapToCommitDTO(commit, repositoryId);
+                    objectCache.putCommit(getProviderName(), repositoryId, commitDTO);
+                    commits.add(commitDTO);
                 }
             }
             return commits;
         } catch (Exception e) {
-            log.error("Failed to get commits for repository {}/{}: {}", owner, repo, e.getMessage());
+            errorLog.error("Failed to get commits for repository {}/{}: {}", owner, repo, e.getMessage());
             throw new GitApiException("Failed to get commits for repository: " + owner + "/" + repo, e);
         }
     }
 
+    @Override
+    public Flux<CommitDTO> streamCommits(String repositoryId, String branchName, int limit) {
+        return Flux.defer(() -> {
+            String[] parts = parseRepositoryId(repositoryId);
+            String uri = "/repos/{owner}/{repo}/commits";
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("owner", parts[0]);
+            uriVariables.put("repo", parts[1]);
+
+            if (branchName != null && !branchName.isEmpty()) {
+                uri += "?sha={branch}";
+                uriVariables.put("branch", branchName);
+            }
+
+            return streamPages(uri, uriVariables, Math.min(limit, Pagination.MAX_PAGE_SIZE))
+                    .take(limit)
+                    .map(commit -> mapToCommitDTO(commit, parts[0] + "/" + parts[1]))
+                    .doOnNext(commit -> objectCache.putCommit(getProviderName(), commit.getRepositoryId(), commit));
+        }).onErrorMap(e -> !(e instanceof GitApiException), e -> {
+            errorLog.error("Failed to stream commits for repository {}: {}", repositoryId, e.getMessage());
+            return new GitApiException("Failed to get commits for repository: " + repositoryId, e);
+        });
+    }
+
+
+    @Override
+    public CursorPage<CommitDTO> getCommitPage(String repositoryId, String branchName, PageCursor cursor) {
+        try {
+            String[] parts = parseRepositoryId(repositoryId);
+            String repositoryKey = parts[0] + "/" + parts[1];
+            String uri = "/repos/{owner}/{repo}/commits";
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("owner", parts[0]);
+            uriVariables.put("repo", parts[1]);
+
+            // Later pages list from the head commit of the first page rather than the moving branch
+            String ref = cursor.anchor() != null ? cursor.anchor() : branchName;
+            if (ref != null && !ref.isEmpty()) {
+                uri += "?sha={ref}";
+                uriVariables.put("ref", ref);
+            }
+
+            CursorPage<CommitDTO> page = Pagination.page(fetchCursorPage(uri, uriVariables, cursor), cursor,
+                    Pagination::hasGitHubNextPage, commit -> mapToCommitDTO(commit, repositoryKey),
+                    commits -> commits.get(0).getSha());
+            page.items().forEach(commit -> objectCache.putCommit(getProviderName(), repositoryKey, commit));
+            return page;
+        } catch (Exception e) {
+            errorLog.error("Failed to get commit page for repository {}: {}", repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get commits for repository: " + repositoryId, e);
+        }
+    }
+
+    @Override
+    public List<CommitDTO> getCommitsSince(String repositoryId, String branchName, Instant since) {
+        try {
+            String[] parts = parseRepositoryId(repositoryId);
+            String uri = "/repos/{owner}/{repo}/commits?since={since}";
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("owner", parts[0]);
+            uriVariables.put("repo", parts[1]);
+            uriVariables.put("since", since.toString());
+
+            if (branchName != null && !branchName.isEmpty()) {
+                uri += "&sha={branch}";
+                uriVariables.put("branch", branchName);
+            }
+
+            return streamPages(uri, uriVariables, Pagination.MAX_PAGE_SIZE)
+                    .map(commit -> mapToCommitDTO(commit, parts[0] + "/" + parts[1]))
+                    .doOnNext(commit -> objectCache.putCommit(getProviderName(), commit.getRepositoryId(), commit))
+                    .collectList()
+                    .block();
+        } catch (Exception e) {
+            errorLog.error("Failed to get commits since {} for repository {}: {}", since, repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get commits for repository: " + repositoryId, e);
+        }
+    }
+
     @Override
     public Optional<CommitDTO> getCommit(String repositoryId, String commitId) {
         try {
@@ -305,131 +541,240 @@ public class GitHubServiceImpl implements GitService {
             String owner = parts[0];
             String repo = parts[1];
 
-            Map<String, Object> commitData = webClient.get()
+            // Commits addressed by full SHA never change, so a cached copy is always valid
+            Optional<CommitDTO> cached = objectCache.getCommit(getProviderName(), owner + "/" + repo, commitId);
+            if (cached.isPresent()) {
+                return cached;
+            }
+            if (negativeCache.isKnownMissing(getProviderName(), owner + "/" + repo, NegativeResultCache.Kind.COMMIT, commitId)) {
+                return Optional.empty();
+            }
+            long generation = negativeCache.generation(getProviderName(), owner + "/" + repo);
+
+            ResponseEntity<Map> response = webClient.get()
                     .uri("/repos/{owner}/{repo}/commits/{commit_sha}", owner, repo, commitId)
                     .headers(this::setAuthHeader)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.NOT_FOUND))
                     .block();
 
-            if (commitData != null) {
-                return Optional.of(mapToCommitDTO(commitData, repositoryId));
+            if (Responses.is(response, HttpStatus.NOT_FOUND)) {
+                negativeCache.recordMissing(getProviderName(), owner + "/" + repo, NegativeResultCache.Kind.COMMIT, commitId, generation);
+                return Optional.empty();
+            }
+            if (response.getBody() != null) {
+                CommitDTO commit = mapToCommitDTO(response.getBody(), repositoryId);
+                objectCache.putCommit(getProviderName(), owner + "/" + repo, commit);
+                return Optional.of(commit);
             }
             return Optional.empty();
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to get commit {} for repository {}: {}", commitId, repositoryId, e.getMessage());
+            errorLog.error("Failed to get commit {} for repository {}: {}", commitId, repositoryId, e.getMessage());
             return Optional.empty();
         }
     }
 
     @Override
     public CommitDTO createCommit(String repositoryId, String branchName, String message, Map<String, String> files) {
+        return groupCommitCoalescer.commit(getProviderName() + "|" + repositoryKey(repositoryId) + "|" + branchName,
+                message, files, (combinedMessage, combinedFiles) ->
+                        writeCommit(repositoryId, branchName, combinedMessage, combinedFiles));
+    }
+
+    /**
+     * Create a commit on top of the branch head and move the branch to it without force.
+     * If the branch moved in the meantime, the tree and commit are rebuilt on the new head and
+     * the update is retried, so concurrent writers never overwrite each other's commits.
+     */
+    private CommitDTO writeCommit(String repositoryId, String branchName, String message, Map<String, String> files) {
         try {
             String[] parts = parseRepositoryId(repositoryId);
             String owner = parts[0];
             String repo = parts[1];
 
-            // Get the latest commit SHA from the branch
-            Optional<BranchDTO> branch = getBranch(repositoryId, branchName);
-            if (!branch.isPresent()) {
-                throw new GitApiException("Branch not found: " + branchName);
-            }
-            
-            String baseSha = branch.get().getCommitSha();
-            
-            // For each file, create a blob and add to tree
-            List<Map<String, Object>> treeItems = new ArrayList<>();
-            
-            for (Map.Entry<String, String> entry : files.entrySet()) {
-                // Create blob
-                Map<String, Object> blobRequest = new HashMap<>();
-                blobRequest.put("content", entry.getValue());
-                blobRequest.put("encoding", "utf-8");
+            // Blob SHAs are computed locally, so unchanged files are never uploaded and a blob is
+            // uploaded at most once, even when the commit is rebuilt on a new head
+            Map<String, String> blobShas = new LinkedHashMap<>();
+            files.forEach((path, content) -> blobShas.put(path, TreeIndex.blobSha(content)));
+            Set<String> uploadedBlobs = new HashSet<>();
+
+            for (int attempt = 1; ; attempt++) {
+                // Get the latest commit SHA from the branch
+                Optional<BranchDTO> branch = getBranch(repositoryId, branchName);
+                if (!branch.isPresent()) {
+                    throw new GitApiException("Branch not found: " + branchName);
+                }
+                
+                String baseSha = branch.get().getCommitSha();
+                TreeIndex baseTree = getTreeIndex(owner, repo, baseSha);
+                Set<String> baseBlobs = baseTree.blobShas();
+                
+                List<Map<String, Object>> treeItems = new ArrayList<>();
+                Map<String, String> changedBlobs = new HashMap<>();
+                for (Map.Entry<String, String> entry : blobShas.entrySet()) {
+                    String path = entry.getKey();
+                    if (baseTree.isUnchanged(path, entry.getValue())) {
+                        continue;
+                    }
+                    if (!uploadedBlobs.contains(entry.getValue()) && !baseBlobs.contains(entry.getValue())
+                            && objectCache.get(ImmutableObjectCache.ObjectKind.BLOB, getProviderName(), owner + "/" + repo,
+                                    entry.getValue(), String.class).isEmpty()) {
+                        entry.setValue(createBlob(owner, repo, path, files.get(path)));
+                        uploadedBlobs.add(entry.getValue());
+                    }
+                    
+                    Map<String, Object> treeItem = new HashMap<>();
+                    treeItem.put("path", path);
+                    treeItem.put("mode", "100644"); // Regular file
+                    treeItem.put("type", "blob");
+                    treeItem.put("sha", entry.getValue());
+                    treeItems.add(treeItem);
+                    changedBlobs.put(path, entry.getValue());
+                }
                 
-                Map<String, Object> blobResponse = webClient.post()
-                        .uri("/repos/{owner}/{repo}/git/blobs", owner, repo)
+                if (treeItems.isEmpty()) {
+                    log.debug("Commit to {} of {} changes no files, returning the branch head", branchName, repositoryId);
+                    return getCommit(repositoryId, baseSha)
+                            .orElseThrow(() -> new GitApiException("Commit not found: " + baseSha));
+                }
+                
+                // Create tree
+                Map<String, Object> treeRequest = new HashMap<>();
+                treeRequest.put("base_tree", baseSha);
+                treeRequest.put("tree", treeItems);
+                
+                Map<String, Object> treeResponse = webClient.post()
+                        .uri("/repos/{owner}/{repo}/git/trees", owner, repo)
                         .headers(this::setAuthHeader)
                         .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(blobRequest)
+                        .bodyValue(treeRequest)
                         .retrieve()
                         .bodyToMono(Map.class)
                         .block();
                 
-                if (blobResponse == null) {
-                    throw new GitApiException("Failed to create blob for file: " + entry.getKey());
+                if (treeResponse == null) {
+                    throw new GitApiException("Failed to create tree");
                 }
                 
-                // Add to tree
-                Map<String, Object> treeItem = new HashMap<>();
-                treeItem.put("path", entry.getKey());
-                treeItem.put("mode", "100644"); // Regular file
-                treeItem.put("type", "blob");
-                treeItem.put("sha", blobResponse.get("sha"));
+                // Create commit
+                Map<String, Object> commitRequest = new HashMap<>();
+                commitRequest.put("message", message);
+                commitRequest.put("tree", treeResponse.get("sha"));
+                commitRequest.put("parents", List.of(baseSha));
                 
-                treeItems.add(treeItem);
-            }
-            
-            // Create tree
-            Map<String, Object> treeRequest = new HashMap<>();
-            treeRequest.put("base_tree", baseSha);
-            treeRequest.put("tree", treeItems);
-            
-            Map<String, Object> treeResponse = webClient.post()
-                    .uri("/repos/{owner}/{repo}/git/trees", owner, repo)
-                    .headers(this::setAuthHeader)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(treeRequest)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-            
-            if (treeResponse == null) {
-                throw new GitApiException("Failed to create tree");
-            }
-            
-            // Create commit
-            Map<String, Object> commitRequest = new HashMap<>();
-            commitRequest.put("message", message);
-            commitRequest.put("tree", treeResponse.get("sha"));
-            commitRequest.put("parents", List.of(baseSha));
-            
-            Map<String, Object> commitResponse = webClient.post()
-                    .uri("/repos/{owner}/{repo}/git/commits", owner, repo)
-                    .headers(this::setAuthHeader)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(commitRequest)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-            
-            if (commitResponse == null) {
-                throw new GitApiException("Failed to create commit");
+                Map<String, Object> commitResponse = webClient.post()
+                        .uri("/repos/{owner}/{repo}/git/commits", owner, repo)
+                        .headers(this::setAuthHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(commitRequest)
+                        .retrieve()
+                        .bodyToMono(Map.class)
+                        .block();
+                
+                if (commitResponse == null) {
+                    throw new GitApiException("Failed to create commit");
+                }
+                
+                // Update branch reference; without force GitHub only accepts a fast-forward from baseSha
+                Map<String, Object> refRequest = new HashMap<>();
+                refRequest.put("sha", commitResponse.get("sha"));
+                refRequest.put("force", false);
+                
+                try {
+                    webClient.patch()
+                            .uri("/repos/{owner}/{repo}/git/refs/heads/{branch}", owner, repo, branchName)
+                            .headers(this::setAuthHeader)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(refRequest)
+                            .retrieve()
+                            .bodyToMono(Map.class)
+                            .block();
+                } catch (WebClientResponseException.UnprocessableEntity e) {
+                    if (!e.getResponseBodyAsString().contains("fast forward") || attempt >= maxCommitAttempts) {
+                        throw e;
+                    }
+                    log.debug("Branch {} of {} moved while committing, rebasing onto the new head (attempt {})",
+                            branchName, repositoryId, attempt);
+                    continue;
+                }
+                
+                // The create response already carries the full commit, so no re-fetch is needed
+                CommitDTO createdCommit = mapGitCommitToCommitDTO(commitResponse, repositoryId);
+                objectCache.putCommit(getProviderName(), owner + "/" + repo, createdCommit);
+                // The next commit to this branch most likely builds on this one, so its index is derived rather than fetched
+                Map<String, String> createdBlobs = new HashMap<>(baseTree.blobs());
+                createdBlobs.putAll(changedBlobs);
+                objectCache.put(ImmutableObjectCache.ObjectKind.TREE, getProviderName(), owner + "/" + repo,
+                        createdCommit.getSha(), new TreeIndex(createdBlobs, baseTree.truncated()));
+                negativeCache.invalidate(getProviderName(), owner + "/" + repo, NegativeResultCache.Kind.COMMIT, createdCommit.getSha());
+                return createdCommit;
             }
             
-            // Update branch reference
-            Map<String, Object> refRequest = new HashMap<>();
-            refRequest.put("sha", commitResponse.get("sha"));
-            refRequest.put("force", true);
-            
-            webClient.patch()
-                    .uri("/repos/{owner}/{repo}/git/refs/heads/{branch}", owner, repo, branchName)
-                    .headers(this::setAuthHeader)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(refRequest)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-            
-            // Return the new commit
-            return getCommit(repositoryId, (String) commitResponse.get("sha"))
-                    .orElseThrow(() -> new GitApiException("Failed to retrieve created commit"));
-            
         } catch (Exception e) {
-            log.error("Failed to create commit for repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to create commit for repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to create commit: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Upload file content as a blob
+     * @return the blob SHA
+     */
+    private String createBlob(String owner, String repo, String path, String content) {
+        Map<String, Object> blobRequest = new HashMap<>();
+        blobRequest.put("content", content);
+        blobRequest.put("encoding", "utf-8");
+        
+        Map<String, Object> blobResponse = webClient.post()
+                .uri("/repos/{owner}/{repo}/git/blobs", owner, repo)
+                .headers(this::setAuthHeader)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(blobRequest)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .block();
+        
+        if (blobResponse == null) {
+            throw new GitApiException("Failed to create blob for file: " + path);
+        }
+        String sha = (String) blobResponse.get("sha");
+        objectCache.put(ImmutableObjectCache.ObjectKind.BLOB, getProviderName(), owner + "/" + repo, sha, sha);
+        return sha;
+    }
+
+    /**
+     * Get the flattened file listing of a commit; the tree of a commit never changes, so it is cached by commit SHA
+     */
+    @SuppressWarnings("unchecked")
+    private TreeIndex getTreeIndex(String owner, String repo, String commitSha) {
+        Optional<TreeIndex> cached = objectCache.get(ImmutableObjectCache.ObjectKind.TREE, getProviderName(),
+                owner + "/" + repo, commitSha, TreeIndex.class);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        
+        Map<String, Object> treeData = webClient.get()
+                .uri("/repos/{owner}/{repo}/git/trees/{sha}?recursive=1", owner, repo, commitSha)
+                .headers(this::setAuthHeader)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .block();
+        
+        if (treeData == null) {
+            throw new GitApiException("Failed to get tree of commit: " + commitSha);
+        }
+        Map<String, String> blobs = new HashMap<>();
+        for (Map<String, Object> item : (List<Map<String, Object>>) treeData.getOrDefault("tree", List.of())) {
+            if ("blob".equals(item.get("type"))) {
+                blobs.put((String) item.get("path"), (String) item.get("sha"));
+            }
+        }
+        TreeIndex index = new TreeIndex(blobs, Boolean.TRUE.equals(treeData.get("truncated")));
+        objectCache.put(ImmutableObjectCache.ObjectKind.TREE, getProviderName(), owner + "/" + repo, commitSha, index);
+        return index;
+    }
+
     @Override
     public List<PullRequestDTO> getPullRequests(String repositoryId, String state) {
         try {
@@ -438,7 +783,7 @@ public class GitHubServiceImpl implements GitService {
             String repo = parts[1];
             return getPullRequests(owner, repo, state);
         } catch (Exception e) {
-            log.error("Failed to get pull requests for repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to get pull requests for repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to get pull requests for repository: " + repositoryId, e);
         }
     }
@@ -446,7 +791,11 @@ public class GitHubServiceImpl implements GitService {
     private List<PullRequestDTO> getPullRequests(String owner, String repo, String state) {
         try {
             String repositoryId = owner + "/" + repo;
-            
+            Optional<List<PullRequestDTO>> listed = pullRequestStore.getListing(getProviderName(), repositoryId, state);
+            if (listed.isPresent()) {
+                return listed.get();
+            }
+
             List<Map<String, Object>> prList = webClient.get()
                     .uri("/repos/{owner}/{repo}/pulls?state={state}", owner, repo, state)
                     .headers(this::setAuthHeader)
@@ -460,13 +809,74 @@ public class GitHubServiceImpl implements GitService {
                     pullRequests.add(mapToPullRequestDTO(pr, repositoryId));
                 }
             }
+            pullRequestStore.putListing(getProviderName(), repositoryId, state, pullRequests);
             return pullRequests;
         } catch (Exception e) {
-            log.error("Failed to get pull requests for repository {}/{}: {}", owner, repo, e.getMessage());
+            errorLog.error("Failed to get pull requests for repository {}/{}: {}", owner, repo, e.getMessage());
             throw new GitApiException("Failed to get pull requests for repository: " + owner + "/" + repo, e);
         }
     }
 
+    @Override
+    public Flux<PullRequestDTO> streamPullRequests(String repositoryId, String state) {
+        return Flux.defer(() -> {
+            String[] parts = parseRepositoryId(repositoryId);
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("owner", parts[0]);
+            uriVariables.put("repo", parts[1]);
+            uriVariables.put("state", state);
+            return streamPages("/repos/{owner}/{repo}/pulls?state={state}", uriVariables, Pagination.MAX_PAGE_SIZE)
+                    .map(pr -> storePullRequest(parts[0] + "/" + parts[1], mapToPullRequestDTO(pr, parts[0] + "/" + parts[1])));
+        }).onErrorMap(e -> !(e instanceof GitApiException), e -> {
+            errorLog.error("Failed to stream pull requests for repository {}: {}", repositoryId, e.getMessage());
+            return new GitApiException("Failed to get pull requests for repository: " + repositoryId, e);
+        });
+    }
+
+
+    @Override
+    public CursorPage<PullRequestDTO> getPullRequestPage(String repositoryId, String state, PageCursor cursor) {
+        try {
+            String[] parts = parseRepositoryId(repositoryId);
+            String repositoryKey = parts[0] + "/" + parts[1];
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("owner", parts[0]);
+            uriVariables.put("repo", parts[1]);
+            uriVariables.put("state", state);
+            return Pagination.page(
+                    fetchCursorPage("/repos/{owner}/{repo}/pulls?state={state}&sort=created&direction=asc", uriVariables, cursor),
+                    cursor, Pagination::hasGitHubNextPage,
+                    pr -> storePullRequest(repositoryKey, mapToPullRequestDTO(pr, repositoryKey)), pullRequests -> null);
+        } catch (Exception e) {
+            errorLog.error("Failed to get pull request page for repository {}: {}", repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get pull requests for repository: " + repositoryId, e);
+        }
+    }
+
+    @Override
+    public List<PullRequestDTO> getPullRequestsUpdatedSince(String repositoryId, Instant since) {
+        try {
+            String[] parts = parseRepositoryId(repositoryId);
+            String repositoryKey = parts[0] + "/" + parts[1];
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("owner", parts[0]);
+            uriVariables.put("repo", parts[1]);
+
+            // GitHub has no since filter for pull requests: walk them by last update and stop at the cutoff
+            LocalDateTime cutoff = LocalDateTime.ofInstant(since, ZoneOffset.UTC);
+            return streamPages("/repos/{owner}/{repo}/pulls?state=all&sort=updated&direction=desc",
+                    uriVariables, Pagination.MAX_PAGE_SIZE)
+                    .map(pr -> mapToPullRequestDTO(pr, repositoryKey))
+                    .takeWhile(pr -> pr.getUpdatedAt() == null || !pr.getUpdatedAt().isBefore(cutoff))
+                    .map(pr -> storePullRequest(repositoryKey, pr))
+                    .collectList()
+                    .block();
+        } catch (Exception e) {
+            errorLog.error("Failed to get pull requests updated since {} for repository {}: {}", since, repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get pull requests for repository: " + repositoryId, e);
+        }
+    }
+
     @Override
     public Optional<PullRequestDTO> getPullRequest(String repositoryId, String pullRequestId) {
         try {
@@ -474,23 +884,83 @@ public class GitHubServiceImpl implements GitService {
             String owner = parts[0];
             String repo = parts[1];
 
-            Map<String, Object> prData = webClient.get()
+            Optional<PullRequestDTO> stored = getStoredPullRequest(owner + "/" + repo, pullRequestId);
+            if (stored.isPresent()) {
+                return stored;
+            }
+            if (negativeCache.isKnownMissing(getProviderName(), owner + "/" + repo, NegativeResultCache.Kind.PULL_REQUEST, pullRequestId)) {
+                return Optional.empty();
+            }
+            long generation = negativeCache.generation(getProviderName(), owner + "/" + repo);
+
+            ResponseEntity<Map> response = webClient.get()
                     .uri("/repos/{owner}/{repo}/pulls/{pull_number}", owner, repo, pullRequestId)
                     .headers(this::setAuthHeader)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.NOT_FOUND))
                     .block();
 
-            if (prData != null) {
-                return Optional.of(mapToPullRequestDTO(prData, repositoryId));
+            if (Responses.is(response, HttpStatus.NOT_FOUND)) {
+                negativeCache.recordMissing(getProviderName(), owner + "/" + repo, NegativeResultCache.Kind.PULL_REQUEST, pullRequestId, generation);
+                return Optional.empty();
+            }
+            if (response.getBody() != null) {
+                return Optional.of(storePullRequest(owner + "/" + repo, mapToPullRequestDTO(response.getBody(), repositoryId)));
             }
             return Optional.empty();
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to get pull request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
+            errorLog.error("Failed to get pull request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
             return Optional.empty();
         }
     }
 
+    @Override
+    public RawResponse getRaw(RawRequest request) {
+        try {
+            Map<String, Object> uriVariables = new HashMap<>();
+            String uri;
+            if (request.resource() == RawResource.REPOSITORIES) {
+                uri = "/user/repos";
+            } else {
+                String[] parts = parseRepositoryId(request.repositoryId());
+                uriVariables.put("owner", parts[0]);
+                uriVariables.put("repo", parts[1]);
+                uriVariables.put("id", request.id());
+                uriVariables.put("branch", request.branch());
+                uriVariables.put("state", request.state());
+                uri = switch (request.resource()) {
+                    case REPOSITORY -> "/repos/{owner}/{repo}";
+                    case BRANCHES -> "/repos/{owner}/{repo}/branches";
+                    case BRANCH -> "/repos/{owner}/{repo}/branches/{id}";
+                    case COMMITS -> request.branch() != null && !request.branch().isEmpty()
+                            ? "/repos/{owner}/{repo}/commits?sha={branch}"
+                            : "/repos/{owner}/{repo}/commits";
+                    case COMMIT -> "/repos/{owner}/{repo}/commits/{id}";
+                    case PULL_REQUESTS -> "/repos/{owner}/{repo}/pulls?state={state}";
+                    case PULL_REQUEST -> "/repos/{owner}/{repo}/pulls/{id}";
+                    default -> throw new IllegalArgumentException("Unsupported resource: " + request.resource());
+                };
+            }
+
+            Predicate<HttpHeaders> hasNextPage = null;
+            if (request.resource().isPaginated()) {
+                uri += (uri.contains("?") ? "&" : "?") + "per_page={perPage}&page={page}";
+                uriVariables.put("perPage", Math.min(request.perPage(), Pagination.MAX_PAGE_SIZE));
+                uriVariables.put("page", request.page());
+                hasNextPage = Pagination::hasGitHubNextPage;
+            }
+            return Passthrough.fetch(webClient.get().uri(uri, uriVariables).headers(this::setAuthHeader),
+                    request.ifNoneMatch(), request.page(), hasNextPage);
+        } catch (WebClientResponseException e) {
+            // The client sees the provider's own status, as it asked for the provider's own response
+            throw e;
+        } catch (Exception e) {
+            errorLog.error("Failed to read {} for repository {}: {}", request.resource(), request.repositoryId(), e.getMessage());
+            throw new GitApiException("Failed to read " + request.resource() + " from GitHub", e);
+        }
+    }
+
     @Override
     public PullRequestDTO createPullRequest(String repositoryId, String title, String sourceBranch, String targetBranch, String description) {
         try {
@@ -514,11 +984,14 @@ public class GitHubServiceImpl implements GitService {
                     .block();
 
             if (responseData != null) {
-                return mapToPullRequestDTO(responseData, repositoryId);
+                negativeCache.invalidate(getProviderName(), owner + "/" + repo,
+                        NegativeResultCache.Kind.PULL_REQUEST, responseData.get("number").toString());
+                pullRequestStore.invalidateRepository(getProviderName(), owner + "/" + repo);
+                return storePullRequest(owner + "/" + repo, mapToPullRequestDTO(responseData, repositoryId));
             }
             throw new GitApiException("Failed to create pull request");
         } catch (Exception e) {
-            log.error("Failed to create pull request for repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to create pull request for repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to create pull request: " + e.getMessage(), e);
         }
     }
@@ -543,11 +1016,11 @@ public class GitHubServiceImpl implements GitService {
                     .block();
 
             if (responseData != null) {
-                return mapToPullRequestDTO(responseData, repositoryId);
+                return storePullRequest(owner + "/" + repo, mapToPullRequestDTO(responseData, repositoryId));
             }
             throw new GitApiException("Failed to update pull request");
         } catch (Exception e) {
-            log.error("Failed to update pull request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
+            errorLog.error("Failed to update pull request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
             throw new GitApiException("Failed to update pull request: " + e.getMessage(), e);
         }
     }
@@ -562,29 +1035,86 @@ public class GitHubServiceImpl implements GitService {
             Map<String, Object> requestBody = new HashMap<>();
             requestBody.put("merge_method", "merge");
 
-            webClient.put()
+            // 405 when the pull request is not mergeable, 409 when its head moved
+            ResponseEntity<Map> response = webClient.put()
                     .uri("/repos/{owner}/{repo}/pulls/{pull_number}/merge", owner, repo, pullRequestId)
                     .headers(this::setAuthHeader)
                     .contentType(MediaType.APPLICATION_JSON)
                     .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.NOT_FOUND,
+                            HttpStatus.METHOD_NOT_ALLOWED, HttpStatus.CONFLICT))
                     .block();
 
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                log.debug("Pull request {} of {} was not merged: {}", pullRequestId, repositoryId, response.getStatusCode());
+                return false;
+            }
+            pullRequestStore.invalidateRepository(getProviderName(), owner + "/" + repo);
             return true;
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to merge pull request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
+            errorLog.error("Failed to merge pull request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
             return false;
         }
     }
 
     // Helper methods
+    private Flux<Map<String, Object>> streamPages(String uri, Map<String, Object> uriVariables, int perPage) {
+        String pagedUri = uri + (uri.contains("?") ? "&" : "?") + "per_page={perPage}&page={page}";
+        return Pagination.stream(page -> {
+            Map<String, Object> pageVariables = new HashMap<>(uriVariables);
+            pageVariables.put("perPage", perPage);
+            pageVariables.put("page", page);
+            return fetchPage(pagedUri, pageVariables);
+        }, Pagination::hasGitHubNextPage)
+                .contextWrite(TokenPool::captureSharedRead)
+                .contextWrite(UpstreamCallContext::capture);
+    }
+
+    private Mono<ResponseEntity<List<Map<String, Object>>>> fetchCursorPage(String uri, Map<String, Object> uriVariables,
+                                                                           PageCursor cursor) {
+        Map<String, Object> pageVariables = new HashMap<>(uriVariables);
+        pageVariables.put("perPage", cursor.pageSize());
+        pageVariables.put("page", cursor.page());
+        return fetchPage(uri + (uri.contains("?") ? "&" : "?") + "per_page={perPage}&page={page}", pageVariables)
+                .contextWrite(TokenPool::captureSharedRead)
+                .contextWrite(UpstreamCallContext::capture);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Mono<ResponseEntity<List<Map<String, Object>>>> fetchPage(String uri, Map<String, Object> uriVariables) {
+        return (Mono) webClient.get()
+                .uri(uri, uriVariables)
+                .headers(this::setAuthHeader)
+                .retrieve()
+                .toEntityList(Map.class);
+    }
+
+    private Optional<PullRequestDTO> getStoredPullRequest(String repositoryKey, String pullRequestId) {
+        try {
+            return pullRequestStore.get(getProviderName(), repositoryKey, Integer.parseInt(pullRequestId));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private PullRequestDTO storePullRequest(String repositoryKey, PullRequestDTO pullRequest) {
+        pullRequestStore.put(getProviderName(), repositoryKey, pullRequest);
+        return pullRequest;
+    }
+
     private void setAuthHeader(HttpHeaders headers) {
         if (token != null && !token.isEmpty()) {
             headers.setBearerAuth(token);
         }
     }
 
+    private String repositoryKey(String repositoryId) {
+        String[] parts = parseRepositoryId(repositoryId);
+        return parts[0] + "/" + parts[1];
+    }
+
     public String[] parseRepositoryId(String repositoryId) {
         String[] parts = repositoryId.split("___");
         if (parts.length != 2) {
@@ -627,9 +1157,39 @@ public class GitHubServiceImpl implements GitService {
                 .author((String) author.get("name"))
                 .timestamp(dateTime)
                 .repositoryId(repositoryId)
+                .parentShas(mapParentShas((List<Map<String, Object>>) commitData.get("parents")))
                 .build();
     }
 
+    private CommitDTO mapGitCommitToCommitDTO(Map<String, Object> gitCommitData, String repositoryId) {
+        Map<String, Object> author = (Map<String, Object>) gitCommitData.get("author");
+
+        String timestamp = (String) author.get("date");
+        LocalDateTime dateTime = LocalDateTime.parse(timestamp, DateTimeFormatter.ISO_DATE_TIME);
+
+        return CommitDTO.builder()
+                .sha((String) gitCommitData.get("sha"))
+                .message((String) gitCommitData.get("message"))
+                .author((String) author.get("name"))
+                .authorEmail((String) author.get("email"))
+                .timestamp(dateTime)
+                .url((String) gitCommitData.get("html_url"))
+                .repositoryId(repositoryId)
+                .parentShas(mapParentShas((List<Map<String, Object>>) gitCommitData.get("parents")))
+                .build();
+    }
+
+    private List<String> mapParentShas(List<Map<String, Object>> parents) {
+        if (parents == null) {
+            return null;
+        }
+        List<String> parentShas = new ArrayList<>(parents.size());
+        for (Map<String, Object> parent : parents) {
+            parentShas.add((String) parent.get("sha"));
+        }
+        return parentShas;
+    }
+
     private PullRequestDTO mapToPullRequestDTO(Map<String, Object> prData, String repositoryId) {
         Map<String, Object> head = (Map<String, Object>) prData.get("head");
         Map<String, Object> base = (Map<String, Object>) prData.get("base");
@@ -637,6 +1197,7 @@ public class GitHubServiceImpl implements GitService {
         
         String createdAt = (String) prData.get("created_at");
         LocalDateTime dateTime = LocalDateTime.parse(createdAt, DateTimeFormatter.ISO_DATE_TIME);
+        String updatedAt = (String) prData.get("updated_at");
         
         return PullRequestDTO.builder()
                 .id(Long.valueOf(prData.get("id").toString()))
@@ -646,6 +1207,10 @@ public class GitHubServiceImpl implements GitService {
                 .author((String) user.get("login"))
                 .state((String) prData.get("state"))
                 .createdAt(dateTime)
+                .updatedAt(updatedAt != null ? LocalDateTime.parse(updatedAt, DateTimeFormatter.ISO_DATE_TIME) : null)
+                .isMerged(prData.get("merged_at") != null)
+                .isDraft(Boolean.TRUE.equals(prData.get("draft")))
+                .url((String) prData.get("html_url"))
                 .sourceBranch((String) head.get("ref"))
                 .targetBranch((String) base.get("ref"))
                 .repositoryId(repositoryId)
@@ -1,5 +1,7 @@
 package com.rishabh.fiveday.integration.service.impl;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -7,33 +9,78 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.rishabh.fiveday.integration.auth.TokenValidation;
+import com.rishabh.fiveday.integration.cache.CompactPullRequestStore;
+import com.rishabh.fiveday.integration.cache.ImmutableObjectCache;
+import com.rishabh.fiveday.integration.cache.NegativeResultCache;
+import com.rishabh.fiveday.integration.cache.TreeIndex;
 import com.rishabh.fiveday.integration.dto.BranchDTO;
 import com.rishabh.fiveday.integration.dto.CommitDTO;
 import com.rishabh.fiveday.integration.dto.PullRequestDTO;
 import com.rishabh.fiveday.integration.dto.RepositoryDTO;
+import com.rishabh.fiveday.integration.exception.DeadlineExceededException;
 import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.service.CursorPage;
 import com.rishabh.fiveday.integration.service.GitService;
+import com.rishabh.fiveday.integration.service.PageCursor;
+import com.rishabh.fiveday.integration.service.RawRequest;
+import com.rishabh.fiveday.integration.service.RawResource;
+import com.rishabh.fiveday.integration.service.RawResponse;
+import com.rishabh.fiveday.integration.upstream.RateLimitTracker;
+import com.rishabh.fiveday.integration.upstream.TokenPool;
+import com.rishabh.fiveday.integration.upstream.UpstreamCallContext;
+import com.rishabh.fiveday.integration.upstream.UpstreamScheduler;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
 @Slf4j
 public class GitLabServiceImpl implements GitService {
 
+    private static final RateLimitedLog errorLog = new RateLimitedLog(log, Duration.ofSeconds(10));
+
+    /**
+     * The simple project representation still has every field mapped into RepositoryDTO, without
+     * the permissions, statistics and link objects GitLab otherwise computes for each project
+     */
+    private static final String PROJECT_LIST_URI = "/projects?membership=true&simple=true";
+
     private final WebClient webClient;
+    private final ImmutableObjectCache objectCache;
+    private final CompactPullRequestStore pullRequestStore;
+    private final NegativeResultCache negativeCache;
+    private final GroupCommitCoalescer groupCommitCoalescer;
     private String token;
     private boolean authenticated = false;
 
-    public GitLabServiceImpl(@Value("${gitlab.api.url:https://gitlab.com/api/v4}") String baseUrl) {
-        this.webClient = WebClient.builder()
+    public GitLabServiceImpl(@Value("${gitlab.api.url:https://gitlab.com/api/v4}") String baseUrl,
+                             WebClient.Builder webClientBuilder, UpstreamScheduler upstreamScheduler,
+                             RateLimitTracker rateLimitTracker, TokenPool tokenPool,
+                             ImmutableObjectCache objectCache, CompactPullRequestStore pullRequestStore,
+                             NegativeResultCache negativeCache, GroupCommitCoalescer groupCommitCoalescer) {
+        this.objectCache = objectCache;
+        this.pullRequestStore = pullRequestStore;
+        this.negativeCache = negativeCache;
+        this.groupCommitCoalescer = groupCommitCoalescer;
+        this.webClient = webClientBuilder.clone()
                 .baseUrl(baseUrl)
+                .filter(TokenPool.captureFilter())
+                .filter(upstreamScheduler.filterFor("gitlab"))
+                .filter(tokenPool.filterFor("gitlab"))
+                .filter(rateLimitTracker.filterFor("gitlab"))
                 .defaultHeader(HttpHeaders.USER_AGENT, "Git-Integration-API")
                 .build();
     }
@@ -47,18 +94,45 @@ public class GitLabServiceImpl implements GitService {
     public boolean authenticate(String token) {
         this.token = token;
         try {
-            webClient.get()
+            this.authenticated = validateToken(token).isValid();
+        } catch (Exception e) {
+            errorLog.error("GitLab authentication failed: {}", e.getMessage());
+            this.authenticated = false;
+        }
+        return authenticated;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TokenValidation validateToken(String token) {
+        try {
+            Map<String, Object> user = webClient.get()
                     .uri("/user")
-                    .headers(this::setAuthHeader)
+                    .headers(headers -> setAuthHeader(headers, token))
                     .retrieve()
                     .bodyToMono(Map.class)
                     .block();
-            this.authenticated = true;
-            return true;
+
+            // Only personal, project and group access tokens can describe themselves; OAuth tokens have no scopes here
+            List<String> scopes = webClient.get()
+                    .uri("/personal_access_tokens/self")
+                    .headers(headers -> setAuthHeader(headers, token))
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .map(self -> (List<String>) self.getOrDefault("scopes", List.of()))
+                    .onErrorReturn(List.of())
+                    .block();
+
+            return TokenValidation.builder()
+                    .valid(true)
+                    .identity(user != null ? (String) user.get("username") : null)
+                    .scopes(scopes != null ? scopes : List.of())
+                    .build();
+        } catch (WebClientResponseException.Unauthorized e) {
+            errorLog.error("GitLab authentication failed: {}", e.getMessage());
+            return TokenValidation.invalid();
         } catch (Exception e) {
-            log.error("GitLab authentication failed: {}", e.getMessage());
-            this.authenticated = false;
-            return false;
+            throw new GitApiException("Failed to validate GitLab token", e);
         }
     }
 
@@ -73,11 +147,25 @@ public class GitLabServiceImpl implements GitService {
         authenticate(token);
     }
 
+    @Override
+    public synchronized void setValidatedAuthToken(String token) {
+        this.token = token;
+        this.authenticated = true;
+    }
+
+    @Override
+    public synchronized void clearAuthToken(String token) {
+        if (token != null && token.equals(this.token)) {
+            this.token = null;
+            this.authenticated = false;
+        }
+    }
+
     @Override
     public List<RepositoryDTO> getRepositories() {
         try {
             List<Map<String, Object>> projectList = webClient.get()
-                    .uri("/projects?membership=true")
+                    .uri(PROJECT_LIST_URI)
                     .headers(this::setAuthHeader)
                     .retrieve()
                     .bodyToMono(List.class)
@@ -91,7 +179,29 @@ public class GitLabServiceImpl implements GitService {
             }
             return repositories;
         } catch (Exception e) {
-            log.error("Failed to get GitLab repositories: {}", e.getMessage());
+            errorLog.error("Failed to get GitLab repositories: {}", e.getMessage());
+            throw new GitApiException("Failed to get GitLab repositories", e);
+        }
+    }
+
+    @Override
+    public Flux<RepositoryDTO> streamRepositories() {
+        return streamPages(PROJECT_LIST_URI, new HashMap<>(), Pagination.MAX_PAGE_SIZE)
+                .map(this::mapToRepositoryDTO)
+                .onErrorMap(e -> !(e instanceof GitApiException), e -> {
+                    errorLog.error("Failed to stream GitLab repositories: {}", e.getMessage());
+                    return new GitApiException("Failed to get GitLab repositories", e);
+                });
+    }
+
+
+    @Override
+    public CursorPage<RepositoryDTO> getRepositoryPage(PageCursor cursor) {
+        try {
+            return Pagination.page(fetchCursorPage(PROJECT_LIST_URI + "&order_by=id&sort=asc", new HashMap<>(), cursor),
+                    cursor, Pagination::hasGitLabNextPage, this::mapToRepositoryDTO, repositories -> null);
+        } catch (Exception e) {
+            errorLog.error("Failed to get GitLab repository page: {}", e.getMessage());
             throw new GitApiException("Failed to get GitLab repositories", e);
         }
     }
@@ -111,7 +221,7 @@ public class GitLabServiceImpl implements GitService {
             }
             return Optional.empty();
         } catch (Exception e) {
-            log.error("Failed to get GitLab repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to get GitLab repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to get GitLab repository: " + repositoryId, e);
         }
     }
@@ -134,27 +244,62 @@ public class GitLabServiceImpl implements GitService {
             }
             return branches;
         } catch (Exception e) {
-            log.error("Failed to get GitLab branches: {}", e.getMessage());
+            errorLog.error("Failed to get GitLab branches: {}", e.getMessage());
+            throw new GitApiException("Failed to get GitLab branches", e);
+        }
+    }
+
+    @Override
+    public Flux<BranchDTO> streamBranches(String projectId) {
+        Map<String, Object> uriVariables = new HashMap<>();
+        uriVariables.put("projectId", projectId);
+        return streamPages("/projects/{projectId}/repository/branches", uriVariables, Pagination.MAX_PAGE_SIZE)
+                .map(branch -> mapToBranchDTO(branch, projectId))
+                .onErrorMap(e -> !(e instanceof GitApiException), e -> {
+                    errorLog.error("Failed to stream GitLab branches: {}", e.getMessage());
+                    return new GitApiException("Failed to get GitLab branches", e);
+                });
+    }
+
+
+    @Override
+    public CursorPage<BranchDTO> getBranchPage(String projectId, PageCursor cursor) {
+        try {
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("projectId", projectId);
+            return Pagination.page(fetchCursorPage("/projects/{projectId}/repository/branches", uriVariables, cursor),
+                    cursor, Pagination::hasGitLabNextPage, branch -> mapToBranchDTO(branch, projectId), branches -> null);
+        } catch (Exception e) {
+            errorLog.error("Failed to get GitLab branch page: {}", e.getMessage());
             throw new GitApiException("Failed to get GitLab branches", e);
         }
     }
 
     @Override
     public Optional<BranchDTO> getBranch(String repositoryId, String branchName) {
+        if (negativeCache.isKnownMissing(getProviderName(), repositoryId, NegativeResultCache.Kind.BRANCH, branchName)) {
+            return Optional.empty();
+        }
+        long generation = negativeCache.generation(getProviderName(), repositoryId);
         try {
-            Map<String, Object> branchData = webClient.get()
+            ResponseEntity<Map> response = webClient.get()
                     .uri("/projects/{id}/repository/branches/{branch}", repositoryId, branchName)
                     .headers(this::setAuthHeader)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.NOT_FOUND))
                     .block();
 
-            if (branchData != null) {
-                return Optional.of(mapToBranchDTO(branchData, repositoryId));
+            if (Responses.is(response, HttpStatus.NOT_FOUND)) {
+                negativeCache.recordMissing(getProviderName(), repositoryId, NegativeResultCache.Kind.BRANCH, branchName, generation);
+                return Optional.empty();
+            }
+            if (response.getBody() != null) {
+                return Optional.of(mapToBranchDTO(response.getBody(), repositoryId));
             }
             return Optional.empty();
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to get branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
+            errorLog.error("Failed to get branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
             return Optional.empty();
         }
     }
@@ -166,21 +311,27 @@ public class GitLabServiceImpl implements GitService {
             requestBody.put("branch", branchName);
             requestBody.put("ref", sourceBranchName);
 
-            Map<String, Object> responseData = webClient.post()
+            // GitLab answers 400 both for an existing branch and for an unknown source ref
+            ResponseEntity<Map> response = webClient.post()
                     .uri("/projects/{id}/repository/branches", repositoryId)
                     .headers(this::setAuthHeader)
                     .contentType(MediaType.APPLICATION_JSON)
                     .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.BAD_REQUEST))
                     .block();
 
-            if (responseData != null) {
-                return mapToBranchDTO(responseData, repositoryId);
+            if (Responses.is(response, HttpStatus.BAD_REQUEST)) {
+                throw new GitApiException("Branch already exists or source branch not found: " + branchName);
+            }
+            if (response.getBody() != null) {
+                negativeCache.invalidate(getProviderName(), repositoryId, NegativeResultCache.Kind.BRANCH, branchName);
+                return mapToBranchDTO(response.getBody(), repositoryId);
             }
             throw new GitApiException("Failed to create branch: " + branchName);
+        } catch (GitApiException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to create branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
+            errorLog.error("Failed to create branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
             throw new GitApiException("Failed to create branch: " + branchName, e);
         }
     }
@@ -188,16 +339,17 @@ public class GitLabServiceImpl implements GitService {
     @Override
     public boolean deleteBranch(String repositoryId, String branchName) {
         try {
-            webClient.delete()
+            ResponseEntity<Void> response = webClient.delete()
                     .uri("/projects/{id}/repository/branches/{branch}", repositoryId, branchName)
                     .headers(this::setAuthHeader)
-                    .retrieve()
-                    .bodyToMono(Void.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Void.class, HttpStatus.NOT_FOUND))
                     .block();
 
-            return true;
+            return response.getStatusCode().is2xxSuccessful();
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to delete branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
+            errorLog.error("Failed to delete branch {} for repository {}: {}", branchName, repositoryId, e.getMessage());
             return false;
         }
     }
@@ -219,12 +371,85 @@ public class GitLabServiceImpl implements GitService {
             List<CommitDTO> commits = new ArrayList<>();
             if (commitList != null) {
                 for (Map<String, Object> commit : commitList) {
-                    commits.add(mapToCommitDTO(commit, projectId));
+                    CommitDTO commitDTO = mapToCommitDTO(commit, projectId);
+                    objectCache.putCommit(getProviderName(), projectId, commitDTO);
+                    commits.add(commitDTO);
                 }
             }
             return commits;
         } catch (Exception e) {
-            log.error("Failed to get GitLab commits: {}", e.getMessage());
+            errorLog.error("Failed to get GitLab commits: {}", e.getMessage());
+            throw new GitApiException("Failed to get GitLab commits", e);
+        }
+    }
+
+    @Override
+    public Flux<CommitDTO> streamCommits(String projectId, String branch, int limit) {
+        String uri = "/projects/{projectId}/repository/commits";
+        Map<String, Object> uriVariables = new HashMap<>();
+        uriVariables.put("projectId", projectId);
+
+        if (branch != null && !branch.isEmpty()) {
+            uri += "?ref_name={branch}";
+            uriVariables.put("branch", branch);
+        }
+
+        return streamPages(uri, uriVariables, Math.min(limit, Pagination.MAX_PAGE_SIZE))
+                .take(limit)
+                .map(commit -> mapToCommitDTO(commit, projectId))
+                .doOnNext(commit -> objectCache.putCommit(getProviderName(), projectId, commit))
+                .onErrorMap(e -> !(e instanceof GitApiException), e -> {
+                    errorLog.error("Failed to stream GitLab commits: {}", e.getMessage());
+                    return new GitApiException("Failed to get GitLab commits", e);
+                });
+    }
+
+
+    @Override
+    public CursorPage<CommitDTO> getCommitPage(String projectId, String branch, PageCursor cursor) {
+        try {
+            String uri = "/projects/{projectId}/repository/commits";
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("projectId", projectId);
+
+            // Later pages list from the head commit of the first page rather than the moving branch
+            String ref = cursor.anchor() != null ? cursor.anchor() : branch;
+            if (ref != null && !ref.isEmpty()) {
+                uri += "?ref_name={ref}";
+                uriVariables.put("ref", ref);
+            }
+
+            CursorPage<CommitDTO> page = Pagination.page(fetchCursorPage(uri, uriVariables, cursor), cursor,
+                    Pagination::hasGitLabNextPage, commit -> mapToCommitDTO(commit, projectId),
+                    commits -> commits.get(0).getSha());
+            page.items().forEach(commit -> objectCache.putCommit(getProviderName(), projectId, commit));
+            return page;
+        } catch (Exception e) {
+            errorLog.error("Failed to get GitLab commit page: {}", e.getMessage());
+            throw new GitApiException("Failed to get GitLab commits", e);
+        }
+    }
+
+    @Override
+    public List<CommitDTO> getCommitsSince(String projectId, String branch, Instant since) {
+        try {
+            String uri = "/projects/{projectId}/repository/commits?since={since}";
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("projectId", projectId);
+            uriVariables.put("since", since.toString());
+
+            if (branch != null && !branch.isEmpty()) {
+                uri += "&ref_name={branch}";
+                uriVariables.put("branch", branch);
+            }
+
+            return streamPages(uri, uriVariables, Pagination.MAX_PAGE_SIZE)
+                    .map(commit -> mapToCommitDTO(commit, projectId))
+                    .doOnNext(commit -> objectCache.putCommit(getProviderName(), projectId, commit))
+                    .collectList()
+                    .block();
+        } catch (Exception e) {
+            errorLog.error("Failed to get GitLab commits since {}: {}", since, e.getMessage());
             throw new GitApiException("Failed to get GitLab commits", e);
         }
     }
@@ -232,30 +457,69 @@ public class GitLabServiceImpl implements GitService {
     @Override
     public Optional<CommitDTO> getCommit(String repositoryId, String commitId) {
         try {
-            Map<String, Object> commitData = webClient.get()
+            // Commits addressed by full SHA never change, so a cached copy is always valid
+            Optional<CommitDTO> cached = objectCache.getCommit(getProviderName(), repositoryId, commitId);
+            if (cached.isPresent()) {
+                return cached;
+            }
+            if (negativeCache.isKnownMissing(getProviderName(), repositoryId, NegativeResultCache.Kind.COMMIT, commitId)) {
+                return Optional.empty();
+            }
+            long generation = negativeCache.generation(getProviderName(), repositoryId);
+
+            ResponseEntity<Map> response = webClient.get()
                     .uri("/projects/{id}/repository/commits/{sha}", repositoryId, commitId)
                     .headers(this::setAuthHeader)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.NOT_FOUND))
                     .block();
 
-            if (commitData != null) {
-                return Optional.of(mapToCommitDTO(commitData, repositoryId));
+            if (Responses.is(response, HttpStatus.NOT_FOUND)) {
+                negativeCache.recordMissing(getProviderName(), repositoryId, NegativeResultCache.Kind.COMMIT, commitId, generation);
+                return Optional.empty();
+            }
+            if (response.getBody() != null) {
+                CommitDTO commit = mapToCommitDTO(response.getBody(), repositoryId);
+                objectCache.putCommit(getProviderName(), repositoryId, commit);
+                return Optional.of(commit);
             }
             return Optional.empty();
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to get commit {} for repository {}: {}", commitId, repositoryId, e.getMessage());
+            errorLog.error("Failed to get commit {} for repository {}: {}", commitId, repositoryId, e.getMessage());
             return Optional.empty();
         }
     }
 
     @Override
     public CommitDTO createCommit(String repositoryId, String branchName, String message, Map<String, String> files) {
+        return groupCommitCoalescer.commit(getProviderName() + "|" + repositoryId + "|" + branchName,
+                message, files, (combinedMessage, combinedFiles) ->
+                        writeCommit(repositoryId, branchName, combinedMessage, combinedFiles));
+    }
+
+    /**
+     * Create a commit through the commits API, which applies all actions atomically on the current branch head.
+     * Files whose content already matches the branch head are left out; if none remain, the head is returned.
+     */
+    private CommitDTO writeCommit(String repositoryId, String branchName, String message, Map<String, String> files) {
         try {
+            Optional<BranchDTO> branch = getBranch(repositoryId, branchName);
+            if (!branch.isPresent()) {
+                throw new GitApiException("Branch not found: " + branchName);
+            }
+            String baseSha = branch.get().getCommitSha();
+            List<Map<String, Object>> actions = prepareCommitActions(files, getTreeIndex(repositoryId, baseSha));
+            if (actions.isEmpty()) {
+                log.debug("Commit to {} of {} changes no files, returning the branch head", branchName, repositoryId);
+                return getCommit(repositoryId, baseSha)
+                        .orElseThrow(() -> new GitApiException("Commit not found: " + baseSha));
+            }
+
             Map<String, Object> requestBody = new HashMap<>();
             requestBody.put("branch", branchName);
             requestBody.put("commit_message", message);
-            requestBody.put("actions", prepareCommitActions(files));
+            requestBody.put("actions", actions);
 
             Map<String, Object> responseData = webClient.post()
                     .uri("/projects/{id}/repository/commits", repositoryId)
@@ -267,21 +531,27 @@ public class GitLabServiceImpl implements GitService {
                     .block();
 
             if (responseData != null) {
-                return mapToCommitDTO(responseData, repositoryId);
+                CommitDTO commit = mapToCommitDTO(responseData, repositoryId);
+                objectCache.putCommit(getProviderName(), repositoryId, commit);
+                negativeCache.invalidate(getProviderName(), repositoryId, NegativeResultCache.Kind.COMMIT, commit.getSha());
+                return commit;
             }
             throw new GitApiException("Failed to create commit");
         } catch (Exception e) {
-            log.error("Failed to create commit for repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to create commit for repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to create commit: " + e.getMessage(), e);
         }
     }
 
-    private List<Map<String, Object>> prepareCommitActions(Map<String, String> files) {
+    private List<Map<String, Object>> prepareCommitActions(Map<String, String> files, TreeIndex baseTree) {
         List<Map<String, Object>> actions = new ArrayList<>();
 
         for (Map.Entry<String, String> entry : files.entrySet()) {
+            if (baseTree.isUnchanged(entry.getKey(), TreeIndex.blobSha(entry.getValue()))) {
+                continue;
+            }
             Map<String, Object> action = new HashMap<>();
-            action.put("action", "update"); 
+            action.put("action", baseTree.isAbsent(entry.getKey()) ? "create" : "update");
             action.put("file_path", entry.getKey());
             action.put("content", entry.getValue());
 
@@ -291,9 +561,36 @@ public class GitLabServiceImpl implements GitService {
         return actions;
     }
 
+    /**
+     * Get the flattened file listing of a commit; the tree of a commit never changes, so it is cached by commit SHA
+     */
+    private TreeIndex getTreeIndex(String repositoryId, String commitSha) {
+        Optional<TreeIndex> cached = objectCache.get(ImmutableObjectCache.ObjectKind.TREE, getProviderName(),
+                repositoryId, commitSha, TreeIndex.class);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Map<String, Object> uriVariables = new HashMap<>();
+        uriVariables.put("id", repositoryId);
+        uriVariables.put("ref", commitSha);
+        Map<String, String> blobs = new HashMap<>();
+        streamPages("/projects/{id}/repository/tree?recursive=true&ref={ref}", uriVariables, Pagination.MAX_PAGE_SIZE)
+                .filter(item -> "blob".equals(item.get("type")))
+                .doOnNext(item -> blobs.put((String) item.get("path"), (String) item.get("id")))
+                .blockLast();
+        TreeIndex index = new TreeIndex(blobs, false);
+        objectCache.put(ImmutableObjectCache.ObjectKind.TREE, getProviderName(), repositoryId, commitSha, index);
+        return index;
+    }
+
     @Override
     public List<PullRequestDTO> getPullRequests(String repositoryId, String state) {
         try {
+            Optional<List<PullRequestDTO>> listed = pullRequestStore.getListing(getProviderName(), repositoryId, state);
+            if (listed.isPresent()) {
+                return listed.get();
+            }
             String gitlabState = mapToGitLabState(state);
 
             List<Map<String, Object>> mrList = webClient.get()
@@ -309,33 +606,133 @@ public class GitLabServiceImpl implements GitService {
                     mergeRequests.add(mapToPullRequestDTO(mr, repositoryId));
                 }
             }
+            pullRequestStore.putListing(getProviderName(), repositoryId, state, mergeRequests);
             return mergeRequests;
         } catch (Exception e) {
-            log.error("Failed to get merge requests for repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to get merge requests for repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to get merge requests for repository: " + repositoryId, e);
         }
     }
     
+    @Override
+    public Flux<PullRequestDTO> streamPullRequests(String repositoryId, String state) {
+        Map<String, Object> uriVariables = new HashMap<>();
+        uriVariables.put("id", repositoryId);
+        uriVariables.put("state", mapToGitLabState(state));
+        return streamPages("/projects/{id}/merge_requests?state={state}", uriVariables, Pagination.MAX_PAGE_SIZE)
+                .map(mr -> storePullRequest(repositoryId, mapToPullRequestDTO(mr, repositoryId)))
+                .onErrorMap(e -> !(e instanceof GitApiException), e -> {
+                    errorLog.error("Failed to stream merge requests for repository {}: {}", repositoryId, e.getMessage());
+                    return new GitApiException("Failed to get merge requests for repository: " + repositoryId, e);
+                });
+    }
+
+
+    @Override
+    public CursorPage<PullRequestDTO> getPullRequestPage(String repositoryId, String state, PageCursor cursor) {
+        try {
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("id", repositoryId);
+            uriVariables.put("state", mapToGitLabState(state));
+            return Pagination.page(
+                    fetchCursorPage("/projects/{id}/merge_requests?state={state}&order_by=created_at&sort=asc", uriVariables, cursor),
+                    cursor, Pagination::hasGitLabNextPage,
+                    mr -> storePullRequest(repositoryId, mapToPullRequestDTO(mr, repositoryId)), mergeRequests -> null);
+        } catch (Exception e) {
+            errorLog.error("Failed to get merge request page for repository {}: {}", repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get merge requests for repository: " + repositoryId, e);
+        }
+    }
+
+    @Override
+    public List<PullRequestDTO> getPullRequestsUpdatedSince(String repositoryId, Instant since) {
+        try {
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("id", repositoryId);
+            uriVariables.put("since", since.toString());
+            return streamPages("/projects/{id}/merge_requests?state=all&updated_after={since}&order_by=updated_at&sort=desc",
+                    uriVariables, Pagination.MAX_PAGE_SIZE)
+                    .map(mr -> storePullRequest(repositoryId, mapToPullRequestDTO(mr, repositoryId)))
+                    .collectList()
+                    .block();
+        } catch (Exception e) {
+            errorLog.error("Failed to get merge requests updated since {} for repository {}: {}", since, repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get merge requests for repository: " + repositoryId, e);
+        }
+    }
+
     @Override
     public Optional<PullRequestDTO> getPullRequest(String repositoryId, String pullRequestId) {
+        Optional<PullRequestDTO> stored = getStoredPullRequest(repositoryId, pullRequestId);
+        if (stored.isPresent()) {
+            return stored;
+        }
+        if (negativeCache.isKnownMissing(getProviderName(), repositoryId, NegativeResultCache.Kind.PULL_REQUEST, pullRequestId)) {
+            return Optional.empty();
+        }
+        long generation = negativeCache.generation(getProviderName(), repositoryId);
         try {
-            Map<String, Object> mrData = webClient.get()
+            ResponseEntity<Map> response = webClient.get()
                     .uri("/projects/{id}/merge_requests/{merge_request_iid}", repositoryId, pullRequestId)
                     .headers(this::setAuthHeader)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.NOT_FOUND))
                     .block();
 
-            if (mrData != null) {
-                return Optional.of(mapToPullRequestDTO(mrData, repositoryId));
+            if (Responses.is(response, HttpStatus.NOT_FOUND)) {
+                negativeCache.recordMissing(getProviderName(), repositoryId, NegativeResultCache.Kind.PULL_REQUEST, pullRequestId, generation);
+                return Optional.empty();
+            }
+            if (response.getBody() != null) {
+                return Optional.of(storePullRequest(repositoryId, mapToPullRequestDTO(response.getBody(), repositoryId)));
             }
             return Optional.empty();
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to get merge request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
+            errorLog.error("Failed to get merge request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
             return Optional.empty();
         }
     }
 
+    @Override
+    public RawResponse getRaw(RawRequest request) {
+        try {
+            Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("id", request.repositoryId());
+            uriVariables.put("itemId", request.id());
+            uriVariables.put("branch", request.branch());
+            uriVariables.put("state", request.state() != null ? mapToGitLabState(request.state()) : null);
+            String uri = switch (request.resource()) {
+                case REPOSITORIES -> "/projects?membership=true";
+                case REPOSITORY -> "/projects/{id}";
+                case BRANCHES -> "/projects/{id}/repository/branches";
+                case BRANCH -> "/projects/{id}/repository/branches/{itemId}";
+                case COMMITS -> request.branch() != null && !request.branch().isEmpty()
+                        ? "/projects/{id}/repository/commits?ref_name={branch}"
+                        : "/projects/{id}/repository/commits";
+                case COMMIT -> "/projects/{id}/repository/commits/{itemId}";
+                case PULL_REQUESTS -> "/projects/{id}/merge_requests?state={state}";
+                case PULL_REQUEST -> "/projects/{id}/merge_requests/{itemId}";
+            };
+
+            Predicate<HttpHeaders> hasNextPage = null;
+            if (request.resource().isPaginated()) {
+                uri += (uri.contains("?") ? "&" : "?") + "per_page={perPage}&page={page}";
+                uriVariables.put("perPage", Math.min(request.perPage(), Pagination.MAX_PAGE_SIZE));
+                uriVariables.put("page", request.page());
+                hasNextPage = Pagination::hasGitLabNextPage;
+            }
+            return Passthrough.fetch(webClient.get().uri(uri, uriVariables).headers(this::setAuthHeader),
+                    request.ifNoneMatch(), request.page(), hasNextPage);
+        } catch (WebClientResponseException e) {
+            // The client sees the provider's own status, as it asked for the provider's own response
+            throw e;
+        } catch (Exception e) {
+            errorLog.error("Failed to read {} for repository {}: {}", request.resource(), request.repositoryId(), e.getMessage());
+            throw new GitApiException("Failed to read " + request.resource() + " from GitLab", e);
+        }
+    }
+
     @Override
     public PullRequestDTO createPullRequest(String repositoryId, String title, String sourceBranch, String targetBranch, String description) {
         try {
@@ -355,11 +752,14 @@ public class GitLabServiceImpl implements GitService {
                     .block();
 
             if (responseData != null) {
-                return mapToPullRequestDTO(responseData, repositoryId);
+                negativeCache.invalidate(getProviderName(), repositoryId,
+                        NegativeResultCache.Kind.PULL_REQUEST, responseData.get("iid").toString());
+                pullRequestStore.invalidateRepository(getProviderName(), repositoryId);
+                return storePullRequest(repositoryId, mapToPullRequestDTO(responseData, repositoryId));
             }
             throw new GitApiException("Failed to create merge request");
         } catch (Exception e) {
-            log.error("Failed to create merge request for repository {}: {}", repositoryId, e.getMessage());
+            errorLog.error("Failed to create merge request for repository {}: {}", repositoryId, e.getMessage());
             throw new GitApiException("Failed to create merge request: " + e.getMessage(), e);
         }
     }
@@ -382,11 +782,11 @@ public class GitLabServiceImpl implements GitService {
                     .block();
 
             if (responseData != null) {
-                return mapToPullRequestDTO(responseData, repositoryId);
+                return storePullRequest(repositoryId, mapToPullRequestDTO(responseData, repositoryId));
             }
             throw new GitApiException("Failed to update merge request");
         } catch (Exception e) {
-            log.error("Failed to update merge request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
+            errorLog.error("Failed to update merge request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
             throw new GitApiException("Failed to update merge request: " + e.getMessage(), e);
         }
     }
@@ -394,21 +794,77 @@ public class GitLabServiceImpl implements GitService {
     @Override
     public boolean mergePullRequest(String repositoryId, String pullRequestId) {
         try {
-            webClient.put()
+            // 405 when the merge request cannot be merged, 406 on conflicts, 409 when its head moved
+            ResponseEntity<Map> response = webClient.put()
                     .uri("/projects/{id}/merge_requests/{merge_request_iid}/merge", repositoryId, pullRequestId)
                     .headers(this::setAuthHeader)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+                    .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.NOT_FOUND,
+                            HttpStatus.METHOD_NOT_ALLOWED, HttpStatus.NOT_ACCEPTABLE, HttpStatus.CONFLICT))
                     .block();
 
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                log.debug("Merge request {} of {} was not merged: {}", pullRequestId, repositoryId, response.getStatusCode());
+                return false;
+            }
+            pullRequestStore.invalidateRepository(getProviderName(), repositoryId);
             return true;
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to merge request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
+            errorLog.error("Failed to merge request {} for repository {}: {}", pullRequestId, repositoryId, e.getMessage());
             return false;
         }
     }
 
+    private Flux<Map<String, Object>> streamPages(String uri, Map<String, Object> uriVariables, int perPage) {
+        String pagedUri = uri + (uri.contains("?") ? "&" : "?") + "per_page={perPage}&page={page}";
+        return Pagination.stream(page -> {
+            Map<String, Object> pageVariables = new HashMap<>(uriVariables);
+            pageVariables.put("perPage", perPage);
+            pageVariables.put("page", page);
+            return fetchPage(pagedUri, pageVariables);
+        }, Pagination::hasGitLabNextPage)
+                .contextWrite(TokenPool::captureSharedRead)
+                .contextWrite(UpstreamCallContext::capture);
+    }
+
+    private Mono<ResponseEntity<List<Map<String, Object>>>> fetchCursorPage(String uri, Map<String, Object> uriVariables,
+                                                                           PageCursor cursor) {
+        Map<String, Object> pageVariables = new HashMap<>(uriVariables);
+        pageVariables.put("perPage", cursor.pageSize());
+        pageVariables.put("page", cursor.page());
+        return fetchPage(uri + (uri.contains("?") ? "&" : "?") + "per_page={perPage}&page={page}", pageVariables)
+                .contextWrite(TokenPool::captureSharedRead)
+                .contextWrite(UpstreamCallContext::capture);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Mono<ResponseEntity<List<Map<String, Object>>>> fetchPage(String uri, Map<String, Object> uriVariables) {
+        return (Mono) webClient.get()
+                .uri(uri, uriVariables)
+                .headers(this::setAuthHeader)
+                .retrieve()
+                .toEntityList(Map.class);
+    }
+
+    private Optional<PullRequestDTO> getStoredPullRequest(String repositoryKey, String pullRequestId) {
+        try {
+            return pullRequestStore.get(getProviderName(), repositoryKey, Integer.parseInt(pullRequestId));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private PullRequestDTO storePullRequest(String repositoryKey, PullRequestDTO pullRequest) {
+        pullRequestStore.put(getProviderName(), repositoryKey, pullRequest);
+        return pullRequest;
+    }
+
     private void setAuthHeader(HttpHeaders headers) {
+        setAuthHeader(headers, token);
+    }
+
+    private static void setAuthHeader(HttpHeaders headers, String token) {
         if (token != null && !token.isEmpty()) {
             headers.setBearerAuth(token);
         }
@@ -445,6 +901,7 @@ public class GitLabServiceImpl implements GitService {
                 .author((String) commitData.get("author_name"))
                 .timestamp(dateTime)
                 .repositoryId(repositoryId)
+                .parentShas((List<String>) commitData.get("parent_ids"))
                 .build();
     }
 
@@ -453,6 +910,7 @@ public class GitLabServiceImpl implements GitService {
 
         String createdAt = (String) mrData.get("created_at");
         LocalDateTime dateTime = LocalDateTime.parse(createdAt, DateTimeFormatter.ISO_DATE_TIME);
+        String updatedAt = (String) mrData.get("updated_at");
 
         String state = (String) mrData.get("state");
         if ("merged".equals(state)) {
@@ -471,6 +929,10 @@ public class GitLabServiceImpl implements GitService {
                 .author((String) author.get("username"))
                 .state(state)
                 .createdAt(dateTime)
+                .updatedAt(updatedAt != null ? LocalDateTime.parse(updatedAt, DateTimeFormatter.ISO_DATE_TIME) : null)
+                .isMerged("merged".equals(state))
+                .isDraft(Boolean.TRUE.equals(mrData.get("draft")))
+                .url((String) mrData.get("web_url"))
                 .sourceBranch((String) mrData.get("source_branch"))
                 .targetBranch((String) mrData.get("target_branch"))
                 .repositoryId(repositoryId)
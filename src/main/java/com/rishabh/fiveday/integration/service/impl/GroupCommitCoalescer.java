@@ -0,0 +1,151 @@
+package com.rishabh.fiveday.integration.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.upstream.Deadline;
+import com.rishabh.fiveday.integration.upstream.UpstreamCallContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in group commit: merges commits to the same branch that arrive within a short window
+ * into one tree and commit. The first caller of a window waits for the window to close and then
+ * writes the combined commit; every caller of the window receives that commit. A request that
+ * writes different content to a path already written in the open window starts a new window
+ * instead, so no caller's changes are silently overwritten.
+ */
+@Component
+@Slf4j
+public class GroupCommitCoalescer {
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxFiles;
+    private final Map<String, Batch> openBatches = new HashMap<>();
+
+    public GroupCommitCoalescer(@Value("${git.commit.group.enabled:false}") boolean enabled,
+                                @Value("${git.commit.group.window-millis:200}") long windowMillis,
+                                @Value("${git.commit.group.max-files:500}") int maxFiles) {
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Commit files, possibly together with other commits to the same branch
+     * @param key identifies the branch, e.g. provider, repository and branch name
+     * @param message commit message
+     * @param files map of file paths to file content
+     * @param committer writes one commit from a message and the combined files
+     * @return the commit containing the files
+     */
+    public CommitDTO commit(String key, String message, Map<String, String> files,
+                            BiFunction<String, Map<String, String>, CommitDTO> committer) {
+        if (!enabled) {
+            return committer.apply(message, files);
+        }
+
+        Batch batch;
+        boolean leader = false;
+        synchronized (openBatches) {
+            batch = openBatches.get(key);
+            if (batch == null || !batch.accepts(files, maxFiles)) {
+                batch = new Batch();
+                openBatches.put(key, batch);
+                leader = true;
+            }
+            batch.add(message, files, UpstreamCallContext.current().deadline());
+        }
+
+        if (leader) {
+            try {
+                Thread.sleep(windowMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (openBatches) {
+                openBatches.remove(key, batch);
+            }
+            try {
+                if (batch.messages.size() > 1) {
+                    log.debug("Grouping {} commits to {} into one", batch.messages.size(), key);
+                }
+                // The combined commit is awaited by every caller of the window, so it may run until the last one gives up
+                Batch closed = batch;
+                UpstreamCallContext leaderContext = UpstreamCallContext.current();
+                UpstreamCallContext groupContext = new UpstreamCallContext(leaderContext.tenant(), leaderContext.lane(),
+                        closed.unbounded ? null : closed.deadline);
+                closed.result.complete(groupContext.call(() -> committer.apply(closed.combinedMessage(), closed.files)));
+            } catch (RuntimeException e) {
+                batch.result.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return batch.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof GitApiException gitApiException) {
+                throw gitApiException;
+            }
+            throw new GitApiException("Failed to create commit: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Commits collected during one window; guarded by the open-batches monitor until the window closes
+     */
+    private static final class Batch {
+
+        private final List<String> messages = new ArrayList<>();
+        private final Map<String, String> files = new LinkedHashMap<>();
+        private final CompletableFuture<CommitDTO> result = new CompletableFuture<>();
+        private Deadline deadline;
+        private boolean unbounded;
+
+        private boolean accepts(Map<String, String> newFiles, int maxFiles) {
+            if (files.size() + newFiles.size() > maxFiles) {
+                return false;
+            }
+            for (Map.Entry<String, String> entry : newFiles.entrySet()) {
+                if (files.containsKey(entry.getKey()) && !Objects.equals(files.get(entry.getKey()), entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void add(String message, Map<String, String> newFiles, Deadline callerDeadline) {
+            messages.add(message);
+            files.putAll(newFiles);
+            if (callerDeadline == null) {
+                unbounded = true;
+            } else if (deadline == null || deadline.earliest(callerDeadline) == deadline) {
+                deadline = callerDeadline;
+            }
+        }
+
+        private String combinedMessage() {
+            if (messages.size() == 1) {
+                return messages.get(0);
+            }
+            StringBuilder combined = new StringBuilder("Combine ").append(messages.size()).append(" commits\n");
+            for (String message : messages) {
+                combined.append("\n* ").append(message);
+            }
+            return combined.toString();
+        }
+    }
+}
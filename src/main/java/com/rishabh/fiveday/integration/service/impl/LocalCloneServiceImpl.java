@@ -0,0 +1,594 @@
+package com.rishabh.fiveday.integration.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.errors.RevisionSyntaxException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.CommitTimeRevFilter;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.rishabh.fiveday.integration.auth.TokenValidation;
+import com.rishabh.fiveday.integration.dto.BranchDTO;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.dto.PullRequestDTO;
+import com.rishabh.fiveday.integration.dto.RepositoryDTO;
+import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.service.CursorPage;
+import com.rishabh.fiveday.integration.service.GitService;
+import com.rishabh.fiveday.integration.service.PageCursor;
+import com.rishabh.fiveday.integration.service.RawRequest;
+import com.rishabh.fiveday.integration.service.RawResponse;
+import com.rishabh.fiveday.integration.webhook.RepositoryChangedEvent;
+import com.rishabh.fiveday.integration.upstream.TokenPool;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local-clone implementation of the GitService interface.
+ * Branch and commit reads are served from a bare clone of each repository on local disk, so they
+ * cost local disk and CPU instead of provider quota. Clones are created on first use and fetched
+ * incrementally on a schedule, and before the next read after a webhook or one of our own writes
+ * reported a change. Repository listings, pull/merge requests and all writes are delegated to the
+ * upstream provider.
+ * Repository ids are the upstream provider's ids, optionally prefixed with the provider
+ * (e.g. "gitlab:123"); without a prefix the configured default upstream is used.
+ */
+@Service
+@Slf4j
+public class LocalCloneServiceImpl implements GitService {
+
+    private static final RefSpec HEADS = new RefSpec("+refs/heads/*:refs/heads/*");
+    private static final RateLimitedLog errorLog = new RateLimitedLog(log, Duration.ofSeconds(10));
+
+    private final Map<String, GitService> upstreams = new HashMap<>();
+    private final GitService defaultUpstream;
+    private final Path baseDir;
+    private final String remoteUrlTemplate;
+    private final Map<String, LocalClone> clones = new ConcurrentHashMap<>();
+    private final TokenPool tokenPool;
+    private String token;
+
+    public LocalCloneServiceImpl(GitHubServiceImpl gitHubService, GitLabServiceImpl gitLabService,
+                                 @Value("${git.local.base-dir:${java.io.tmpdir}/git-integration/clones}") String baseDir,
+                                 @Value("${git.local.upstream:github}") String defaultUpstream,
+                                 @Value("${git.local.remote-url-template:}") String remoteUrlTemplate,
+                                 TokenPool tokenPool) {
+        upstreams.put(gitHubService.getProviderName(), gitHubService);
+        upstreams.put(gitLabService.getProviderName(), gitLabService);
+        this.defaultUpstream = upstreams.get(defaultUpstream.toLowerCase());
+        if (this.defaultUpstream == null) {
+            throw new IllegalArgumentException("Unsupported upstream Git provider: " + defaultUpstream);
+        }
+        this.baseDir = Paths.get(baseDir);
+        this.remoteUrlTemplate = remoteUrlTemplate;
+        this.tokenPool = tokenPool;
+    }
+
+    @Override
+    public String getProviderName() {
+        return "local";
+    }
+
+    @Override
+    public boolean authenticate(String token) {
+        this.token = token;
+        return defaultUpstream.authenticate(token);
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return defaultUpstream.isAuthenticated();
+    }
+
+    @Override
+    public void setAuthToken(String token) {
+        this.token = token;
+        defaultUpstream.setAuthToken(token);
+    }
+
+    @Override
+    public TokenValidation validateToken(String token) {
+        return defaultUpstream.validateToken(token);
+    }
+
+    @Override
+    public void setValidatedAuthToken(String token) {
+        this.token = token;
+        defaultUpstream.setValidatedAuthToken(token);
+    }
+
+    @Override
+    public void clearAuthToken(String token) {
+        if (token != null && token.equals(this.token)) {
+            this.token = null;
+        }
+        defaultUpstream.clearAuthToken(token);
+    }
+
+    @Override
+    public List<RepositoryDTO> getRepositories() {
+        return defaultUpstream.getRepositories();
+    }
+
+
+    @Override
+    public CursorPage<RepositoryDTO> getRepositoryPage(PageCursor cursor) {
+        return defaultUpstream.getRepositoryPage(cursor);
+    }
+
+    @Override
+    public Optional<RepositoryDTO> getRepository(String repositoryId) {
+        Target target = resolve(repositoryId);
+        return target.upstream().getRepository(target.repositoryId());
+    }
+
+    @Override
+    public List<BranchDTO> getBranches(String repositoryId) {
+        Repository repository = open(repositoryId);
+        try {
+            List<BranchDTO> branches = new ArrayList<>();
+            for (Ref ref : repository.getRefDatabase().getRefsByPrefix(Constants.R_HEADS)) {
+                branches.add(mapToBranchDTO(ref, repositoryId));
+            }
+            return branches;
+        } catch (IOException e) {
+            errorLog.error("Failed to read branches of local clone {}: {}", repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get branches for repository: " + repositoryId, e);
+        }
+    }
+
+
+    @Override
+    public CursorPage<BranchDTO> getBranchPage(String repositoryId, PageCursor cursor) {
+        Repository repository = open(repositoryId);
+        try {
+            // Keyset pagination on the branch name: created or deleted branches never shift later pages
+            List<Ref> refs = new ArrayList<>(repository.getRefDatabase().getRefsByPrefix(Constants.R_HEADS));
+            refs.sort(Comparator.comparing(Ref::getName));
+            String after = cursor.anchor() != null ? Constants.R_HEADS + cursor.anchor() : null;
+
+            List<BranchDTO> branches = new ArrayList<>();
+            boolean more = false;
+            for (Ref ref : refs) {
+                if (after != null && ref.getName().compareTo(after) <= 0) {
+                    continue;
+                }
+                if (branches.size() >= cursor.pageSize()) {
+                    more = true;
+                    break;
+                }
+                branches.add(mapToBranchDTO(ref, repositoryId));
+            }
+            String nextCursor = more ? cursor.next(branches.get(branches.size() - 1).getName()).encode() : null;
+            return new CursorPage<>(branches, nextCursor);
+        } catch (IOException e) {
+            errorLog.error("Failed to read branches of local clone {}: {}", repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get branches for repository: " + repositoryId, e);
+        }
+    }
+
+    @Override
+    public Optional<BranchDTO> getBranch(String repositoryId, String branchName) {
+        Repository repository = open(repositoryId);
+        try {
+            Ref ref = repository.exactRef(Constants.R_HEADS + branchName);
+            return Optional.ofNullable(ref).map(r -> mapToBranchDTO(r, repositoryId));
+        } catch (IOException e) {
+            errorLog.error("Failed to read branch {} of local clone {}: {}", branchName, repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get branch: " + branchName, e);
+        }
+    }
+
+    @Override
+    public List<CommitDTO> getCommits(String repositoryId, String branch, int limit) {
+        Repository repository = open(repositoryId);
+        String revision = branch != null && !branch.isEmpty() ? branch : Constants.HEAD;
+        try (RevWalk walk = new RevWalk(repository)) {
+            ObjectId start = repository.resolve(revision);
+            if (start == null) {
+                throw new GitApiException("Unknown branch or commit: " + revision);
+            }
+            walk.markStart(walk.parseCommit(start));
+
+            List<CommitDTO> commits = new ArrayList<>();
+            for (RevCommit commit : walk) {
+                if (commits.size() >= limit) {
+                    break;
+                }
+                commits.add(mapToCommitDTO(commit, repositoryId));
+            }
+            return commits;
+        } catch (IOException | RevisionSyntaxException e) {
+            errorLog.error("Failed to read commits of local clone {}: {}", repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get commits for repository: " + repositoryId, e);
+        }
+    }
+
+
+    @Override
+    public CursorPage<CommitDTO> getCommitPage(String repositoryId, String branch, PageCursor cursor) {
+        Repository repository = open(repositoryId);
+        // Later pages walk from the head commit of the first page rather than the moving branch
+        String revision = cursor.anchor() != null ? cursor.anchor()
+                : branch != null && !branch.isEmpty() ? branch : Constants.HEAD;
+        try (RevWalk walk = new RevWalk(repository)) {
+            ObjectId start = repository.resolve(revision);
+            if (start == null) {
+                throw new GitApiException("Unknown branch or commit: " + revision);
+            }
+            walk.markStart(walk.parseCommit(start));
+
+            long skip = (long) (cursor.page() - 1) * cursor.pageSize();
+            List<CommitDTO> commits = new ArrayList<>();
+            boolean more = false;
+            for (RevCommit commit : walk) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                if (commits.size() >= cursor.pageSize()) {
+                    more = true;
+                    break;
+                }
+                commits.add(mapToCommitDTO(commit, repositoryId));
+            }
+            String nextCursor = more ? cursor.next(start.getName()).encode() : null;
+            return new CursorPage<>(commits, nextCursor);
+        } catch (IOException | RevisionSyntaxException e) {
+            errorLog.error("Failed to read commits of local clone {}: {}", repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get commits for repository: " + repositoryId, e);
+        }
+    }
+
+    @Override
+    public List<CommitDTO> getCommitsSince(String repositoryId, String branch, Instant since) {
+        Repository repository = open(repositoryId);
+        String revision = branch != null && !branch.isEmpty() ? branch : Constants.HEAD;
+        try (RevWalk walk = new RevWalk(repository)) {
+            ObjectId start = repository.resolve(revision);
+            if (start == null) {
+                throw new GitApiException("Unknown branch or commit: " + revision);
+            }
+            walk.markStart(walk.parseCommit(start));
+            walk.setRevFilter(CommitTimeRevFilter.after(Date.from(since)));
+
+            List<CommitDTO> commits = new ArrayList<>();
+            for (RevCommit commit : walk) {
+                commits.add(mapToCommitDTO(commit, repositoryId));
+            }
+            return commits;
+        } catch (IOException | RevisionSyntaxException e) {
+            errorLog.error("Failed to read commits of local clone {}: {}", repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get commits for repository: " + repositoryId, e);
+        }
+    }
+
+    @Override
+    public Optional<CommitDTO> getCommit(String repositoryId, String commitId) {
+        Repository repository = open(repositoryId);
+        try (RevWalk walk = new RevWalk(repository)) {
+            ObjectId id = repository.resolve(commitId);
+            if (id == null) {
+                return Optional.empty();
+            }
+            return Optional.of(mapToCommitDTO(walk.parseCommit(id), repositoryId));
+        } catch (MissingObjectException | IncorrectObjectTypeException | RevisionSyntaxException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            errorLog.error("Failed to read commit {} of local clone {}: {}", commitId, repositoryId, e.getMessage());
+            throw new GitApiException("Failed to get commit: " + commitId, e);
+        }
+    }
+
+    @Override
+    public BranchDTO createBranch(String repositoryId, String branchName, String sourceBranch) {
+        Target target = resolve(repositoryId);
+        BranchDTO branch = target.upstream().createBranch(target.repositoryId(), branchName, sourceBranch);
+        markStale(target);
+        return branch;
+    }
+
+    @Override
+    public boolean deleteBranch(String repositoryId, String branchName) {
+        Target target = resolve(repositoryId);
+        boolean deleted = target.upstream().deleteBranch(target.repositoryId(), branchName);
+        markStale(target);
+        return deleted;
+    }
+
+    @Override
+    public CommitDTO createCommit(String repositoryId, String branch, String message, Map<String, String> files) {
+        Target target = resolve(repositoryId);
+        CommitDTO commit = target.upstream().createCommit(target.repositoryId(), branch, message, files);
+        markStale(target);
+        return commit;
+    }
+
+    @Override
+    public List<PullRequestDTO> getPullRequests(String repositoryId, String state) {
+        Target target = resolve(repositoryId);
+        return target.upstream().getPullRequests(target.repositoryId(), state);
+    }
+
+
+    @Override
+    public CursorPage<PullRequestDTO> getPullRequestPage(String repositoryId, String state, PageCursor cursor) {
+        Target target = resolve(repositoryId);
+        return target.upstream().getPullRequestPage(target.repositoryId(), state, cursor);
+    }
+
+    @Override
+    public Optional<PullRequestDTO> getPullRequest(String repositoryId, String pullRequestId) {
+        Target target = resolve(repositoryId);
+        return target.upstream().getPullRequest(target.repositoryId(), pullRequestId);
+    }
+
+    @Override
+    public List<PullRequestDTO> getPullRequestsUpdatedSince(String repositoryId, Instant since) {
+        Target target = resolve(repositoryId);
+        return target.upstream().getPullRequestsUpdatedSince(target.repositoryId(), since);
+    }
+
+    @Override
+    public RawResponse getRaw(RawRequest request) {
+        // Provider-native JSON only exists upstream
+        if (request.repositoryId() == null) {
+            return defaultUpstream.getRaw(request);
+        }
+        Target target = resolve(request.repositoryId());
+        return target.upstream().getRaw(request.withRepositoryId(target.repositoryId()));
+    }
+
+    @Override
+    public PullRequestDTO createPullRequest(String repositoryId, String title, String sourceBranch,
+                                            String targetBranch, String description) {
+        Target target = resolve(repositoryId);
+        return target.upstream().createPullRequest(target.repositoryId(), title, sourceBranch, targetBranch, description);
+    }
+
+    @Override
+    public PullRequestDTO updatePullRequest(String repositoryId, String pullRequestId, String state) {
+        Target target = resolve(repositoryId);
+        return target.upstream().updatePullRequest(target.repositoryId(), pullRequestId, state);
+    }
+
+    @Override
+    public boolean mergePullRequest(String repositoryId, String pullRequestId) {
+        Target target = resolve(repositoryId);
+        boolean merged = target.upstream().mergePullRequest(target.repositoryId(), pullRequestId);
+        markStale(target);
+        return merged;
+    }
+
+    /**
+     * Fetch all open clones so reads do not drift too far behind the upstream provider
+     */
+    @Scheduled(fixedDelayString = "${git.local.fetch-interval-seconds:300}",
+            initialDelayString = "${git.local.fetch-interval-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void fetchAll() {
+        for (LocalClone clone : clones.values()) {
+            try {
+                synchronized (clone) {
+                    if (clone.repository != null) {
+                        fetch(clone);
+                    }
+                }
+            } catch (GitApiException e) {
+                log.warn("Scheduled fetch of {} failed: {}", clone.key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Fetch a clone before its next read when a webhook reports a change to its repository
+     * @param event the repository change event
+     */
+    @EventListener
+    public void onRepositoryChanged(RepositoryChangedEvent event) {
+        for (String repositoryId : event.getRepositoryIds()) {
+            LocalClone clone = clones.get(event.getProvider() + "|" + repositoryId);
+            if (clone != null) {
+                clone.stale = true;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (LocalClone clone : clones.values()) {
+            synchronized (clone) {
+                if (clone.repository != null) {
+                    clone.repository.close();
+                }
+            }
+        }
+    }
+
+    private Target resolve(String repositoryId) {
+        int separator = repositoryId.indexOf(':');
+        if (separator > 0) {
+            GitService upstream = upstreams.get(repositoryId.substring(0, separator).toLowerCase());
+            if (upstream != null) {
+                return new Target(upstream, repositoryId.substring(separator + 1));
+            }
+        }
+        return new Target(defaultUpstream, repositoryId);
+    }
+
+    private void markStale(Target target) {
+        LocalClone clone = clones.get(target.upstream().getProviderName() + "|" + target.repositoryId());
+        if (clone != null) {
+            clone.stale = true;
+        }
+    }
+
+    /**
+     * Get the local clone of a repository, cloning it on first use and fetching it if marked stale
+     */
+    private Repository open(String repositoryId) {
+        Target target = resolve(repositoryId);
+        String key = target.upstream().getProviderName() + "|" + target.repositoryId();
+        LocalClone clone = clones.computeIfAbsent(key, LocalClone::new);
+
+        synchronized (clone) {
+            if (clone.repository == null) {
+                clone.repository = openOrClone(target);
+            } else if (clone.stale) {
+                fetch(clone);
+            }
+            return clone.repository;
+        }
+    }
+
+    private Repository openOrClone(Target target) {
+        String provider = target.upstream().getProviderName();
+        File dir = baseDir.resolve(provider).resolve(target.repositoryId().replaceAll("[^A-Za-z0-9._-]", "_") + ".git").toFile();
+        try {
+            if (new File(dir, "HEAD").exists()) {
+                Repository repository = new FileRepositoryBuilder().setGitDir(dir).setBare().build();
+                fetch(repository, provider);
+                return repository;
+            }
+
+            String url = remoteUrl(target);
+            log.info("Cloning {} repository {} from {} into {}", provider, target.repositoryId(), url, dir);
+            Files.createDirectories(dir.toPath().getParent());
+            // The clone keeps its repository open; it is closed on shutdown
+            return Git.cloneRepository()
+                    .setURI(url)
+                    .setDirectory(dir)
+                    .setBare(true)
+                    .setCredentialsProvider(credentials(provider))
+                    .call()
+                    .getRepository();
+        } catch (IOException | GitAPIException e) {
+            errorLog.error("Failed to clone {} repository {}: {}", provider, target.repositoryId(), e.getMessage());
+            throw new GitApiException("Failed to clone repository: " + target.repositoryId(), e);
+        }
+    }
+
+    private void fetch(LocalClone clone) {
+        // Cleared first, so a change reported while the fetch runs marks the clone again
+        clone.stale = false;
+        try {
+            fetch(clone.repository, clone.key.substring(0, clone.key.indexOf('|')));
+        } catch (GitApiException e) {
+            clone.stale = true;
+            throw e;
+        }
+    }
+
+    private void fetch(Repository repository, String provider) {
+        try (Git git = Git.wrap(repository)) {
+            git.fetch()
+                    .setRemote(Constants.DEFAULT_REMOTE_NAME)
+                    .setRefSpecs(HEADS)
+                    .setRemoveDeletedRefs(true)
+                    .setCredentialsProvider(credentials(provider))
+                    .call();
+        } catch (GitAPIException e) {
+            errorLog.error("Failed to fetch local clone {}: {}", repository.getDirectory(), e.getMessage());
+            throw new GitApiException("Failed to fetch repository: " + repository.getDirectory().getName(), e);
+        }
+    }
+
+    private String remoteUrl(Target target) {
+        if (remoteUrlTemplate != null && !remoteUrlTemplate.isBlank()) {
+            return remoteUrlTemplate
+                    .replace("{provider}", target.upstream().getProviderName())
+                    .replace("{repositoryId}", target.repositoryId());
+        }
+        return target.upstream().getRepository(target.repositoryId())
+                .map(repository -> repository.getUrl() + ".git")
+                .orElseThrow(() -> new GitApiException("Repository not found: " + target.repositoryId()));
+    }
+
+    private CredentialsProvider credentials(String provider) {
+        // Clones are shared by all callers, so a pooled service token is preferred over the session token
+        String cloneToken = tokenPool.getToken(provider).orElse(token);
+        if (cloneToken == null || cloneToken.isEmpty()) {
+            return null;
+        }
+        // GitHub accepts any user name with a token as password; GitLab expects "oauth2"
+        return new UsernamePasswordCredentialsProvider("gitlab".equals(provider) ? "oauth2" : "x-access-token", cloneToken);
+    }
+
+    private BranchDTO mapToBranchDTO(Ref ref, String repositoryId) {
+        return BranchDTO.builder()
+                .name(ref.getName().substring(Constants.R_HEADS.length()))
+                .commitSha(ref.getObjectId().getName())
+                .repositoryId(repositoryId)
+                .build();
+    }
+
+    private CommitDTO mapToCommitDTO(RevCommit commit, String repositoryId) {
+        PersonIdent author = commit.getAuthorIdent();
+        List<String> parentShas = new ArrayList<>(commit.getParentCount());
+        for (RevCommit parent : commit.getParents()) {
+            parentShas.add(parent.getName());
+        }
+
+        return CommitDTO.builder()
+                .sha(commit.getName())
+                .message(commit.getFullMessage())
+                .author(author.getName())
+                .authorEmail(author.getEmailAddress())
+                // Committer time, the clock getCommitsSince filters on, as the providers' since parameters do
+                .timestamp(LocalDateTime.ofInstant(commit.getCommitterIdent().getWhenAsInstant(), ZoneOffset.UTC))
+                .repositoryId(repositoryId)
+                .parentShas(parentShas)
+                .build();
+    }
+
+    private record Target(GitService upstream, String repositoryId) {
+    }
+
+    /**
+     * A bare clone on local disk; guarded by its own monitor while it is opened or fetched
+     */
+    private static final class LocalClone {
+
+        private final String key;
+        private Repository repository;
+        private volatile boolean stale;
+
+        private LocalClone(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.rishabh.fiveday.integration.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import com.rishabh.fiveday.integration.service.CursorPage;
+import com.rishabh.fiveday.integration.service.PageCursor;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Helper for walking paginated Git provider list endpoints as a stream.
+ * Pages are fetched one at a time and only when downstream demand requires them.
+ */
+final class Pagination {
+
+    /**
+     * Page size requested from the providers (maximum allowed by both GitHub and GitLab)
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
+    private Pagination() {
+    }
+
+    /**
+     * Stream all items of a paginated endpoint
+     * @param fetchPage fetches the given 1-based page
+     * @param hasNextPage tells from the response headers whether another page exists
+     * @return stream of raw items in upstream order
+     */
+    static Flux<Map<String, Object>> stream(IntFunction<Mono<ResponseEntity<List<Map<String, Object>>>>> fetchPage,
+                                            Predicate<HttpHeaders> hasNextPage) {
+        return fetchPage.apply(1)
+                .map(response -> new Page(1, response))
+                .expand(page -> page.hasNext(hasNextPage)
+                        ? fetchPage.apply(page.number + 1).map(response -> new Page(page.number + 1, response))
+                        : Mono.empty())
+                .concatMapIterable(Page::items, 1);
+    }
+
+    /**
+     * Fetch a single page for a cursor-paginated listing
+     * @param response the upstream page requested at the cursor's page number and size
+     * @param cursor the requested position
+     * @param hasNextPage tells from the response headers whether another page exists
+     * @param mapper maps a raw item
+     * @param anchor computes the anchor of a listing from its first page; returns null for unanchored listings
+     * @return the mapped items and the cursor of the next page
+     */
+    static <T> CursorPage<T> page(Mono<ResponseEntity<List<Map<String, Object>>>> response, PageCursor cursor,
+                                  Predicate<HttpHeaders> hasNextPage, Function<Map<String, Object>, T> mapper,
+                                  Function<List<T>, String> anchor) {
+        ResponseEntity<List<Map<String, Object>>> entity = response.block();
+        List<Map<String, Object>> body = entity != null && entity.getBody() != null ? entity.getBody() : Collections.emptyList();
+        List<T> items = new ArrayList<>(body.size());
+        for (Map<String, Object> item : body) {
+            items.add(mapper.apply(item));
+        }
+
+        String nextCursor = null;
+        if (!items.isEmpty() && hasNextPage.test(entity.getHeaders())) {
+            nextCursor = cursor.next(cursor.anchor() != null ? cursor.anchor() : anchor.apply(items)).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * GitHub signals further pages through an RFC 5988 Link header
+     * @param headers response headers
+     * @return true if a next page exists
+     */
+    static boolean hasGitHubNextPage(HttpHeaders headers) {
+        String link = headers.getFirst(HttpHeaders.LINK);
+        return link != null && link.contains("rel=\"next\"");
+    }
+
+    /**
+     * GitLab signals further pages through the X-Next-Page header
+     * @param headers response headers
+     * @return true if a next page exists
+     */
+    static boolean hasGitLabNextPage(HttpHeaders headers) {
+        String nextPage = headers.getFirst("X-Next-Page");
+        return nextPage != null && !nextPage.isBlank();
+    }
+
+    private static final class Page {
+        private final int number;
+        private final ResponseEntity<List<Map<String, Object>>> response;
+
+        private Page(int number, ResponseEntity<List<Map<String, Object>>> response) {
+            this.number = number;
+            this.response = response;
+        }
+
+        private List<Map<String, Object>> items() {
+            List<Map<String, Object>> body = response.getBody();
+            return body != null ? body : Collections.emptyList();
+        }
+
+        private boolean hasNext(Predicate<HttpHeaders> hasNextPage) {
+            return !items().isEmpty() && hasNextPage.test(response.getHeaders());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.rishabh.fiveday.integration.service.impl;
+
+import java.util.function.Predicate;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.rishabh.fiveday.integration.service.RawResponse;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Helper for relaying provider responses without decoding them.
+ * The upstream body is handed on as the DataBuffers Reactor Netty received, so serving it costs
+ * no JSON parsing and no per-item allocation. Only the status, entity tag and pagination survive.
+ */
+final class Passthrough {
+
+    private Passthrough() {
+    }
+
+    /**
+     * Send a read request and wait for the response headers
+     * @param request the prepared GET request
+     * @param ifNoneMatch entity tag to revalidate, or null
+     * @param page the requested page of a list
+     * @param hasNextPage tells from the response headers whether another page exists; null for single objects
+     * @return the response, with its body not yet read
+     */
+    static RawResponse fetch(WebClient.RequestHeadersSpec<?> request, String ifNoneMatch, int page,
+                             Predicate<HttpHeaders> hasNextPage) {
+        if (ifNoneMatch != null && !ifNoneMatch.isBlank()) {
+            // GitHub does not count a 304 against the rate limit
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        ResponseEntity<Flux<DataBuffer>> response = request.retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .block();
+
+        HttpHeaders headers = response.getHeaders();
+        Flux<DataBuffer> body = response.getBody() != null ? response.getBody() : Flux.empty();
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            // Drain the empty body so the connection and the upstream slot are released
+            body.subscribe(DataBufferUtils::release);
+            body = Flux.empty();
+        }
+        Integer nextPage = hasNextPage != null && hasNextPage.test(headers) ? page + 1 : null;
+        return new RawResponse(response.getStatusCode(), headers.getETag(), nextPage, body);
+    }
+}
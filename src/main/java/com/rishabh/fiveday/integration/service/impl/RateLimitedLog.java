@@ -0,0 +1,69 @@
+package com.rishabh.fiveday.integration.service.impl;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Error log that writes each message at most once per interval.
+ * Messages are told apart by their format, so a failing provider logs one line per operation per
+ * interval rather than one per request; the next line written says how many were dropped.
+ */
+final class RateLimitedLog {
+
+    private final Logger log;
+    private final long intervalNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    RateLimitedLog(Logger log, Duration interval) {
+        this.log = log;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Log an error unless the same message was logged within the interval
+     * @param format the message format
+     * @param args the message arguments
+     */
+    void error(String format, Object... args) {
+        if (!log.isErrorEnabled()) {
+            return;
+        }
+        long suppressed = windows.computeIfAbsent(format, k -> new Window()).admit(System.nanoTime());
+        if (suppressed == 0) {
+            log.error(format, args);
+        } else if (suppressed > 0) {
+            Object[] withCount = Arrays.copyOf(args, args.length + 1);
+            withCount[args.length] = suppressed;
+            log.error(format + " ({} similar errors suppressed)", withCount);
+        }
+    }
+
+    /**
+     * Logging window of one message; guarded by its own monitor
+     */
+    private final class Window {
+
+        private boolean started;
+        private long startNanos;
+        private long suppressed;
+
+        /**
+         * @return the number of messages dropped since the last one written, or -1 to drop this one
+         */
+        private synchronized long admit(long now) {
+            if (started && now - startNanos < intervalNanos) {
+                suppressed++;
+                return -1;
+            }
+            long dropped = suppressed;
+            started = true;
+            startNanos = now;
+            suppressed = 0;
+            return dropped;
+        }
+    }
+}
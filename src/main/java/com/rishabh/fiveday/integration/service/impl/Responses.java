@@ -0,0 +1,47 @@
+package com.rishabh.fiveday.integration.service.impl;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Helper for provider responses whose error statuses are expected outcomes.
+ * A missing branch or an unmergeable pull request is an answer, not a failure; reading it through
+ * {@code retrieve()} would build a WebClientResponseException with a stack trace and a copy of the
+ * error body only to catch it a frame later. Expected statuses come back as a bodiless entity
+ * instead, and only unexpected ones become errors.
+ */
+final class Responses {
+
+    private Responses() {
+    }
+
+    /**
+     * Read a response, for use with {@code exchangeToMono}
+     * @param response the provider response
+     * @param type the body type of a successful response
+     * @param expected error statuses that are answers rather than failures
+     * @return the entity, without a body for an expected status, or an error for any other failure
+     */
+    static <T> Mono<ResponseEntity<T>> toEntity(ClientResponse response, Class<T> type, HttpStatus... expected) {
+        for (HttpStatus status : expected) {
+            if (response.statusCode().isSameCodeAs(status)) {
+                // Discard the error body so the connection goes back to the pool
+                return response.releaseBody().then(Mono.just(ResponseEntity.status(status).<T>build()));
+            }
+        }
+        return response.statusCode().isError() ? response.createError() : response.toEntity(type);
+    }
+
+    /**
+     * Tell whether a response carries a given status
+     * @param response the entity read by {@link #toEntity}
+     * @param status the status
+     * @return true if the response has the status
+     */
+    static boolean is(ResponseEntity<?> response, HttpStatus status) {
+        return response.getStatusCode().isSameCodeAs(status);
+    }
+}
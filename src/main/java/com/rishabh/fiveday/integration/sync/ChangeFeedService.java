@@ -0,0 +1,324 @@
+package com.rishabh.fiveday.integration.sync;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.rishabh.fiveday.integration.binding.RepositoryBinding;
+import com.rishabh.fiveday.integration.binding.RepositoryBindingService;
+import com.rishabh.fiveday.integration.config.GitServiceFactory;
+import com.rishabh.fiveday.integration.dto.BranchDTO;
+import com.rishabh.fiveday.integration.dto.ChangeEventDTO;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.dto.PullRequestDTO;
+import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.service.GitService;
+import com.rishabh.fiveday.integration.service.PageCursor;
+import com.rishabh.fiveday.integration.service.RawRequest;
+import com.rishabh.fiveday.integration.service.RawResource;
+import com.rishabh.fiveday.integration.service.RawResponse;
+import com.rishabh.fiveday.integration.upstream.TokenPool;
+import com.rishabh.fiveday.integration.webhook.RepositoryChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Service polling repositories on behalf of all subscribed clients and publishing the changes
+ * it detects. Each repository with at least one subscriber is polled by a single feed, so the
+ * upstream cost does not depend on the number of viewers. Polling is adaptive: the interval is
+ * reset to the minimum after a change and doubles up to the maximum while nothing changes, and a
+ * webhook for the repository triggers an immediate poll. Branches are probed with a conditional
+ * request and only listed when the probe reports a change; pull requests are read with the
+ * providers' updated-since filters. The first poll of a feed only records the current state.
+ */
+@Service
+@Slf4j
+public class ChangeFeedService {
+
+    private final GitServiceFactory gitServiceFactory;
+    private final RepositoryBindingService bindingService;
+    private final TokenPool tokenPool;
+    private final ExecutorService executor;
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final Duration heartbeatInterval;
+    private final int maxFeeds;
+    private final int maxCommitsPerPush;
+
+    public ChangeFeedService(GitServiceFactory gitServiceFactory, RepositoryBindingService bindingService,
+                             TokenPool tokenPool,
+                             @Value("${git.feed.workers:4}") int workers,
+                             @Value("${git.feed.min-interval-seconds:15}") long minIntervalSeconds,
+                             @Value("${git.feed.max-interval-seconds:300}") long maxIntervalSeconds,
+                             @Value("${git.feed.heartbeat-seconds:30}") long heartbeatSeconds,
+                             @Value("${git.feed.max-repositories:500}") int maxFeeds,
+                             @Value("${git.feed.max-commits-per-push:100}") int maxCommitsPerPush) {
+        this.gitServiceFactory = gitServiceFactory;
+        this.bindingService = bindingService;
+        this.tokenPool = tokenPool;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "git-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.minInterval = Duration.ofSeconds(minIntervalSeconds);
+        this.maxInterval = Duration.ofSeconds(Math.max(minIntervalSeconds, maxIntervalSeconds));
+        this.heartbeatInterval = Duration.ofSeconds(heartbeatSeconds);
+        this.maxFeeds = maxFeeds;
+        this.maxCommitsPerPush = maxCommitsPerPush;
+    }
+
+    /**
+     * Subscribe to the changes of a repository; polling starts with the first subscriber and stops
+     * when the last one cancels
+     * @param provider the Git provider
+     * @param repositoryId repository identifier
+     * @return the stream of changes
+     */
+    public Flux<ChangeEventDTO> subscribe(String provider, String repositoryId) {
+        String normalizedProvider = gitServiceFactory.getService(provider).getProviderName();
+        return Flux.defer(() -> {
+            Feed feed = acquire(normalizedProvider, repositoryId);
+            return feed.events.asFlux().doFinally(signal -> release(feed));
+        });
+    }
+
+    /**
+     * Subscribe to the changes of all repositories bound to a project
+     * @param projectId the project ID
+     * @return the merged stream of changes
+     */
+    public Flux<ChangeEventDTO> subscribeProject(String projectId) {
+        List<Flux<ChangeEventDTO>> repositoryFeeds = new ArrayList<>();
+        for (RepositoryBinding binding : bindingService.getBindingsByProject(projectId)) {
+            repositoryFeeds.add(subscribe(binding.getProvider(), binding.getRepositoryId()));
+        }
+        return Flux.merge(repositoryFeeds);
+    }
+
+    /**
+     * Interval at which idle event streams should send a keep-alive
+     * @return the heartbeat interval
+     */
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    /**
+     * Start the polls that are due
+     */
+    @Scheduled(fixedDelayString = "${git.feed.tick-millis:1000}")
+    public void pollDueFeeds() {
+        Instant now = Instant.now();
+        for (Feed feed : feeds.values()) {
+            if (!feed.polling && !now.isBefore(feed.nextPollAt)) {
+                feed.polling = true;
+                executor.execute(() -> poll(feed));
+            }
+        }
+    }
+
+    /**
+     * Poll a repository right away when its provider reports a change
+     */
+    @EventListener
+    public void onRepositoryChanged(RepositoryChangedEvent event) {
+        for (String repositoryId : event.getRepositoryIds()) {
+            Feed feed = feeds.get(event.getProvider() + "|" + repositoryId);
+            if (feed != null) {
+                feed.nextPollAt = Instant.now();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Feed acquire(String provider, String repositoryId) {
+        String key = provider + "|" + repositoryId;
+        synchronized (feeds) {
+            Feed feed = feeds.get(key);
+            if (feed == null) {
+                if (feeds.size() >= maxFeeds) {
+                    throw new GitApiException("Too many watched repositories, try again later");
+                }
+                feed = new Feed(key, provider, repositoryId, minInterval);
+                feeds.put(key, feed);
+            }
+            feed.subscribers++;
+            return feed;
+        }
+    }
+
+    private void release(Feed feed) {
+        synchronized (feeds) {
+            if (--feed.subscribers == 0) {
+                feeds.remove(feed.key);
+                feed.events.tryEmitComplete();
+            }
+        }
+    }
+
+    private void poll(Feed feed) {
+        boolean changed = false;
+        try {
+            GitService service = gitServiceFactory.getService(feed.provider);
+            // The result goes to every subscriber, so the polls are shared reads
+            changed = tokenPool.sharedRead(() -> pollBranches(feed, service) | pollPullRequests(feed, service));
+            feed.initialized = true;
+        } catch (Exception e) {
+            log.warn("Change feed poll of {} failed: {}", feed.key, e.getMessage());
+        } finally {
+            feed.interval = changed ? minInterval : min(feed.interval.multipliedBy(2), maxInterval);
+            feed.nextPollAt = Instant.now().plus(feed.interval);
+            feed.polling = false;
+        }
+    }
+
+    private boolean pollBranches(Feed feed, GitService service) {
+        // A 304 probe costs no rate limit, but only covers the branches on its page
+        RawResponse probe = service.getRaw(new RawRequest(RawResource.BRANCHES, feed.repositoryId, null, null, null,
+                1, PageCursor.MAX_PAGE_SIZE, feed.branchEtag));
+        probe.body().doOnNext(DataBufferUtils::release).then().block();
+        if (probe.status().isSameCodeAs(HttpStatus.NOT_MODIFIED) && feed.branchesOnOnePage) {
+            return false;
+        }
+        if (!probe.status().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            feed.branchEtag = probe.etag();
+            feed.branchesOnOnePage = probe.nextPage() == null;
+        }
+
+        List<BranchDTO> branches = service.streamBranches(feed.repositoryId).collectList().block();
+        Map<String, BranchDTO> current = new HashMap<>();
+        boolean changed = false;
+        for (BranchDTO branch : branches) {
+            current.put(branch.getName(), branch);
+            BranchDTO previous = feed.branches.get(branch.getName());
+            if (!feed.initialized) {
+                continue;
+            }
+            if (previous == null) {
+                publish(feed, ChangeType.BRANCH_CREATED, branch.getName(), branch);
+                changed = true;
+            } else if (!Objects.equals(previous.getCommitSha(), branch.getCommitSha())) {
+                publish(feed, ChangeType.BRANCH_UPDATED, branch.getName(), branch);
+                publishCommits(feed, service, branch, previous.getCommitSha());
+                changed = true;
+            } else if (previous.isProtected() != branch.isProtected()) {
+                publish(feed, ChangeType.BRANCH_UPDATED, branch.getName(), branch);
+                changed = true;
+            }
+        }
+        if (feed.initialized) {
+            for (String name : feed.branches.keySet()) {
+                if (!current.containsKey(name)) {
+                    publish(feed, ChangeType.BRANCH_DELETED, name, name);
+                    changed = true;
+                }
+            }
+        }
+        feed.branches = current;
+        return changed;
+    }
+
+    private void publishCommits(Feed feed, GitService service, BranchDTO branch, String previousSha) {
+        // Walk back from the new head to the old one; a force push stops at the limit instead
+        List<CommitDTO> commits = service.streamCommits(feed.repositoryId, branch.getCommitSha(), maxCommitsPerPush)
+                .takeWhile(commit -> !commit.getSha().equals(previousSha))
+                .collectList()
+                .block();
+        for (int i = commits.size() - 1; i >= 0; i--) {
+            publish(feed, ChangeType.COMMIT_PUSHED, branch.getName(), commits.get(i));
+        }
+    }
+
+    private boolean pollPullRequests(Feed feed, GitService service) {
+        List<PullRequestDTO> pullRequests = service.getPullRequestsUpdatedSince(feed.repositoryId, feed.pullRequestWatermark);
+        boolean changed = false;
+        for (int i = pullRequests.size() - 1; i >= 0; i--) {
+            PullRequestDTO pullRequest = pullRequests.get(i);
+            // The watermark is inclusive, so pull requests updated exactly at it come back on every poll
+            LocalDateTime previous = feed.pullRequestVersions.put(pullRequest.getId(), pullRequest.getUpdatedAt());
+            if (feed.initialized && !Objects.equals(previous, pullRequest.getUpdatedAt())) {
+                publish(feed, ChangeType.PULL_REQUEST_UPDATED, pullRequest.getSourceBranch(), pullRequest);
+                changed = true;
+            }
+            if (pullRequest.getUpdatedAt() != null) {
+                // Update times are set by the provider, so the newest one seen is a watermark on its clock
+                Instant updatedAt = pullRequest.getUpdatedAt().toInstant(ZoneOffset.UTC);
+                if (updatedAt.isAfter(feed.pullRequestWatermark)) {
+                    feed.pullRequestWatermark = updatedAt;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private void publish(Feed feed, ChangeType type, String branch, Object data) {
+        feed.events.tryEmitNext(ChangeEventDTO.builder()
+                .type(type.name())
+                .provider(feed.provider)
+                .repositoryId(feed.repositoryId)
+                .branch(branch)
+                .data(data)
+                .detectedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    /**
+     * Polling state of one repository. Subscriber counts are guarded by the feed map; the observed
+     * state is only touched by the single poll in progress.
+     */
+    private static final class Feed {
+
+        private final String key;
+        private final String provider;
+        private final String repositoryId;
+        private final Sinks.Many<ChangeEventDTO> events = Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+        private volatile boolean polling;
+        private volatile Instant nextPollAt = Instant.now();
+        private Duration interval;
+        private boolean initialized;
+        private String branchEtag;
+        private boolean branchesOnOnePage;
+        private Map<String, BranchDTO> branches = new HashMap<>();
+        private final Map<Long, LocalDateTime> pullRequestVersions = new HashMap<>();
+        private Instant pullRequestWatermark = Instant.now();
+
+        private Feed(String key, String provider, String repositoryId, Duration interval) {
+            this.key = key;
+            this.provider = provider;
+            this.repositoryId = repositoryId;
+            this.interval = interval;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.rishabh.fiveday.integration.sync;
+
+/**
+ * Kinds of repository changes published by the change feed
+ */
+public enum ChangeType {
+    BRANCH_CREATED,
+    BRANCH_UPDATED,
+    BRANCH_DELETED,
+    COMMIT_PUSHED,
+    PULL_REQUEST_UPDATED
+}
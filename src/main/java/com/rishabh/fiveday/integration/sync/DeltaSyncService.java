@@ -0,0 +1,227 @@
+package com.rishabh.fiveday.integration.sync;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.rishabh.fiveday.integration.config.GitServiceFactory;
+import com.rishabh.fiveday.integration.dto.BranchDTO;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.dto.DeltaDTO;
+import com.rishabh.fiveday.integration.dto.PullRequestDTO;
+import com.rishabh.fiveday.integration.service.GitService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service answering "what changed since watermark X" for polling clients.
+ * Commits and pull requests come from the providers' since/updated-after filters, so a poll costs
+ * upstream pages in proportion to the number of changes. Providers offer no such filter or deletion
+ * feed for branches; branch deltas are computed from the last observed branch list of each
+ * repository, and deletions are kept as tombstones for the retention period. A watermark older than
+ * what is retained yields a reset carrying all current branches.
+ */
+@Service
+@Slf4j
+public class DeltaSyncService {
+
+    private final GitServiceFactory gitServiceFactory;
+    private final Map<String, BranchHistory> branchHistories = new ConcurrentHashMap<>();
+    private final long overlapSeconds;
+    private final long retentionSeconds;
+    private final int maxRepositories;
+
+    public DeltaSyncService(GitServiceFactory gitServiceFactory,
+                            @Value("${git.sync.commit-overlap-seconds:60}") long overlapSeconds,
+                            @Value("${git.sync.tombstone-retention-seconds:86400}") long retentionSeconds,
+                            @Value("${git.sync.max-repositories:1000}") int maxRepositories) {
+        this.gitServiceFactory = gitServiceFactory;
+        this.overlapSeconds = overlapSeconds;
+        this.retentionSeconds = retentionSeconds;
+        this.maxRepositories = maxRepositories;
+    }
+
+    /**
+     * Get the commits of a branch committed since a watermark
+     * @param repositoryId repository identifier
+     * @param branch optional branch name (default branch if not specified)
+     * @param since the watermark of the previous poll
+     * @return the new commits and the next watermark
+     */
+    public DeltaDTO<CommitDTO> getCommitChanges(String repositoryId, String branch, Instant since) {
+        // Commit dates come from committers' clocks; the overlap absorbs clock skew at the cost of repeats
+        Instant watermark = Instant.now().minusSeconds(overlapSeconds);
+        List<CommitDTO> commits = getGitService().getCommitsSince(repositoryId, branch, since);
+        return DeltaDTO.<CommitDTO>builder()
+                .repositoryId(repositoryId)
+                .changed(commits)
+                .deleted(List.of())
+                .watermark((watermark.isAfter(since) ? watermark : since).toString())
+                .build();
+    }
+
+    /**
+     * Get the pull/merge requests created or updated since a watermark, in any state.
+     * Closing and merging are updates; providers do not report deleted pull/merge requests.
+     * @param repositoryId repository identifier
+     * @param since the watermark of the previous poll
+     * @return the changed pull/merge requests and the next watermark
+     */
+    public DeltaDTO<PullRequestDTO> getPullRequestChanges(String repositoryId, Instant since) {
+        List<PullRequestDTO> pullRequests = getGitService().getPullRequestsUpdatedSince(repositoryId, since);
+
+        // Update times are set by the provider, so the newest one seen is a watermark on the provider's clock
+        Instant watermark = since;
+        for (PullRequestDTO pullRequest : pullRequests) {
+            if (pullRequest.getUpdatedAt() != null) {
+                Instant updatedAt = pullRequest.getUpdatedAt().toInstant(ZoneOffset.UTC);
+                if (updatedAt.isAfter(watermark)) {
+                    watermark = updatedAt;
+                }
+            }
+        }
+        return DeltaDTO.<PullRequestDTO>builder()
+                .repositoryId(repositoryId)
+                .changed(pullRequests)
+                .deleted(List.of())
+                .watermark(watermark.toString())
+                .build();
+    }
+
+    /**
+     * Get the branches created, moved or deleted since a watermark
+     * @param repositoryId repository identifier
+     * @param since the watermark of the previous poll, or null for all branches
+     * @return the changed branches, tombstones of deleted branch names and the next watermark
+     */
+    public DeltaDTO<BranchDTO> getBranchChanges(String repositoryId, Instant since) {
+        GitService gitService = getGitService();
+        Instant now = Instant.now();
+        List<BranchDTO> branches = gitService.getBranches(repositoryId);
+
+        BranchHistory history = historyFor(gitService.getProviderName() + "|" + repositoryId, now);
+        if (history == null) {
+            return reset(repositoryId, branches, now);
+        }
+        synchronized (history) {
+            history.observe(branches, now);
+            history.prune(now.minusSeconds(retentionSeconds));
+            if (since == null || since.isBefore(history.horizon)) {
+                return reset(repositoryId, branches, now);
+            }
+
+            List<BranchDTO> changed = new ArrayList<>();
+            for (Map.Entry<String, Instant> entry : history.changedAt.entrySet()) {
+                if (entry.getValue().isAfter(since)) {
+                    changed.add(history.branches.get(entry.getKey()));
+                }
+            }
+            List<String> deleted = new ArrayList<>();
+            for (Map.Entry<String, Instant> entry : history.deletedAt.entrySet()) {
+                if (entry.getValue().isAfter(since)) {
+                    deleted.add(entry.getKey());
+                }
+            }
+            return DeltaDTO.<BranchDTO>builder()
+                    .repositoryId(repositoryId)
+                    .changed(changed)
+                    .deleted(deleted)
+                    .watermark(history.lastObserved.toString())
+                    .build();
+        }
+    }
+
+    private DeltaDTO<BranchDTO> reset(String repositoryId, List<BranchDTO> branches, Instant now) {
+        return DeltaDTO.<BranchDTO>builder()
+                .repositoryId(repositoryId)
+                .changed(branches)
+                .deleted(List.of())
+                .watermark(now.toString())
+                .reset(true)
+                .build();
+    }
+
+    private BranchHistory historyFor(String key, Instant now) {
+        BranchHistory history = branchHistories.get(key);
+        if (history != null) {
+            return history;
+        }
+        if (branchHistories.size() >= maxRepositories) {
+            Instant cutoff = now.minusSeconds(retentionSeconds);
+            branchHistories.values().removeIf(candidate -> candidate.lastObserved().isBefore(cutoff));
+            if (branchHistories.size() >= maxRepositories) {
+                log.debug("Branch history limit reached, not tracking {}", key);
+                return null;
+            }
+        }
+        return branchHistories.computeIfAbsent(key, k -> new BranchHistory(now));
+    }
+
+    private GitService getGitService() {
+        return gitServiceFactory.getService();
+    }
+
+    /**
+     * Observed branch heads of one repository with the time each branch last changed or was deleted;
+     * guarded by its own monitor
+     */
+    private static final class BranchHistory {
+
+        private final Map<String, BranchDTO> branches = new HashMap<>();
+        private final Map<String, Instant> changedAt = new HashMap<>();
+        private final Map<String, Instant> deletedAt = new HashMap<>();
+        private Instant horizon;
+        private Instant lastObserved;
+
+        private BranchHistory(Instant start) {
+            this.horizon = start;
+            this.lastObserved = start;
+        }
+
+        private synchronized Instant lastObserved() {
+            return lastObserved;
+        }
+
+        private void observe(List<BranchDTO> current, Instant observedAt) {
+            if (observedAt.isBefore(lastObserved)) {
+                // A newer listing has already been applied
+                return;
+            }
+            Map<String, BranchDTO> byName = new HashMap<>();
+            for (BranchDTO branch : current) {
+                byName.put(branch.getName(), branch);
+                BranchDTO previous = branches.put(branch.getName(), branch);
+                if (previous == null || !Objects.equals(previous.getCommitSha(), branch.getCommitSha())
+                        || previous.isProtected() != branch.isProtected()) {
+                    changedAt.put(branch.getName(), observedAt);
+                    deletedAt.remove(branch.getName());
+                }
+            }
+            branches.keySet().removeIf(name -> {
+                if (byName.containsKey(name)) {
+                    return false;
+                }
+                changedAt.remove(name);
+                deletedAt.put(name, observedAt);
+                return true;
+            });
+            lastObserved = observedAt;
+        }
+
+        private void prune(Instant cutoff) {
+            deletedAt.values().removeIf(time -> time.isBefore(cutoff));
+            // Deletions before the cutoff are forgotten, so older watermarks can no longer get a delta
+            if (cutoff.isAfter(horizon)) {
+                horizon = cutoff;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.rishabh.fiveday.integration.upstream;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which the caller needs an answer, on the monotonic clock
+ * @param nanos deadline in {@link System#nanoTime()} units
+ */
+public record Deadline(long nanos) {
+
+    /**
+     * Deadline a given time from now
+     * @param timeout time until the deadline
+     * @return the deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Time left until the deadline
+     * @return remaining time, zero once the deadline has passed
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, nanos - System.nanoTime()));
+    }
+
+    /**
+     * Pick the earlier of this deadline and another
+     * @param other another deadline, or null
+     * @return the earlier deadline
+     */
+    public Deadline earliest(Deadline other) {
+        return other == null || nanos - other.nanos <= 0 ? this : other;
+    }
+}
@@ -0,0 +1,129 @@
+package com.rishabh.fiveday.integration.upstream;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+/**
+ * Tracks the remaining rate-limit budget reported by each Git provider.
+ * GitHub reports X-RateLimit-* headers and GitLab reports RateLimit-* headers;
+ * both are read from every upstream response passing through {@link #filterFor(String)}.
+ * Responses to requests sent with a {@link TokenPool} token are tracked by the pool instead,
+ * so the budget here is always that of the session token.
+ * Callers that spend the budget in bulk reserve each call first, so concurrent callers cannot all
+ * see the same remaining budget and overrun the reserve together.
+ */
+@Component
+public class RateLimitTracker {
+
+    private final Map<String, RateLimitState> states = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> reservations = new ConcurrentHashMap<>();
+
+    /**
+     * Create a WebClient filter that records rate-limit headers for a provider
+     * @param provider the Git provider (e.g., "github", "gitlab")
+     * @return filter to register on the provider's WebClient
+     */
+    public ExchangeFilterFunction filterFor(String provider) {
+        return (request, next) -> next.exchange(request)
+                .doOnNext(response -> {
+                    if (request.attribute(TokenPool.POOLED_TOKEN_ATTRIBUTE).isEmpty()) {
+                        record(provider, response.headers().asHttpHeaders());
+                    }
+                });
+    }
+
+    /**
+     * Record the rate-limit headers of an upstream response
+     * @param provider the Git provider
+     * @param headers the response headers
+     */
+    public void record(String provider, HttpHeaders headers) {
+        Long remaining = parseLong(headers, "X-RateLimit-Remaining", "RateLimit-Remaining");
+        if (remaining == null) {
+            return;
+        }
+        Long limit = parseLong(headers, "X-RateLimit-Limit", "RateLimit-Limit");
+        Long reset = parseLong(headers, "X-RateLimit-Reset", "RateLimit-Reset");
+        states.put(provider, new RateLimitState(remaining, limit != null ? limit : -1,
+                reset != null ? Instant.ofEpochSecond(reset) : null));
+    }
+
+    /**
+     * Get the remaining request budget for a provider
+     * @param provider the Git provider
+     * @return remaining requests, or Long.MAX_VALUE if unknown or the window has reset
+     */
+    public long getRemaining(String provider) {
+        RateLimitState state = states.get(provider);
+        if (state == null || state.hasReset()) {
+            return Long.MAX_VALUE;
+        }
+        return state.remaining();
+    }
+
+    /**
+     * Reserve one request of a provider's budget if more than the reserve would be left.
+     * The reservation counts against the budget until {@link #release} is called after the request,
+     * by which time the provider's response has reported the spent budget.
+     * @param provider the Git provider
+     * @param reserve number of requests to keep in reserve for interactive traffic
+     * @return true if a request was reserved
+     */
+    public boolean tryReserve(String provider, long reserve) {
+        AtomicLong reserved = reservations.computeIfAbsent(provider, k -> new AtomicLong());
+        while (true) {
+            long current = reserved.get();
+            if (getRemaining(provider) - current <= reserve) {
+                return false;
+            }
+            if (reserved.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a request reserved with {@link #tryReserve}
+     * @param provider the Git provider
+     */
+    public void release(String provider) {
+        reservations.get(provider).decrementAndGet();
+    }
+
+    /**
+     * Get the time at which the provider's rate-limit window resets
+     * @param provider the Git provider
+     * @return the reset time, or null if unknown
+     */
+    public Instant getResetTime(String provider) {
+        RateLimitState state = states.get(provider);
+        return state != null ? state.resetAt() : null;
+    }
+
+    private static Long parseLong(HttpHeaders headers, String... names) {
+        for (String name : names) {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                try {
+                    return Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private record RateLimitState(long remaining, long limit, Instant resetAt) {
+
+        private boolean hasReset() {
+            return resetAt != null && Instant.now().isAfter(resetAt);
+        }
+    }
+}
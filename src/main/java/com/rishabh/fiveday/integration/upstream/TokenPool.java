@@ -0,0 +1,328 @@
+package com.rishabh.fiveday.integration.upstream;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import com.rishabh.fiveday.integration.dto.TokenUsageDTO;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Pool of service tokens per provider used for shared reads, i.e. reads whose result does not
+ * depend on the calling user (fan-out queries, commit graph loads, mirrors). Each shared GET is
+ * sent with the pooled token that has the most remaining rate-limit quota, so read capacity grows
+ * with the number of tokens. Tokens answered with 401, or 403 other than rate-limit exhaustion,
+ * are quarantined for a while. Requests that are not marked as shared keep the session token.
+ */
+@Component
+@Slf4j
+public class TokenPool {
+
+    /**
+     * Request attribute holding the fingerprint of the pooled token a request was sent with
+     */
+    public static final String POOLED_TOKEN_ATTRIBUTE = TokenPool.class.getName() + ".token";
+
+    /**
+     * Request attribute marking a request as a shared read, set where the request is subscribed
+     */
+    public static final String SHARED_READ_ATTRIBUTE = TokenPool.class.getName() + ".shared";
+
+    private static final String SHARED_READ_KEY = TokenPool.class.getName() + ".shared";
+    private static final ThreadLocal<Boolean> SHARED_READ = ThreadLocal.withInitial(() -> false);
+
+    private final Map<String, List<PooledToken>> pools;
+    private final long quarantineSeconds;
+
+    public TokenPool(@Value("${git.auth.pool.github:}") String githubTokens,
+                     @Value("${git.auth.pool.gitlab:}") String gitlabTokens,
+                     @Value("${git.auth.pool.quarantine-seconds:300}") long quarantineSeconds) {
+        this.pools = Map.of("github", parse(githubTokens), "gitlab", parse(gitlabTokens));
+        this.quarantineSeconds = quarantineSeconds;
+    }
+
+    /**
+     * Run reads on the current thread as shared reads
+     * @param reads the reads
+     * @return the result of the reads
+     */
+    public <T> T sharedRead(Supplier<T> reads) {
+        boolean outer = SHARED_READ.get();
+        SHARED_READ.set(true);
+        try {
+            return reads.get();
+        } finally {
+            SHARED_READ.set(outer);
+        }
+    }
+
+    /**
+     * Carry the shared-read mark of the subscribing thread into a reactive pipeline, so requests
+     * issued later on other threads (e.g. further pages) are shared reads as well
+     * @param context the subscriber context
+     * @return the context, marked if the subscribing thread runs shared reads
+     */
+    public static Context captureSharedRead(Context context) {
+        return SHARED_READ.get() ? context.put(SHARED_READ_KEY, true) : context;
+    }
+
+    /**
+     * Create a WebClient filter that marks requests subscribed within a shared read; must be
+     * registered before the {@link UpstreamScheduler} filter, because a call that has to wait for a
+     * slot continues on whichever thread releases one
+     * @return filter to register on a provider's WebClient
+     */
+    public static ExchangeFilterFunction captureFilter() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            boolean shared = SHARED_READ.get() || context.getOrDefault(SHARED_READ_KEY, false);
+            return next.exchange(shared ? ClientRequest.from(request).attribute(SHARED_READ_ATTRIBUTE, true).build() : request);
+        });
+    }
+
+    /**
+     * Create a WebClient filter that sends shared reads, as marked by {@link #captureFilter()}, with a
+     * pooled token; must be registered before the {@link RateLimitTracker} filter so the tracker can
+     * tell pooled requests apart
+     * @param provider the Git provider
+     * @return filter to register on the provider's WebClient
+     */
+    public ExchangeFilterFunction filterFor(String provider) {
+        return (request, next) -> {
+            boolean shared = request.attribute(SHARED_READ_ATTRIBUTE).isPresent();
+            if (!shared || !HttpMethod.GET.equals(request.method())) {
+                return next.exchange(request);
+            }
+            return exchangePooled(provider, request, next, pools.getOrDefault(provider, List.of()).size());
+        };
+    }
+
+    /**
+     * Check whether shared reads for a provider are served by the pool
+     * @param provider the Git provider
+     * @return true if the provider has pooled tokens
+     */
+    public boolean hasTokens(String provider) {
+        return !pools.getOrDefault(provider, List.of()).isEmpty();
+    }
+
+    /**
+     * Get the combined remaining quota of a provider's usable pooled tokens
+     * @param provider the Git provider
+     * @return remaining requests, or Long.MAX_VALUE if unknown for any usable token
+     */
+    public long getRemaining(String provider) {
+        long total = 0;
+        for (PooledToken token : pools.getOrDefault(provider, List.of())) {
+            synchronized (token) {
+                if (token.isQuarantined()) {
+                    continue;
+                }
+                long remaining = token.effectiveRemaining();
+                if (remaining == Long.MAX_VALUE) {
+                    return Long.MAX_VALUE;
+                }
+                total += remaining;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Get any usable pooled token, for transports that cannot go through the WebClient filter
+     * @param provider the Git provider
+     * @return the token with the most remaining quota, if any is usable
+     */
+    public Optional<String> getToken(String provider) {
+        return Optional.ofNullable(select(provider)).map(token -> token.value);
+    }
+
+    /**
+     * Report the usage of every pooled token
+     * @return usage per token, grouped by provider
+     */
+    public List<TokenUsageDTO> getUsage() {
+        List<TokenUsageDTO> usage = new ArrayList<>();
+        pools.forEach((provider, tokens) -> {
+            for (PooledToken token : tokens) {
+                synchronized (token) {
+                    usage.add(TokenUsageDTO.builder()
+                            .provider(provider)
+                            .fingerprint(token.fingerprint)
+                            .quarantined(token.isQuarantined())
+                            .quarantinedUntil(token.quarantinedUntil)
+                            .remaining(token.remaining)
+                            .limit(token.limit)
+                            .resetAt(token.resetAt)
+                            .requests(token.requests)
+                            .failures(token.failures)
+                            .build());
+                }
+            }
+        });
+        return usage;
+    }
+
+    /**
+     * Send a request with the best pooled token; a request rejected because of its token is sent again
+     * with the next best one, until the usable tokens run out
+     */
+    private Mono<ClientResponse> exchangePooled(String provider, ClientRequest request, ExchangeFunction next, int attemptsLeft) {
+        PooledToken token = select(provider);
+        if (token == null) {
+            return next.exchange(request);
+        }
+        ClientRequest pooled = ClientRequest.from(request)
+                .headers(headers -> headers.setBearerAuth(token.value))
+                .attribute(POOLED_TOKEN_ATTRIBUTE, token.fingerprint)
+                .build();
+        return next.exchange(pooled).flatMap(response -> {
+            boolean rejected = token.record(provider, response.statusCode().value(),
+                    response.headers().asHttpHeaders(), quarantineSeconds);
+            if (rejected && attemptsLeft > 1) {
+                return response.releaseBody().then(Mono.defer(() -> exchangePooled(provider, request, next, attemptsLeft - 1)));
+            }
+            return Mono.just(response);
+        });
+    }
+
+    private PooledToken select(String provider) {
+        PooledToken best = null;
+        long bestRemaining = -1;
+        long bestRequests = 0;
+        for (PooledToken token : pools.getOrDefault(provider, List.of())) {
+            synchronized (token) {
+                if (token.isQuarantined()) {
+                    continue;
+                }
+                long remaining = token.effectiveRemaining();
+                if (best == null || remaining > bestRemaining
+                        || remaining == bestRemaining && token.requests < bestRequests) {
+                    best = token;
+                    bestRemaining = remaining;
+                    bestRequests = token.requests;
+                }
+            }
+        }
+        if (best != null) {
+            synchronized (best) {
+                best.requests++;
+                // Count the request before its response arrives so concurrent reads spread over the pool
+                if (best.remaining != null && best.remaining > 0) {
+                    best.remaining--;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static List<PooledToken> parse(String tokens) {
+        if (tokens == null || tokens.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(tokens.split(","))
+                .map(String::trim)
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .map(PooledToken::new)
+                .toList();
+    }
+
+    /**
+     * One pooled token and what the provider last reported about it; guarded by its own monitor
+     */
+    private static final class PooledToken {
+
+        private final String value;
+        private final String fingerprint;
+        private Long remaining;
+        private Long limit;
+        private Instant resetAt;
+        private Instant quarantinedUntil;
+        private long requests;
+        private long failures;
+
+        private PooledToken(String value) {
+            this.value = value;
+            this.fingerprint = fingerprint(value);
+        }
+
+        private boolean isQuarantined() {
+            return quarantinedUntil != null && Instant.now().isBefore(quarantinedUntil);
+        }
+
+        private long effectiveRemaining() {
+            if (remaining == null || resetAt != null && Instant.now().isAfter(resetAt)) {
+                return Long.MAX_VALUE;
+            }
+            return remaining;
+        }
+
+        /**
+         * Record a response sent with this token
+         * @return true if the token was rejected and is now quarantined
+         */
+        private synchronized boolean record(String provider, int status, HttpHeaders headers, long quarantineSeconds) {
+            Long reportedRemaining = parseLong(headers, "X-RateLimit-Remaining", "RateLimit-Remaining");
+            if (reportedRemaining != null) {
+                remaining = reportedRemaining;
+                limit = parseLong(headers, "X-RateLimit-Limit", "RateLimit-Limit");
+                Long reset = parseLong(headers, "X-RateLimit-Reset", "RateLimit-Reset");
+                resetAt = reset != null ? Instant.ofEpochSecond(reset) : null;
+            }
+
+            boolean rateLimited = reportedRemaining != null && reportedRemaining == 0;
+            if (status == HttpStatus.UNAUTHORIZED.value() || status == HttpStatus.FORBIDDEN.value() && !rateLimited) {
+                failures++;
+                quarantinedUntil = Instant.now().plusSeconds(quarantineSeconds);
+                log.warn("Pooled {} token {} was rejected with {}, quarantined until {}",
+                        provider, fingerprint, status, quarantinedUntil);
+                return true;
+            }
+            return false;
+        }
+
+        private static Long parseLong(HttpHeaders headers, String... names) {
+            for (String name : names) {
+                String value = headers.getFirst(name);
+                if (value != null) {
+                    try {
+                        return Long.parseLong(value.trim());
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static String fingerprint(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(hash, 0, 4);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.rishabh.fiveday.integration.upstream;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Tenant, priority lane and deadline on whose behalf upstream calls are made.
+ * Held per thread for blocking callers and carried into reactive pipelines through the Reactor
+ * context, so calls issued later on other threads are scheduled for the same tenant and lane and
+ * bounded by the same deadline. Threads without a context (scheduled tasks, startup) make
+ * background calls for the system tenant without a deadline.
+ * @param tenant tenant identifier
+ * @param lane priority lane
+ * @param deadline when the caller stops waiting for the result, or null
+ */
+public record UpstreamCallContext(String tenant, UpstreamLane lane, Deadline deadline) {
+
+    /**
+     * Tenant of calls not made on behalf of any caller
+     */
+    public static final String SYSTEM_TENANT = "system";
+
+    private static final UpstreamCallContext SYSTEM = new UpstreamCallContext(SYSTEM_TENANT, UpstreamLane.BACKGROUND);
+    private static final String CONTEXT_KEY = UpstreamCallContext.class.getName();
+    private static final ThreadLocal<UpstreamCallContext> CURRENT = new ThreadLocal<>();
+
+    public UpstreamCallContext(String tenant, UpstreamLane lane) {
+        this(tenant, lane, null);
+    }
+
+    /**
+     * Get the context of the current thread
+     * @return the current context, or the system context if none is set
+     */
+    public static UpstreamCallContext current() {
+        UpstreamCallContext context = CURRENT.get();
+        return context != null ? context : SYSTEM;
+    }
+
+    /**
+     * Get the context of a reactive pipeline, falling back to the current thread's context
+     * @param context the subscriber context
+     * @return the call context
+     */
+    public static UpstreamCallContext current(ContextView context) {
+        return context.<UpstreamCallContext>getOrEmpty(CONTEXT_KEY).orElseGet(UpstreamCallContext::current);
+    }
+
+    /**
+     * Carry the subscribing thread's context into a reactive pipeline
+     * @param context the subscriber context
+     * @return the context including the call context, unchanged if one is already present
+     */
+    public static Context capture(Context context) {
+        return context.hasKey(CONTEXT_KEY) || CURRENT.get() == null ? context : context.put(CONTEXT_KEY, CURRENT.get());
+    }
+
+    /**
+     * Set the context of the current thread
+     * @param context the call context, or null to clear it
+     */
+    public static void set(UpstreamCallContext context) {
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+    }
+
+    /**
+     * Make calls within this context on the current thread
+     * @param calls the calls
+     * @return the result of the calls
+     */
+    public <T> T call(Supplier<T> calls) {
+        UpstreamCallContext outer = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return calls.get();
+        } finally {
+            set(outer);
+        }
+    }
+
+    /**
+     * Bind work to this context, for work handed to another thread
+     * @param work the work
+     * @return work that runs within this context
+     */
+    public <T> Callable<T> wrap(Callable<T> work) {
+        return () -> {
+            UpstreamCallContext outer = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return work.call();
+            } finally {
+                set(outer);
+            }
+        };
+    }
+
+    /**
+     * Get the same tenant's context in the background lane; background work outlives the request
+     * that started it, so it does not inherit the request's deadline
+     * @return the background context
+     */
+    public UpstreamCallContext background() {
+        return lane == UpstreamLane.BACKGROUND && deadline == null ? this : new UpstreamCallContext(tenant, UpstreamLane.BACKGROUND);
+    }
+}
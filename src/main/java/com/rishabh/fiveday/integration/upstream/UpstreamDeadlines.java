@@ -0,0 +1,58 @@
+package com.rishabh.fiveday.integration.upstream;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import com.rishabh.fiveday.integration.exception.DeadlineExceededException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounds upstream calls by the deadline of the request they are made for. A call is not started
+ * when less than the minimum call time is left, and a started call is cancelled, releasing its
+ * connection and scheduler slot, once the deadline passes while it waits for a slot, the response
+ * headers or the rest of the body.
+ */
+@Component
+public class UpstreamDeadlines {
+
+    private final Duration minCallTime;
+
+    public UpstreamDeadlines(@Value("${git.deadline.min-call-millis:50}") long minCallMillis) {
+        this.minCallTime = Duration.ofMillis(minCallMillis);
+    }
+
+    /**
+     * Create a WebClient filter enforcing deadlines; register it before all other filters so the
+     * time spent in them counts against the deadline
+     * @return filter to register on a WebClient
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            Deadline deadline = UpstreamCallContext.current(context).deadline();
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+            Duration remaining = deadline.remaining();
+            if (remaining.compareTo(minCallTime) < 0) {
+                return Mono.error(exceeded(request));
+            }
+            return next.exchange(request)
+                    .timeout(remaining, Mono.error(() -> exceeded(request)))
+                    .map(response -> response.mutate()
+                            .body(body -> body
+                                    .timeout(Mono.delay(deadline.remaining()), buffer -> Mono.delay(deadline.remaining()))
+                                    .onErrorMap(TimeoutException.class, e -> exceeded(request)))
+                            .build());
+        });
+    }
+
+    private static DeadlineExceededException exceeded(ClientRequest request) {
+        return new DeadlineExceededException("Request deadline exceeded calling " + request.method() + " " + request.url().getPath());
+    }
+}
@@ -0,0 +1,15 @@
+package com.rishabh.fiveday.integration.upstream;
+
+/**
+ * Priority lanes of upstream calls; the interactive lane is always served first
+ */
+public enum UpstreamLane {
+    /**
+     * Calls a user is waiting for, i.e. made while serving an API request
+     */
+    INTERACTIVE,
+    /**
+     * Calls of jobs, bulk operations and scheduled tasks
+     */
+    BACKGROUND
+}
@@ -0,0 +1,282 @@
+package com.rishabh.fiveday.integration.upstream;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import com.rishabh.fiveday.integration.dto.UpstreamLaneStatsDTO;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Scheduler for upstream calls. Each provider has a fixed number of call slots; calls beyond it
+ * wait in per-tenant queues of their priority lane. The interactive lane is always served before the
+ * background lane, and background calls may never occupy the slots reserved for interactive calls,
+ * so interactive latency stays flat while background work uses the remaining capacity. Within a
+ * lane, tenants are served in proportion to their weight (start-time fair queuing), so one tenant's
+ * burst cannot starve the others. A slot is held until the response body has been consumed.
+ */
+@Component
+public class UpstreamScheduler {
+
+    private static final int WAIT_SAMPLES = 1024;
+
+    private final Map<String, ProviderQueues> providers = new ConcurrentHashMap<>();
+    private final int maxConcurrency;
+    private final int interactiveReserve;
+    private final Map<String, Double> tenantWeights = new HashMap<>();
+
+    public UpstreamScheduler(@Value("${git.scheduler.max-concurrency:16}") int maxConcurrency,
+                             @Value("${git.scheduler.interactive-reserve:4}") int interactiveReserve,
+                             @Value("${git.scheduler.tenant-weights:}") String tenantWeights) {
+        this.maxConcurrency = maxConcurrency;
+        this.interactiveReserve = Math.min(interactiveReserve, maxConcurrency - 1);
+        for (String entry : tenantWeights.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length == 2) {
+                this.tenantWeights.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+            }
+        }
+    }
+
+    /**
+     * Create a WebClient filter that schedules every call to a provider; register it before the
+     * token pool and rate-limit filters so it also covers retries made by them
+     * @param provider the Git provider
+     * @return filter to register on the provider's WebClient
+     */
+    public ExchangeFilterFunction filterFor(String provider) {
+        ProviderQueues queues = providers.computeIfAbsent(provider, ProviderQueues::new);
+        return (request, next) -> Mono.deferContextual(context -> queues.acquire(UpstreamCallContext.current(context)))
+                .flatMap(slot -> next.exchange(request)
+                        .map(response -> response.mutate()
+                                .body(body -> body.doFinally(signal -> slot.release()))
+                                .build())
+                        .doOnError(e -> slot.release())
+                        .doOnCancel(slot::release));
+    }
+
+    /**
+     * Get queue depths and wait times of every provider lane
+     * @return stats per provider and lane
+     */
+    public List<UpstreamLaneStatsDTO> getStats() {
+        List<UpstreamLaneStatsDTO> stats = new ArrayList<>();
+        new TreeMap<>(providers).values().forEach(queues -> queues.addStats(stats));
+        return stats;
+    }
+
+    private double weightOf(String tenant) {
+        return tenantWeights.getOrDefault(tenant, 1.0);
+    }
+
+    /**
+     * Call slots and waiting calls of one provider; all state is guarded by the instance monitor
+     */
+    private final class ProviderQueues {
+
+        private final String provider;
+        private final Map<UpstreamLane, Lane> lanes = new EnumMap<>(UpstreamLane.class);
+        private int inFlight;
+
+        private ProviderQueues(String provider) {
+            this.provider = provider;
+            for (UpstreamLane lane : UpstreamLane.values()) {
+                lanes.put(lane, new Lane());
+            }
+        }
+
+        private Mono<Slot> acquire(UpstreamCallContext call) {
+            return Mono.create(sink -> {
+                Waiter waiter = new Waiter(sink, lanes.get(call.lane()), System.nanoTime());
+                synchronized (this) {
+                    TenantQueue queue = waiter.lane.tenants.computeIfAbsent(call.tenant(),
+                            tenant -> new TenantQueue(weightOf(tenant)));
+                    if (queue.waiters.isEmpty()) {
+                        // A tenant that was idle must not be credited for the time it did not use
+                        queue.startTag = Math.max(queue.startTag, waiter.lane.virtualTime);
+                    }
+                    queue.waiters.add(waiter);
+                    waiter.lane.queued++;
+                }
+                sink.onCancel(() -> {
+                    Slot grantedSlot;
+                    synchronized (this) {
+                        if (waiter.lane.tenants.get(call.tenant()).waiters.remove(waiter)) {
+                            waiter.lane.queued--;
+                        }
+                        grantedSlot = waiter.slot;
+                    }
+                    // Cancelled between being granted a slot and receiving it
+                    if (grantedSlot != null) {
+                        grantedSlot.release();
+                    }
+                });
+                dispatch();
+            });
+        }
+
+        private void release(Lane lane) {
+            synchronized (this) {
+                inFlight--;
+                lane.inFlight--;
+            }
+            dispatch();
+        }
+
+        /**
+         * Grant free slots to waiting calls; sinks are completed outside the monitor because
+         * completing one starts the call on the current thread
+         */
+        private void dispatch() {
+            List<Waiter> granted = new ArrayList<>();
+            synchronized (this) {
+                while (inFlight < maxConcurrency) {
+                    Waiter waiter = next(lanes.get(UpstreamLane.INTERACTIVE));
+                    if (waiter == null && inFlight < maxConcurrency - interactiveReserve) {
+                        waiter = next(lanes.get(UpstreamLane.BACKGROUND));
+                    }
+                    if (waiter == null) {
+                        break;
+                    }
+                    inFlight++;
+                    waiter.lane.inFlight++;
+                    waiter.lane.recordWait(System.nanoTime() - waiter.enqueuedAt);
+                    waiter.slot = new Slot(this, waiter.lane);
+                    granted.add(waiter);
+                }
+            }
+            for (Waiter waiter : granted) {
+                waiter.sink.success(waiter.slot);
+            }
+        }
+
+        /**
+         * Take the waiting call of the tenant with the smallest start tag
+         */
+        private Waiter next(Lane lane) {
+            TenantQueue selected = null;
+            for (TenantQueue queue : lane.tenants.values()) {
+                if (!queue.waiters.isEmpty() && (selected == null || queue.startTag < selected.startTag)) {
+                    selected = queue;
+                }
+            }
+            if (selected == null) {
+                return null;
+            }
+            lane.virtualTime = selected.startTag;
+            selected.startTag += 1.0 / selected.weight;
+            lane.queued--;
+            return selected.waiters.poll();
+        }
+
+        private synchronized void addStats(List<UpstreamLaneStatsDTO> stats) {
+            lanes.forEach((name, lane) -> {
+                Map<String, Integer> queuedByTenant = new TreeMap<>();
+                lane.tenants.forEach((tenant, queue) -> {
+                    if (!queue.waiters.isEmpty()) {
+                        queuedByTenant.put(tenant, queue.waiters.size());
+                    }
+                });
+                long[] samples = Arrays.copyOf(lane.waitSamples, (int) Math.min(lane.dispatched, WAIT_SAMPLES));
+                Arrays.sort(samples);
+                stats.add(UpstreamLaneStatsDTO.builder()
+                        .provider(provider)
+                        .lane(name.name())
+                        .inFlight(lane.inFlight)
+                        .queued(lane.queued)
+                        .queuedByTenant(queuedByTenant)
+                        .dispatched(lane.dispatched)
+                        .averageWaitMillis(lane.dispatched == 0 ? 0 : toMillis(lane.totalWaitNanos / lane.dispatched))
+                        .p99WaitMillis(samples.length == 0 ? 0 : toMillis(samples[(int) Math.ceil(samples.length * 0.99) - 1]))
+                        .maxWaitMillis(toMillis(lane.maxWaitNanos))
+                        .build());
+            });
+        }
+    }
+
+    /**
+     * One priority lane of a provider; wait samples keep the most recent waits for percentiles
+     */
+    private static final class Lane {
+
+        private final Map<String, TenantQueue> tenants = new HashMap<>();
+        private final long[] waitSamples = new long[WAIT_SAMPLES];
+        private double virtualTime;
+        private int queued;
+        private int inFlight;
+        private long dispatched;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        private void recordWait(long waitNanos) {
+            waitSamples[(int) (dispatched % WAIT_SAMPLES)] = waitNanos;
+            dispatched++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+    }
+
+    private static final class TenantQueue {
+
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private final double weight;
+        private double startTag;
+
+        private TenantQueue(double weight) {
+            this.weight = weight > 0 ? weight : 1.0;
+        }
+    }
+
+    private static final class Waiter {
+
+        private final MonoSink<Slot> sink;
+        private final Lane lane;
+        private final long enqueuedAt;
+        private Slot slot;
+
+        private Waiter(MonoSink<Slot> sink, Lane lane, long enqueuedAt) {
+            this.sink = sink;
+            this.lane = lane;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * A granted call slot; released once, when the call has finished
+     */
+    private static final class Slot {
+
+        private final ProviderQueues queues;
+        private final Lane lane;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot(ProviderQueues queues, Lane lane) {
+            this.queues = queues;
+            this.lane = lane;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                queues.release(lane);
+            }
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
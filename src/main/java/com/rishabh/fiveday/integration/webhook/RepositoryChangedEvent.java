@@ -0,0 +1,36 @@
+package com.rishabh.fiveday.integration.webhook;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Application event published when a Git provider reports a change to a repository
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class RepositoryChangedEvent {
+
+    /**
+     * The Git provider (e.g., "github", "gitlab")
+     */
+    private final String provider;
+
+    /**
+     * All identifiers the repository may be addressed by (e.g. GitLab project id and path)
+     */
+    private final List<String> repositoryIds;
+
+    /**
+     * Provider event type (e.g. "push", "pull_request", "Merge Request Hook")
+     */
+    private final String eventType;
+
+    /**
+     * Affected branch name, or null if the event is not about a branch
+     */
+    private final String branch;
+}
@@ -0,0 +1,157 @@
+package com.rishabh.fiveday.integration.webhook;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.exception.WebhookAuthenticationException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for verifying Git provider webhooks and turning them into {@link RepositoryChangedEvent}s.
+ * Deliveries invalidate caches, so they are only accepted when a secret is configured and they
+ * carry it; without one the endpoint rejects every delivery.
+ */
+@Service
+@Slf4j
+public class WebhookService {
+
+    private static final String BRANCH_REF_PREFIX = "refs/heads/";
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${git.webhook.github.secret:}")
+    private String githubSecret;
+
+    @Value("${git.webhook.gitlab.token:}")
+    private String gitlabToken;
+
+    public WebhookService(ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper) {
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Handle a GitHub webhook delivery
+     * @param eventType value of the X-GitHub-Event header
+     * @param signature value of the X-Hub-Signature-256 header
+     * @param payload raw request body
+     * @return the published event
+     */
+    public RepositoryChangedEvent handleGitHub(String eventType, String signature, byte[] payload) {
+        if (githubSecret.isEmpty()) {
+            throw new WebhookAuthenticationException("GitHub webhooks are disabled: no secret configured");
+        }
+        if (!isValidGitHubSignature(signature, payload)) {
+            throw new WebhookAuthenticationException("Invalid GitHub webhook signature");
+        }
+
+        Map<String, Object> body = parse(payload);
+        Map<String, Object> repository = (Map<String, Object>) body.get("repository");
+        if (repository == null) {
+            throw new GitApiException("GitHub webhook without repository: " + eventType);
+        }
+
+        String fullName = (String) repository.get("full_name");
+        List<String> repositoryIds = List.of(fullName, fullName.replace("/", "___"));
+
+        String branch = null;
+        if ("push".equals(eventType)) {
+            branch = branchFromRef((String) body.get("ref"));
+        } else if ("create".equals(eventType) || "delete".equals(eventType)) {
+            branch = "branch".equals(body.get("ref_type")) ? (String) body.get("ref") : null;
+        }
+
+        return publish(new RepositoryChangedEvent("github", repositoryIds, eventType, branch));
+    }
+
+    /**
+     * Handle a GitLab webhook delivery
+     * @param eventType value of the X-Gitlab-Event header
+     * @param token value of the X-Gitlab-Token header
+     * @param payload raw request body
+     * @return the published event
+     */
+    public RepositoryChangedEvent handleGitLab(String eventType, String token, byte[] payload) {
+        if (gitlabToken.isEmpty()) {
+            throw new WebhookAuthenticationException("GitLab webhooks are disabled: no token configured");
+        }
+        if (token == null || !MessageDigest.isEqual(
+                gitlabToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            throw new WebhookAuthenticationException("Invalid GitLab webhook token");
+        }
+
+        Map<String, Object> body = parse(payload);
+        Map<String, Object> project = (Map<String, Object>) body.get("project");
+        if (project == null) {
+            throw new GitApiException("GitLab webhook without project: " + eventType);
+        }
+
+        List<String> repositoryIds = new ArrayList<>();
+        if (project.get("id") != null) {
+            repositoryIds.add(project.get("id").toString());
+        }
+        if (project.get("path_with_namespace") != null) {
+            String path = (String) project.get("path_with_namespace");
+            repositoryIds.add(path);
+            repositoryIds.add(path.replace("/", "%2F"));
+        }
+
+        String branch = branchFromRef((String) body.get("ref"));
+        if (branch == null && body.get("object_attributes") instanceof Map<?, ?> attributes
+                && attributes.get("source_branch") != null) {
+            branch = attributes.get("source_branch").toString();
+        }
+
+        return publish(new RepositoryChangedEvent("gitlab", repositoryIds, eventType, branch));
+    }
+
+    private RepositoryChangedEvent publish(RepositoryChangedEvent event) {
+        log.debug("Received webhook: {}", event);
+        eventPublisher.publishEvent(event);
+        return event;
+    }
+
+    private boolean isValidGitHubSignature(String signature, byte[] payload) {
+        if (signature == null || !signature.startsWith("sha256=")) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(githubSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] expected = mac.doFinal(payload);
+            byte[] actual = HexFormat.of().parseHex(signature.substring("sha256=".length()));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Map<String, Object> parse(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, new TypeReference<Map<String, Object>>() { });
+        } catch (Exception e) {
+            throw new GitApiException("Invalid webhook payload", e);
+        }
+    }
+
+    private static String branchFromRef(String ref) {
+        return ref != null && ref.startsWith(BRANCH_REF_PREFIX) ? ref.substring(BRANCH_REF_PREFIX.length()) : null;
+    }
+}
@@ -0,0 +1,139 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.lang.ref.Reference;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.dto.PullRequestDTO;
+
+/**
+ * Memory footprint of the compact commit and pull request stores against holding the DTOs.
+ * Builds the same synthetic rows both ways and prints bytes per row: the heap retained by a list
+ * of DTOs (measured around a full GC), the heap retained by the store, and the store's own
+ * {@code estimatedBytes()}. Every string is a fresh instance, as it would be after JSON decoding.
+ * Run with:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=cache.StoreFootprint [-Dbenchmark.args=rows]
+ */
+public final class StoreFootprint {
+
+    private static final int REPOSITORIES = 200;
+    private static final int AUTHORS = 500;
+    private static final String[] WORDS = {"fix", "update", "the", "parser", "cache", "for", "branch", "handling",
+            "remove", "unused", "code", "in", "service", "add", "tests", "refactor", "client", "retry", "on", "error"};
+
+    private StoreFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        System.out.printf("%-14s %12s %12s %12s%n", "rows=" + rows, "DTO B/row", "store B/row", "estimate B/row");
+        report("commits", rows, StoreFootprint::commit, () -> {
+            CompactCommitStore store = new CompactCommitStore(rows, Long.MAX_VALUE);
+            return new Filler<>(store, dto -> store.put("github", dto.getRepositoryId(), dto, evicted -> { }),
+                    store::estimatedBytes);
+        });
+        report("pull requests", rows, StoreFootprint::pullRequest, () -> {
+            CompactPullRequestStore store = new CompactPullRequestStore(rows, 30);
+            return new Filler<>(store, dto -> store.put("github", dto.getRepositoryId(), dto), store::estimatedBytes);
+        });
+    }
+
+    private static <T> void report(String name, int rows, IntFunction<T> generator, Supplier<Filler<T>> stores) {
+        long before = usedHeap();
+        List<T> dtos = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            dtos.add(generator.apply(i));
+        }
+        long dtoBytes = usedHeap() - before;
+        Reference.reachabilityFence(dtos);
+        dtos = null;
+
+        before = usedHeap();
+        Filler<T> filler = stores.get();
+        for (int i = 0; i < rows; i++) {
+            filler.put().accept(generator.apply(i));
+        }
+        long storeBytes = usedHeap() - before;
+        long estimated = filler.estimatedBytes().getAsLong();
+        Reference.reachabilityFence(filler);
+
+        System.out.printf("%-14s %12d %12d %12d%n", name, dtoBytes / rows, storeBytes / rows, estimated / rows);
+    }
+
+    private static CommitDTO commit(int i) {
+        Random random = new Random(i);
+        String repository = "owner/repository-" + i % REPOSITORIES;
+        List<String> parents = new ArrayList<>(2);
+        parents.add(sha(random));
+        if (i % 10 == 0) {
+            parents.add(sha(random));
+        }
+        return CommitDTO.builder()
+                .sha(sha(random))
+                .message(message(random, i))
+                .author(new String("Author " + i % AUTHORS))
+                .authorEmail(new String("author" + i % AUTHORS + "@example.com"))
+                .timestamp(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i))
+                .url("https://github.com/" + repository + "/commit/" + i)
+                .repositoryId(new String(repository))
+                .parentShas(parents)
+                .build();
+    }
+
+    private static PullRequestDTO pullRequest(int i) {
+        Random random = new Random(i);
+        String repository = "owner/repository-" + i % REPOSITORIES;
+        return PullRequestDTO.builder()
+                .id(1_000_000L + i)
+                .number(i / REPOSITORIES + 1)
+                .title(new String("Update dependency " + random.nextInt(1000) + " and fix tests"))
+                .description(message(random, i))
+                .state(new String(i % 3 == 0 ? "closed" : "open"))
+                .author(new String("author-" + i % AUTHORS))
+                .sourceBranch(new String("feature/change-" + i))
+                .targetBranch(new String("main"))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 0, 0).plusMinutes(i))
+                .isMerged(i % 3 == 0)
+                .isDraft(i % 7 == 0)
+                .url("https://github.com/" + repository + "/pull/" + (i / REPOSITORIES + 1))
+                .repositoryId(new String(repository))
+                .build();
+    }
+
+    private static String sha(Random random) {
+        StringBuilder sha = new StringBuilder(40);
+        for (int i = 0; i < 40; i++) {
+            sha.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return sha.toString();
+    }
+
+    private static String message(Random random, int i) {
+        StringBuilder message = new StringBuilder("Change ").append(i).append(": ");
+        int words = 5 + random.nextInt(30);
+        for (int w = 0; w < words; w++) {
+            message.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return message.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private record Filler<T>(Object store, Consumer<T> put, LongSupplier estimatedBytes) {
+    }
+}
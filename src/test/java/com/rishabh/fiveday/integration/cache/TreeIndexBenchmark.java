@@ -0,0 +1,128 @@
+package com.rishabh.fiveday.integration.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Local cost of skipping unchanged files when committing, against what it saves upstream.
+ * A commit writes {@code files} files of {@code fileBytes} each into a tree of {@code treeFiles}
+ * files, and only {@code changedFiles} of them differ from the base tree. The benchmarks time the
+ * local steps of a GitHub commit: hashing the files, comparing them with the base tree index and
+ * deriving the index of the new commit. The upload bytes and blob calls saved are printed once.
+ * Run with:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=cache.TreeIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeIndexBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int treeFiles;
+
+    @Param("50")
+    public int files;
+
+    @Param("5")
+    public int changedFiles;
+
+    @Param("4096")
+    public int fileBytes;
+
+    private Map<String, String> contents;
+    private Map<String, String> blobShas;
+    private TreeIndex baseTree;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        contents = new LinkedHashMap<>();
+        Map<String, String> tree = new HashMap<>();
+        for (int i = 0; i < treeFiles; i++) {
+            tree.put(path(i), String.format("%040x", random.nextLong() & Long.MAX_VALUE));
+        }
+        for (int i = 0; i < files; i++) {
+            String content = content(random);
+            contents.put(path(i), content);
+            if (i >= changedFiles) {
+                tree.put(path(i), TreeIndex.blobSha(content));
+            }
+        }
+        baseTree = new TreeIndex(tree, false);
+        blobShas = hashFiles();
+
+        long uploadBytes = contents.values().stream().mapToLong(String::length).sum();
+        long changedBytes = (long) changedFiles * fileBytes;
+        System.out.printf("%ntree of %d files: %d blob uploads (%d bytes) without skipping, %d (%d bytes) with%n",
+                treeFiles, files, uploadBytes, changedFiles, changedBytes);
+    }
+
+    @Benchmark
+    public Map<String, String> hashFiles() {
+        Map<String, String> shas = new LinkedHashMap<>();
+        contents.forEach((path, content) -> shas.put(path, TreeIndex.blobSha(content)));
+        return shas;
+    }
+
+    @Benchmark
+    public int diffAgainstBase() {
+        Set<String> baseBlobs = baseTree.blobShas();
+        int uploads = 0;
+        for (Map.Entry<String, String> entry : blobShas.entrySet()) {
+            if (!baseTree.isUnchanged(entry.getKey(), entry.getValue()) && !baseBlobs.contains(entry.getValue())) {
+                uploads++;
+            }
+        }
+        return uploads;
+    }
+
+    @Benchmark
+    public TreeIndex deriveNextIndex() {
+        Map<String, String> next = new HashMap<>(baseTree.blobs());
+        for (int i = 0; i < changedFiles; i++) {
+            next.put(path(i), blobShas.get(path(i)));
+        }
+        return new TreeIndex(next, baseTree.truncated());
+    }
+
+    private String content(Random random) {
+        StringBuilder content = new StringBuilder(fileBytes);
+        while (content.length() < fileBytes) {
+            content.append((char) ('a' + random.nextInt(26)));
+        }
+        return content.toString();
+    }
+
+    private static String path(int i) {
+        return "src/main/java/module" + i % 100 + "/File" + i + ".java";
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(TreeIndexBenchmark.class.getName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package com.rishabh.fiveday.integration.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rishabh.fiveday.integration.controller.FieldProjectionAdvice;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+
+/**
+ * Bytes on the wire and serialization CPU of a commit list per response encoding.
+ * Serializes the same commits as JSON, CBOR and Smile with mappers configured like the application's,
+ * with and without gzip at Tomcat's default level. The encoded and gzipped sizes are printed once per
+ * encoding before the measurements.
+ * Run with:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=config.EncodingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+
+    private static final String[] WORDS = {"fix", "update", "the", "parser", "cache", "for", "branch", "handling",
+            "remove", "unused", "code", "in", "service", "add", "tests", "refactor", "client", "retry", "on", "error"};
+
+    @Param({"json", "cbor", "smile"})
+    public String encoding;
+
+    @Param("2000")
+    public int commits;
+
+    private ObjectMapper mapper;
+    private List<CommitDTO> payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (encoding) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        // Spring Boot writes dates as ISO-8601 strings; unprojected DTOs are written in full
+        mapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(FieldProjectionAdvice.ALL_FIELDS)
+                .build();
+
+        Random random = new Random(42);
+        payload = new ArrayList<>(commits);
+        for (int i = 0; i < commits; i++) {
+            payload.add(commit(random, i));
+        }
+        System.out.printf("%n%s: %d commits, %d bytes, %d bytes gzipped%n",
+                encoding, commits, serialize().length, serializeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(gzip, payload);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static CommitDTO commit(Random random, int i) {
+        String repository = "owner/repository";
+        StringBuilder message = new StringBuilder("Change ").append(i).append(": ");
+        for (int w = 5 + random.nextInt(30); w > 0; w--) {
+            message.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return CommitDTO.builder()
+                .sha(sha(random))
+                .message(message.toString())
+                .author("Author " + random.nextInt(50))
+                .authorEmail("author" + random.nextInt(50) + "@example.com")
+                .timestamp(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i))
+                .url("https://github.com/" + repository + "/commit/" + i)
+                .repositoryId(repository)
+                .parentShas(List.of(sha(random)))
+                .build();
+    }
+
+    private static String sha(Random random) {
+        StringBuilder sha = new StringBuilder(40);
+        for (int i = 0; i < 40; i++) {
+            sha.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return sha.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(EncodingBenchmark.class.getName())
+                .build()).run();
+    }
+}
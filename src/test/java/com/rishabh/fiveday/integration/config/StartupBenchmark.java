@@ -0,0 +1,185 @@
+package com.rishabh.fiveday.integration.config;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Time to the first served request of the fat jar against the startup-optimized build.
+ * Starts each build several times and polls a read endpoint until it answers 2xx, so the beans that
+ * lazy initialization defers to the first request are included. The provider is an in-process server
+ * answering every call with an empty list. Also reports the ready time logged by {@link StartupListener}.
+ * Build both with {@code mvn -Pstartup verify}, then run with:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=config.StartupBenchmark [-Dbenchmark.args=runs]
+ */
+public final class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.rishabh.fiveday.integration.GitIntegrationApplication";
+    private static final String FIRST_REQUEST = "/api/git/repositories/owner___repo/branches";
+    private static final Pattern READY = Pattern.compile("Ready to serve requests (\\d+) ms after JVM start");
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        File target = new File("target");
+        File fatJar = findFatJar(target);
+        File startup = new File(target, "startup");
+        if (fatJar == null || !new File(startup, "application.jsa").isFile()) {
+            throw new IllegalStateException("Build the fat jar and startup layout first: mvn -Pstartup verify");
+        }
+
+        HttpServer provider = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        provider.createContext("/", exchange -> {
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        provider.start();
+        String providerUrl = "http://127.0.0.1:" + provider.getAddress().getPort();
+
+        try {
+            List<String> fat = List.of("java", "-jar", fatJar.getPath(), "--github.api.url=" + providerUrl);
+            List<String> optimized = List.of("java",
+                    "-XX:SharedArchiveFile=" + new File(startup, "application.jsa").getPath(),
+                    "-Dspring.aot.enabled=true",
+                    "-Dspring.profiles.active=dev,startup",
+                    "-cp", new File(startup, "application.jar").getPath() + File.pathSeparator
+                            + new File(startup, "dependencies/BOOT-INF/lib/*").getPath(),
+                    MAIN_CLASS, "--github.api.url=" + providerUrl);
+
+            Result fatResult = measure("fat jar", fat, runs);
+            Result optimizedResult = measure("startup", optimized, runs);
+
+            System.out.printf("%n%-10s %5s %28s %36s%n", "build", "runs",
+                    "ready ms (min/median/max)", "first response ms (min/median/max)");
+            fatResult.print();
+            optimizedResult.print();
+        } finally {
+            provider.stop(0);
+        }
+    }
+
+    private static Result measure(String name, List<String> command, int runs) throws Exception {
+        Result result = new Result(name, new long[runs], new long[runs]);
+        for (int run = 0; run < runs; run++) {
+            Run measured = start(command);
+            result.ready[run] = measured.readyMillis;
+            result.firstResponse[run] = measured.firstResponseMillis;
+            System.out.printf("%s run %d: ready after %d ms, first response after %d ms%n",
+                    name, run + 1, measured.readyMillis, measured.firstResponseMillis);
+        }
+        return result;
+    }
+
+    private static Run start(List<String> command) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(arguments).redirectErrorStream(true).start();
+        AtomicLong readyMillis = new AtomicLong(-1);
+        Thread output = new Thread(() -> drain(process, readyMillis));
+        output.setDaemon(true);
+        output.start();
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + FIRST_REQUEST))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        try {
+            while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        long firstResponse = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                        output.join(100);
+                        return new Run(readyMillis.get(), firstResponse);
+                    }
+                    throw new IllegalStateException("First request answered " + response.statusCode());
+                } catch (ConnectException e) {
+                    Thread.sleep(10);
+                }
+            }
+            throw new IllegalStateException("No response within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Consume the application's output so it cannot block on a full pipe, picking up the ready time
+     */
+    private static void drain(Process process, AtomicLong readyMillis) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher ready = READY.matcher(line);
+                if (ready.find()) {
+                    readyMillis.set(Long.parseLong(ready.group(1)));
+                }
+            }
+        } catch (IOException e) {
+            // The process was stopped
+        }
+    }
+
+    private static File findFatJar(File target) {
+        File[] jars = target.listFiles((dir, name) -> name.endsWith(".jar"));
+        return jars != null && jars.length == 1 ? jars[0] : null;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Run(long readyMillis, long firstResponseMillis) {
+    }
+
+    private record Result(String name, long[] ready, long[] firstResponse) {
+
+        private void print() {
+            System.out.printf("%-10s %5d %28s %36s%n", name, ready.length, summary(ready), summary(firstResponse));
+        }
+
+        private static String summary(long[] values) {
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            return sorted[0] + " / " + sorted[sorted.length / 2] + " / " + sorted[sorted.length - 1];
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.rishabh.fiveday.integration.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ancestry queries on a synthetic commit graph of one million commits.
+ * The history is a main line with feature branches of 1 to 20 commits forked from it; nine in ten
+ * are merged back with a merge commit and the rest are left unmerged. Queries compare recent and
+ * old unmerged branches against the main tip and check ancestry deep in the history.
+ * Run with:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=graph.CommitGraphBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CommitGraphBenchmark {
+
+    @Param("1000000")
+    public int commits;
+
+    private CommitGraph graph;
+    private int mainTip;
+    private int recentUnmerged;
+    private int oldUnmerged;
+    private int midMain;
+
+    @Setup
+    public void buildGraph() {
+        graph = new CommitGraph();
+        Random random = new Random(42);
+        List<Integer> unmerged = new ArrayList<>();
+        List<Integer> mainLine = new ArrayList<>();
+        int next = 0;
+        String main = add(next++, List.of());
+        mainLine.add(graph.ordinal(main));
+
+        for (int round = 0; next < commits; round++) {
+            String feature = main;
+            for (int i = 1 + random.nextInt(20); i > 0 && next < commits; i--) {
+                feature = add(next++, List.of(feature));
+            }
+            for (int i = 1 + random.nextInt(20); i > 0 && next < commits; i--) {
+                main = add(next++, List.of(main));
+                mainLine.add(graph.ordinal(main));
+            }
+            if (round % 10 == 0) {
+                unmerged.add(graph.ordinal(feature));
+            } else if (next < commits) {
+                main = add(next++, List.of(main, feature));
+                mainLine.add(graph.ordinal(main));
+            }
+        }
+
+        mainTip = graph.ordinal(main);
+        recentUnmerged = unmerged.get(unmerged.size() - 1);
+        oldUnmerged = unmerged.get(unmerged.size() / 2);
+        midMain = mainLine.get(mainLine.size() / 2);
+        System.out.printf("%ncommit graph: %d commits, ~%d bytes%n", graph.size(), graph.estimatedBytes());
+    }
+
+    @Benchmark
+    public CommitGraph.Comparison compareRecentBranch() {
+        return graph.compare(recentUnmerged, mainTip);
+    }
+
+    @Benchmark
+    public CommitGraph.Comparison compareOldBranch() {
+        return graph.compare(oldUnmerged, mainTip);
+    }
+
+    @Benchmark
+    public CommitGraph.Ancestry isAncestorMerged() {
+        return graph.isAncestor(midMain, mainTip);
+    }
+
+    @Benchmark
+    public CommitGraph.Ancestry isAncestorUnmerged() {
+        return graph.isAncestor(oldUnmerged, mainTip);
+    }
+
+    private String add(int commit, List<String> parents) {
+        SplittableRandom random = new SplittableRandom(commit);
+        String sha = String.format("%016x%016x%08x", random.nextLong(), random.nextLong(), random.nextInt());
+        graph.add(sha, 1_600_000_000L + commit, parents);
+        return sha;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(CommitGraphBenchmark.class.getName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,182 @@
+package com.rishabh.fiveday.integration.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.rishabh.fiveday.integration.dto.BranchDTO;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.exception.GitApiException;
+import com.rishabh.fiveday.integration.service.CursorPage;
+import com.rishabh.fiveday.integration.service.PageCursor;
+import com.rishabh.fiveday.integration.upstream.TokenPool;
+import com.rishabh.fiveday.integration.webhook.RepositoryChangedEvent;
+
+/**
+ * Reads of the local-clone provider against a bare repository on local disk, with no network
+ */
+class LocalCloneServiceImplTest {
+
+    private static final String REPOSITORY = "owner/repo";
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private Path origin;
+    private Git work;
+    private GitHubServiceImpl github;
+    private LocalCloneServiceImpl service;
+    private int commitCount;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        origin = tempDir.resolve("origin").resolve(REPOSITORY + ".git");
+        Files.createDirectories(origin);
+        Git.init().setBare(true).setInitialBranch("main").setDirectory(origin.toFile()).call().close();
+
+        work = Git.cloneRepository().setURI(origin.toUri().toString()).setDirectory(tempDir.resolve("work").toFile()).call();
+        work.checkout().setOrphan(true).setName("main").call();
+        for (int i = 0; i < 5; i++) {
+            commit();
+        }
+        work.branchCreate().setName("feature").call();
+        work.push().setPushAll().call();
+
+        github = mock(GitHubServiceImpl.class);
+        when(github.getProviderName()).thenReturn("github");
+        GitLabServiceImpl gitlab = mock(GitLabServiceImpl.class);
+        when(gitlab.getProviderName()).thenReturn("gitlab");
+        String remoteUrlTemplate = tempDir.resolve("origin").toUri() + "{repositoryId}.git";
+        service = new LocalCloneServiceImpl(github, gitlab, tempDir.resolve("clones").toString(), "github",
+                remoteUrlTemplate, new TokenPool("", "", 300));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+        work.close();
+    }
+
+    @Test
+    void readsBranches() throws Exception {
+        String head = head();
+
+        List<BranchDTO> branches = service.getBranches(REPOSITORY);
+
+        assertThat(branches).extracting(BranchDTO::getName).containsExactlyInAnyOrder("main", "feature");
+        assertThat(service.getBranch(REPOSITORY, "main")).get().extracting(BranchDTO::getCommitSha).isEqualTo(head);
+        assertThat(service.getBranch(REPOSITORY, "missing")).isEmpty();
+    }
+
+    @Test
+    void readsCommitsNewestFirstOnTheCommitterClock() throws Exception {
+        List<CommitDTO> commits = service.getCommits(REPOSITORY, "main", 3);
+
+        assertThat(commits).extracting(CommitDTO::getMessage).containsExactly("Commit 5", "Commit 4", "Commit 3");
+        assertThat(commits.get(0).getTimestamp()).isEqualTo(committedAt(5));
+        assertThat(commits.get(0).getParentShas()).containsExactly(commits.get(1).getSha());
+        assertThat(service.getCommit(REPOSITORY, head())).get().extracting(CommitDTO::getMessage).isEqualTo("Commit 5");
+        assertThat(service.getCommit(REPOSITORY, "0000000000000000000000000000000000000000")).isEmpty();
+    }
+
+    @Test
+    void pagesCommitsFromTheHeadOfTheFirstPage() throws Exception {
+        CursorPage<CommitDTO> first = service.getCommitPage(REPOSITORY, "main", PageCursor.first(2));
+        commit();
+        work.push().call();
+        service.onRepositoryChanged(new RepositoryChangedEvent("github", List.of(REPOSITORY), "push", "main"));
+        CursorPage<CommitDTO> second = service.getCommitPage(REPOSITORY, "main", PageCursor.of(first.nextCursor(), 2));
+        CursorPage<CommitDTO> third = service.getCommitPage(REPOSITORY, "main", PageCursor.of(second.nextCursor(), 2));
+
+        assertThat(first.items()).extracting(CommitDTO::getMessage).containsExactly("Commit 5", "Commit 4");
+        assertThat(second.items()).extracting(CommitDTO::getMessage).containsExactly("Commit 3", "Commit 2");
+        assertThat(third.items()).extracting(CommitDTO::getMessage).containsExactly("Commit 1");
+        assertThat(third.nextCursor()).isNull();
+    }
+
+    @Test
+    void readsCommitsSince() {
+        // Commits 4 and 5 were authored before the cutoff but committed after it
+        Instant since = committedAt(3).toInstant(ZoneOffset.UTC).plusSeconds(1);
+
+        List<CommitDTO> commits = service.getCommitsSince(REPOSITORY, "main", since);
+
+        assertThat(commits).extracting(CommitDTO::getMessage).containsExactly("Commit 5", "Commit 4");
+    }
+
+    @Test
+    void refetchesAfterOwnWrite() throws Exception {
+        assertThat(service.getBranch(REPOSITORY, "main")).isPresent();
+        commit();
+        work.push().call();
+
+        // Not fetched until a change is reported
+        assertThat(service.getCommits(REPOSITORY, "main", 10)).hasSize(5);
+
+        when(github.createBranch(REPOSITORY, "topic", "main"))
+                .thenReturn(BranchDTO.builder().name("topic").repositoryId(REPOSITORY).build());
+        service.createBranch(REPOSITORY, "topic", "main");
+
+        assertThat(service.getCommits(REPOSITORY, "main", 10)).hasSize(6);
+        assertThat(service.getBranch(REPOSITORY, "main")).get().extracting(BranchDTO::getCommitSha).isEqualTo(head());
+    }
+
+    @Test
+    void stillRefetchesAfterAFailedFetch() throws Exception {
+        assertThat(service.getBranch(REPOSITORY, "main")).isPresent();
+        commit();
+        work.push().call();
+        Path moved = tempDir.resolve("moved");
+        Files.move(origin, moved);
+
+        service.onRepositoryChanged(new RepositoryChangedEvent("github", List.of(REPOSITORY), "push", "main"));
+        assertThatThrownBy(() -> service.getBranches(REPOSITORY)).isInstanceOf(GitApiException.class);
+
+        Files.move(moved, origin);
+        assertThat(service.getBranch(REPOSITORY, "main")).get().extracting(BranchDTO::getCommitSha).isEqualTo(head());
+    }
+
+    private void commit() throws Exception {
+        commitCount++;
+        Files.writeString(new File(work.getRepository().getWorkTree(), "file.txt").toPath(), "version " + commitCount);
+        work.add().addFilepattern("file.txt").call();
+        Date committed = Date.from(committedAt(commitCount).toInstant(ZoneOffset.UTC));
+        // Authored a day before being committed, as for rebased or cherry-picked commits
+        Date authored = Date.from(committed.toInstant().minusSeconds(86_400));
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        work.commit()
+                .setMessage("Commit " + commitCount)
+                .setAuthor(new PersonIdent("Author", "author@example.com", authored, utc))
+                .setCommitter(new PersonIdent("Committer", "committer@example.com", committed, utc))
+                .call();
+    }
+
+    private String head() throws Exception {
+        RevCommit head = work.log().setMaxCount(1).call().iterator().next();
+        return head.getName();
+    }
+
+    private static LocalDateTime committedAt(int commit) {
+        return LocalDateTime.ofInstant(BASE_TIME.plusSeconds(3600L * commit), ZoneOffset.UTC);
+    }
+}
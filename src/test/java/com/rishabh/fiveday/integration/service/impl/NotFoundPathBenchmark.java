@@ -0,0 +1,103 @@
+package com.rishabh.fiveday.integration.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Cost of reading an expected 404 from a provider.
+ * Compares {@code retrieve()} with the resulting WebClientResponseException caught, as the services
+ * used to, against {@code exchangeToMono} with {@link Responses#toEntity}, which answers the 404
+ * without building an exception. Both call an in-process server that returns GitHub's 404 body.
+ * Run with, adding {@code -prof gc} for allocations per call:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=service.impl.NotFoundPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class NotFoundPathBenchmark {
+
+    private static final byte[] NOT_FOUND_BODY = ("{\"message\":\"Not Found\","
+            + "\"documentation_url\":\"https://docs.github.com/rest/branches/branches#get-a-branch\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private WebClient webClient;
+
+    @Setup
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(404, NOT_FOUND_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(NOT_FOUND_BODY);
+            }
+        });
+        server.start();
+        webClient = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .build();
+    }
+
+    @TearDown
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public Object retrieveAndCatch() {
+        try {
+            return webClient.get()
+                    .uri("/repos/{owner}/{repo}/branches/{branch}", "owner", "repo", "missing")
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .block();
+        } catch (WebClientResponseException.NotFound e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Object exchangeToEntity() {
+        ResponseEntity<Map> response = webClient.get()
+                .uri("/repos/{owner}/{repo}/branches/{branch}", "owner", "repo", "missing")
+                .exchangeToMono(r -> Responses.toEntity(r, Map.class, HttpStatus.NOT_FOUND))
+                .block();
+        return Responses.is(response, HttpStatus.NOT_FOUND) ? null : response.getBody();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(NotFoundPathBenchmark.class.getName())
+                .build()).run();
+    }
+}
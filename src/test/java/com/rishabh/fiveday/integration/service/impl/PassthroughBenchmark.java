@@ -0,0 +1,188 @@
+package com.rishabh.fiveday.integration.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rishabh.fiveday.integration.controller.FieldProjectionAdvice;
+import com.rishabh.fiveday.integration.dto.CommitDTO;
+import com.rishabh.fiveday.integration.service.RawResponse;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Cost of serving a page of provider commits decoded and mapped against relayed as received.
+ * An in-process server returns a page of commits shaped like GitHub's list commits response. The
+ * mapped path decodes it into maps, maps each commit to a {@link CommitDTO} and serializes the
+ * list, as the regular endpoints do; the raw path relays the body buffers through {@link Passthrough}
+ * to an output stream, as the raw=true endpoints do. Both write to a discarding stream, so only the
+ * work of the API itself is counted.
+ * Run with, adding {@code -prof gc} for allocations per page:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=service.impl.PassthroughBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class PassthroughBenchmark {
+
+    @Param({"30", "100"})
+    public int perPage;
+
+    private HttpServer server;
+    private WebClient webClient;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void startServer() throws IOException {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(FieldProjectionAdvice.ALL_FIELDS)
+                .build();
+        byte[] page = mapper.writeValueAsBytes(commitsPage(new Random(42)));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(page);
+            }
+        });
+        server.start();
+        webClient = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
+                        .build())
+                .build();
+        System.out.printf("%n%d commits per page, %d bytes%n", perPage, page.length);
+    }
+
+    @TearDown
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<CommitDTO> decodeAndMap() throws IOException {
+        List<Map<String, Object>> page = webClient.get()
+                .uri("/repos/{owner}/{repo}/commits", "owner", "repo")
+                .retrieve()
+                .bodyToMono(List.class)
+                .block();
+        List<CommitDTO> commits = new ArrayList<>(page.size());
+        for (Map<String, Object> item : page) {
+            Map<String, Object> commit = (Map<String, Object>) item.get("commit");
+            Map<String, Object> author = (Map<String, Object>) commit.get("author");
+            List<String> parentShas = new ArrayList<>();
+            for (Map<String, Object> parent : (List<Map<String, Object>>) item.get("parents")) {
+                parentShas.add((String) parent.get("sha"));
+            }
+            commits.add(CommitDTO.builder()
+                    .sha((String) item.get("sha"))
+                    .message((String) commit.get("message"))
+                    .author((String) author.get("name"))
+                    .timestamp(LocalDateTime.parse((String) author.get("date"), DateTimeFormatter.ISO_DATE_TIME))
+                    .repositoryId("owner/repo")
+                    .parentShas(parentShas)
+                    .build());
+        }
+        mapper.writeValue(OutputStream.nullOutputStream(), commits);
+        return commits;
+    }
+
+    @Benchmark
+    public RawResponse passthrough() {
+        RawResponse response = Passthrough.fetch(webClient.get().uri("/repos/{owner}/{repo}/commits", "owner", "repo"),
+                null, 1, null);
+        DataBufferUtils.write(response.body(), OutputStream.nullOutputStream())
+                .doOnNext(DataBufferUtils::release)
+                .blockLast();
+        return response;
+    }
+
+    private List<Map<String, Object>> commitsPage(Random random) {
+        List<Map<String, Object>> page = new ArrayList<>(perPage);
+        for (int i = 0; i < perPage; i++) {
+            String sha = sha(random);
+            Map<String, Object> person = Map.of(
+                    "name", "Author " + random.nextInt(50),
+                    "email", "author" + random.nextInt(50) + "@example.com",
+                    "date", "2024-01-01T00:00:" + String.format("%02d", i % 60) + "Z");
+            Map<String, Object> user = Map.of(
+                    "login", "author" + random.nextInt(50),
+                    "id", random.nextInt(1_000_000),
+                    "avatar_url", "https://avatars.githubusercontent.com/u/" + random.nextInt(1_000_000) + "?v=4",
+                    "url", "https://api.github.com/users/author",
+                    "html_url", "https://github.com/author",
+                    "type", "User",
+                    "site_admin", false);
+            page.add(Map.of(
+                    "sha", sha,
+                    "node_id", "C_kwDO" + sha.substring(0, 20),
+                    "commit", Map.of(
+                            "author", person,
+                            "committer", person,
+                            "message", "Change " + i + ": update the parser cache for branch handling",
+                            "tree", Map.of("sha", sha(random), "url", "https://api.github.com/repos/owner/repo/git/trees/" + sha),
+                            "url", "https://api.github.com/repos/owner/repo/git/commits/" + sha,
+                            "comment_count", 0,
+                            "verification", Map.of("verified", false, "reason", "unsigned")),
+                    "url", "https://api.github.com/repos/owner/repo/commits/" + sha,
+                    "html_url", "https://github.com/owner/repo/commit/" + sha,
+                    "comments_url", "https://api.github.com/repos/owner/repo/commits/" + sha + "/comments",
+                    "author", user,
+                    "committer", user,
+                    "parents", List.of(Map.of("sha", sha(random), "url", "https://api.github.com/repos/owner/repo/commits/"))));
+        }
+        return page;
+    }
+
+    private static String sha(Random random) {
+        StringBuilder sha = new StringBuilder(40);
+        for (int i = 0; i < 40; i++) {
+            sha.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return sha.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(PassthroughBenchmark.class.getName())
+                .build()).run();
+    }
+}